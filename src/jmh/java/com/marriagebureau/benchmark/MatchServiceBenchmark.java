@@ -0,0 +1,63 @@
+package com.marriagebureau.benchmark;
+
+import com.marriagebureau.matches.dto.MatchMode;
+import com.marriagebureau.matches.dto.MatchPageDto;
+import com.marriagebureau.matches.service.MatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of one match request: index filtering and scoring, plus loading and mapping the page.
+ * Requesters rotate through the seeded profiles so results are not all served from warm caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MatchServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"ONE_WAY", "MUTUAL"})
+    public MatchMode mode;
+
+    private SeededApplication application;
+    private MatchService matchService;
+    private List<Long> requesterIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication(rows);
+        matchService = application.bean(MatchService.class);
+        requesterIds = application.profileIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public MatchPageDto findMatchesForProfile() {
+        Long requesterId = requesterIds.get(next++ % requesterIds.size());
+        return matchService.findMatchesForProfile(requesterId, mode, 0, 50, null);
+    }
+}
@@ -0,0 +1,52 @@
+package com.marriagebureau.benchmark;
+
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.mapper.ProfileMapper;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.usermanagement.model.AppUser;
+import com.marriagebureau.usermanagement.model.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a loaded Profile entity to its response DTO. Needs no database: the profiles are
+ * generated in memory with the same generator used to seed the other benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProfileMapperBenchmark {
+
+    private static final int PROFILE_COUNT = 1024;
+
+    private final Profile[] profiles = new Profile[PROFILE_COUNT];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        AppUser broker = AppUser.builder().id(1L).email("benchmark-broker@example.com").role(Role.ROLE_BROKER).build();
+        SyntheticProfileGenerator generator = new SyntheticProfileGenerator(20240601L);
+        for (int i = 0; i < PROFILE_COUNT; i++) {
+            profiles[i] = generator.next(broker);
+            profiles[i].setId((long) i + 1);
+        }
+    }
+
+    @Benchmark
+    public ProfileResponse toProfileResponse() {
+        return ProfileMapper.toProfileResponse(profiles[next++ & (PROFILE_COUNT - 1)]);
+    }
+}
@@ -0,0 +1,85 @@
+package com.marriagebureau.benchmark;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.clientmanagement.service.DictionaryService;
+import com.marriagebureau.clientmanagement.service.ProfileSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the ProfileSpecifications combinators: composing a typical partner-preference filter,
+ * and running it as a paged query against the seeded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ProfileSpecificationsBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private SeededApplication application;
+    private ProfileRepository profileRepository;
+    private Long hinduId;
+    private Long brahminId;
+    private final PageRequest firstPage = PageRequest.of(0, 50, Sort.by("id"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new SeededApplication(rows);
+        profileRepository = application.bean(ProfileRepository.class);
+        DictionaryService dictionary = application.bean(DictionaryService.class);
+        hinduId = dictionary.find(DictionaryCategory.RELIGION, "Hindu");
+        brahminId = dictionary.find(DictionaryCategory.CASTE, "Brahmin");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Specification<Profile> composeSpecification() {
+        return preferenceFilter();
+    }
+
+    @Benchmark
+    public Page<Profile> querySpecification() {
+        return profileRepository.findAll(preferenceFilter(), firstPage);
+    }
+
+    private Specification<Profile> preferenceFilter() {
+        return Specification.where(ProfileSpecifications.isActive())
+                .and(ProfileSpecifications.isNotProfile(1L))
+                .and(ProfileSpecifications.hasGender(Gender.FEMALE))
+                .and(ProfileSpecifications.isWithinAgeRange(24, 30))
+                .and(ProfileSpecifications.isWithinHeightRange(150, 170))
+                .and(ProfileSpecifications.hasReligionId(hinduId))
+                .and(ProfileSpecifications.hasCasteId(brahminId))
+                .and(ProfileSpecifications.hasMaritalStatus(MaritalStatus.NEVER_MARRIED));
+    }
+}
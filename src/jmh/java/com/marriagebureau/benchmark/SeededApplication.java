@@ -0,0 +1,74 @@
+package com.marriagebureau.benchmark;
+
+import com.marriagebureau.MarriageBureauSoftwareApplication;
+import com.marriagebureau.clientmanagement.service.DictionaryService;
+import com.marriagebureau.matches.index.ProfileMatchIndex;
+import com.marriagebureau.usermanagement.model.AppUser;
+import com.marriagebureau.usermanagement.model.Role;
+import com.marriagebureau.usermanagement.repository.AppUserRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Starts the application on a random port against a private in-memory H2 database and seeds it
+ * with {@code rows} synthetic profiles. Background work that would compete with the measured code
+ * (materialized match lists, the match result cache, SQL logging) is switched off.
+ */
+public final class SeededApplication implements AutoCloseable {
+
+    private static final long SEED = 20240601L;
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> profileIds;
+
+    public SeededApplication(int rows) {
+        SpringApplication application = new SpringApplication(MarriageBureauSoftwareApplication.class);
+        context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + rows + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.marriagebureau=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.security.web=WARN",
+                "--logging.level.org.springframework.security.authentication=WARN",
+                "--app.matching.materialized-enabled=false",
+                "--app.matching.cache-enabled=false");
+
+        AppUser broker = bean(AppUserRepository.class).save(AppUser.builder()
+                .email("benchmark-broker@example.com")
+                .password("not-used")
+                .role(Role.ROLE_BROKER)
+                .build());
+        JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+        new SyntheticProfileGenerator(SEED).insert(jdbcTemplate, bean(DictionaryService.class), broker, rows);
+        jdbcTemplate.execute("ANALYZE");
+
+        // The index was built at startup, before the rows existed.
+        bean(ProfileMatchIndex.class).rebuild();
+        profileIds = jdbcTemplate.queryForList("SELECT id FROM client_profiles WHERE is_active ORDER BY id", Long.class);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * @return The IDs of the active seeded profiles, in ascending order.
+     */
+    public List<Long> profileIds() {
+        return profileIds;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,168 @@
+package com.marriagebureau.benchmark;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.BodyType;
+import com.marriagebureau.clientmanagement.model.enums.Complexion;
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import com.marriagebureau.clientmanagement.model.enums.Diet;
+import com.marriagebureau.clientmanagement.model.enums.DrinkingHabit;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.LocationPreference;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.clientmanagement.model.enums.SmokingHabit;
+import com.marriagebureau.clientmanagement.service.DictionaryService;
+import com.marriagebureau.usermanagement.model.AppUser;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates realistic-looking client profiles from a fixed seed, so every benchmark run sees the same data.
+ * Value distributions are skewed the way real data is (a few religions and cities dominate) so that
+ * filter selectivity is representative.
+ */
+public class SyntheticProfileGenerator {
+
+    private static final String[] RELIGIONS = {"Hindu", "Hindu", "Hindu", "Hindu", "Muslim", "Christian", "Sikh", "Jain", "Buddhist"};
+    private static final String[][] CASTES = {
+            {"Brahmin", "Maratha", "Kunbi", "Agarwal", "Reddy", "Nair", "Iyer", "Yadav", "Rajput", "Kayastha"},
+            {"Sunni", "Shia", "Syed", "Pathan"},
+            {"Catholic", "Protestant", "Syrian"},
+            {"Jat", "Khatri", "Ramgarhia"},
+            {"Digambar", "Shwetambar"},
+            {"Mahayana", "Navayana"},
+    };
+    private static final String[][] CITIES = {
+            {"Mumbai", "Maharashtra"}, {"Pune", "Maharashtra"}, {"Nagpur", "Maharashtra"},
+            {"Delhi", "Delhi"}, {"Bengaluru", "Karnataka"}, {"Mysuru", "Karnataka"},
+            {"Hyderabad", "Telangana"}, {"Chennai", "Tamil Nadu"}, {"Kochi", "Kerala"},
+            {"Kolkata", "West Bengal"}, {"Ahmedabad", "Gujarat"}, {"Jaipur", "Rajasthan"},
+            {"Lucknow", "Uttar Pradesh"}, {"Chandigarh", "Punjab"}, {"Indore", "Madhya Pradesh"},
+    };
+    private static final String[] EDUCATION = {"HSC", "Diploma in Engineering", "B.Com", "B.Sc", "B.Tech", "BBA",
+            "M.Tech", "MBA", "MCA", "M.Sc", "MBBS", "CA", "PhD"};
+    private static final String[] OCCUPATIONS = {"Software Engineer", "Teacher", "Doctor", "Accountant", "Business Owner",
+            "Civil Servant", "Nurse", "Sales Manager", "Architect", "Lawyer", "Pharmacist", "Banker"};
+
+    private static final String INSERT_SQL = "INSERT INTO client_profiles (broker_id, full_name, date_of_birth, gender,"
+            + " marital_status, height_cm, religion, caste, mother_tongue, country, state, city, complexion, body_type,"
+            + " education, occupation, annual_income, diet, smoking_habit, drinking_habit, about_me, is_active,"
+            + " preferred_partner_min_age, preferred_partner_max_age, preferred_partner_religion, preferred_partner_caste,"
+            + " preferred_partner_min_height_cm, preferred_partner_max_height_cm, created_date, last_updated_date,"
+            + " religion_id, caste_id, city_id, occupation_id, preferred_partner_religion_id,"
+            + " preferred_partner_location, preferred_partner_max_distance_km)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 5_000;
+
+    private final SplittableRandom random;
+    private final LocalDate today = LocalDate.now();
+
+    public SyntheticProfileGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Generates one detached profile owned by the given broker. The ID is left unset.
+     */
+    public Profile next(AppUser broker) {
+        Gender gender = random.nextInt(100) < 49 ? Gender.MALE : (random.nextInt(100) < 98 ? Gender.FEMALE : Gender.OTHER);
+        int religionIndex = random.nextInt(RELIGIONS.length);
+        String religion = RELIGIONS[religionIndex];
+        String[] castes = CASTES[Math.max(0, religionIndex - 3)];
+        String[] city = CITIES[skewedIndex(CITIES.length)];
+        int age = 21 + random.nextInt(25);
+        int heightCm = (gender == Gender.MALE ? 162 : 150) + random.nextInt(26);
+        boolean hasPreferences = random.nextInt(100) < 70;
+        int preferredMinAge = gender == Gender.MALE ? Math.max(18, age - 7) : age - 2;
+        int preferredMaxAge = gender == Gender.MALE ? age + 1 : age + 7;
+        int locationRoll = random.nextInt(100);
+        LocationPreference location = !hasPreferences || locationRoll >= 20 ? null
+                : (locationRoll < 10 ? LocationPreference.SAME_STATE : LocationPreference.WITHIN_DISTANCE);
+
+        return Profile.builder()
+                .broker(broker)
+                .fullName("Synthetic Profile " + random.nextInt(1_000_000))
+                .dateOfBirth(today.minusYears(age).minusDays(random.nextInt(365)))
+                .gender(gender)
+                .maritalStatus(random.nextInt(100) < 90 ? MaritalStatus.NEVER_MARRIED : pick(MaritalStatus.values()))
+                .heightCm(heightCm)
+                .religion(religion)
+                .caste(castes[skewedIndex(castes.length)])
+                .motherTongue(pick(MotherTongue.values()))
+                .country("India")
+                .state(city[1])
+                .city(city[0])
+                .complexion(pick(Complexion.values()))
+                .bodyType(pick(BodyType.values()))
+                .education(pick(EDUCATION))
+                .occupation(pick(OCCUPATIONS))
+                .annualIncome(200_000d + random.nextInt(60) * 50_000d)
+                .diet(pick(Diet.values()))
+                .smokingHabit(pick(SmokingHabit.values()))
+                .drinkingHabit(pick(DrinkingHabit.values()))
+                .aboutMe("Family oriented, enjoys travel and music.")
+                .isActive(random.nextInt(100) < 95)
+                .preferredPartnerMinAge(hasPreferences ? preferredMinAge : null)
+                .preferredPartnerMaxAge(hasPreferences ? preferredMaxAge : null)
+                .preferredPartnerReligion(hasPreferences && random.nextBoolean() ? religion : null)
+                .preferredPartnerCaste(null)
+                .preferredPartnerMinHeightCm(hasPreferences && gender == Gender.FEMALE ? heightCm : null)
+                .preferredPartnerMaxHeightCm(hasPreferences && gender == Gender.MALE ? heightCm + 5 : null)
+                .preferredPartnerLocation(location)
+                .preferredPartnerMaxDistanceKm(location == LocationPreference.WITHIN_DISTANCE ? 500 : null)
+                .build();
+    }
+
+    /**
+     * Inserts {@code rows} generated profiles with batched JDBC statements, which is orders of magnitude
+     * faster than going through JPA for a million rows. Dictionary term IDs are resolved the way
+     * ProfileService resolves them.
+     */
+    public void insert(JdbcTemplate jdbcTemplate, DictionaryService dictionary, AppUser broker, int rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            Profile p = next(broker);
+            batch.add(new Object[]{broker.getId(), p.getFullName(), Date.valueOf(p.getDateOfBirth()), p.getGender().name(),
+                    p.getMaritalStatus().name(), p.getHeightCm(), p.getReligion(), p.getCaste(), p.getMotherTongue().name(),
+                    p.getCountry(), p.getState(), p.getCity(), p.getComplexion().name(), p.getBodyType().name(),
+                    p.getEducation(), p.getOccupation(), p.getAnnualIncome(), p.getDiet().name(), p.getSmokingHabit().name(),
+                    p.getDrinkingHabit().name(), p.getAboutMe(), p.isActive(), p.getPreferredPartnerMinAge(),
+                    p.getPreferredPartnerMaxAge(), p.getPreferredPartnerReligion(), p.getPreferredPartnerCaste(),
+                    p.getPreferredPartnerMinHeightCm(), p.getPreferredPartnerMaxHeightCm(), now, now,
+                    dictionary.resolve(DictionaryCategory.RELIGION, p.getReligion()),
+                    dictionary.resolve(DictionaryCategory.CASTE, p.getCaste()),
+                    dictionary.resolve(DictionaryCategory.CITY, p.getCity()),
+                    dictionary.resolve(DictionaryCategory.OCCUPATION, p.getOccupation()),
+                    dictionary.resolve(DictionaryCategory.RELIGION, p.getPreferredPartnerReligion()),
+                    p.getPreferredPartnerLocation() != null ? p.getPreferredPartnerLocation().name() : null,
+                    p.getPreferredPartnerMaxDistanceKm()});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Picks an index with a roughly Zipf-like skew towards the start of the array.
+     */
+    private int skewedIndex(int length) {
+        double u = random.nextDouble();
+        return Math.min(length - 1, (int) (length * u * u));
+    }
+}
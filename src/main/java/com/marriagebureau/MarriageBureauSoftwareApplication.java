@@ -3,9 +3,11 @@ package com.marriagebureau;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication // Marks this as a Spring Boot application. Implicitly includes @ComponentScan.
 @EnableJpaAuditing // Enables JPA Auditing to automatically populate @CreatedDate and @LastModifiedDate.
+@EnableScheduling // Runs background jobs such as the match recompute worker.
 public class MarriageBureauSoftwareApplication {
 
     public static void main(String[] args) {
@@ -15,6 +15,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize; // For role-based access control
 import org.springframework.security.core.annotation.AuthenticationPrincipal; // To inject authenticated user details
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/broker-profiles") // Base URL for broker profile endpoints
@@ -40,13 +46,23 @@ public class BrokerProfileController {
 
     /**
      * Endpoint for an authenticated BROKER to retrieve their own profile.
+     * Supports conditional GET on the profile's last update time: a matching If-None-Match or
+     * If-Modified-Since is answered with 304 Not Modified before the profile is loaded.
      * Requires ROLE_BROKER.
      * GET /api/broker-profiles/me
      */
     @GetMapping("/me")
     @PreAuthorize("hasRole('BROKER')")
     public ResponseEntity<BrokerProfileResponse> getMyBrokerProfile(
-            @AuthenticationPrincipal AppUser appUser) {
+            @AuthenticationPrincipal AppUser appUser, WebRequest webRequest) {
+        Optional<LocalDateTime> lastUpdated = brokerProfileService.findLastUpdatedDateByAppUserId(appUser.getId());
+        if (lastUpdated.isPresent()) {
+            Instant lastModified = lastUpdated.get().atZone(ZoneId.systemDefault()).toInstant();
+            String etag = "\"b" + appUser.getId() + "-" + lastModified.getEpochSecond() + "." + lastModified.getNano() + "\"";
+            if (webRequest.checkNotModified(etag, lastModified.toEpochMilli())) {
+                return null; // 304; checkNotModified also sets the ETag and Last-Modified headers.
+            }
+        }
         BrokerProfileResponse response = brokerProfileService.getBrokerProfileByAppUserId(appUser.getId());
         return ResponseEntity.ok(response);
     }
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime; // For createdDate and lastUpdatedDate
 
@@ -28,6 +30,8 @@ public class BrokerProfile {
     // 'fetch = FetchType.LAZY' is recommended for performance.
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "app_user_id", unique = true, nullable = false) // Foreign key column for AppUser
+    @ToString.Exclude // AppUser includes this profile; printing both ways never ends.
+    @EqualsAndHashCode.Exclude
     private AppUser broker; // The field name 'broker' matches 'mappedBy = "broker"' in AppUser
 
     @Column(nullable = false)
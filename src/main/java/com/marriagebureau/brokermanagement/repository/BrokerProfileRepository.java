@@ -5,8 +5,10 @@ import com.marriagebureau.brokermanagement.model.BrokerProfile; // Import the Br
 import com.marriagebureau.usermanagement.model.AppUser;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +20,8 @@ public interface BrokerProfileRepository extends JpaRepository<BrokerProfile, Lo
 
     // Optional: Find by AppUser ID if you prefer not to pass the whole AppUser object
     Optional<BrokerProfile> findByBroker_Id(Long appUserId);
+
+    // Reads only the last update time, to answer conditional GETs without loading the profile
+    @Query("SELECT bp.lastUpdatedDate FROM BrokerProfile bp WHERE bp.broker.id = :appUserId")
+    Optional<LocalDateTime> findLastUpdatedDateByBrokerId(Long appUserId);
 }
\ No newline at end of file
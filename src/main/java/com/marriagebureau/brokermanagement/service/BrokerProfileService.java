@@ -14,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional; // <-- Ensure this import is present for Optional.ofNullable
 
 @Service
@@ -79,6 +80,16 @@ public class BrokerProfileService {
         return mapToBrokerProfileResponse(brokerProfile);
     }
 
+    /**
+     * Retrieves when a broker's profile was last updated, without loading it.
+     * @param appUserId The ID of the AppUser (broker).
+     * @return The last update time, or empty if the broker has no profile.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findLastUpdatedDateByAppUserId(Long appUserId) {
+        return brokerProfileRepository.findLastUpdatedDateByBrokerId(appUserId);
+    }
+
     /**
      * Retrieves a broker profile by its own ID.
      * @param profileId The ID of the BrokerProfile entity.
@@ -0,0 +1,70 @@
+package com.marriagebureau.clientmanagement.controller;
+
+import com.marriagebureau.clientmanagement.dto.ProfileImportJobResponse;
+import com.marriagebureau.clientmanagement.service.ProfileImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/clients/imports")
+@RequiredArgsConstructor
+public class ClientImportController {
+
+    private final ProfileImportService profileImportService;
+
+    /**
+     * Endpoint for a broker to import client profiles from a spreadsheet.
+     * The file is processed in the background; poll the returned job for progress.
+     *
+     * @param file A .csv (UTF-8) or .xlsx file whose first row names the profile fields of each column,
+     *             e.g. fullName, dateOfBirth, gender; its first worksheet is imported.
+     * @return The queued job, with a 202 Accepted status and its URL in the Location header.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProfileImportJobResponse> startImport(@RequestParam("file") MultipartFile file) {
+        ProfileImportJobResponse job = profileImportService.startImport(file);
+        return ResponseEntity.accepted().location(URI.create("/api/clients/imports/" + job.getId())).body(job);
+    }
+
+    /**
+     * Endpoint to follow the progress of one of the broker's imports.
+     *
+     * @param jobId The ID returned when the import was started.
+     * @return The job's status and row counts.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ProfileImportJobResponse> getImport(@PathVariable String jobId) {
+        return ResponseEntity.ok(profileImportService.getJob(jobId));
+    }
+
+    /**
+     * Endpoint to download the rows of an import that were not saved, and why. Available while the import
+     * runs (with the rows rejected so far) and after it finishes.
+     *
+     * @param jobId The ID returned when the import was started.
+     * @return A CSV attachment with the row number and errors of each rejected row.
+     */
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String jobId) {
+        Resource report = new FileSystemResource(profileImportService.getErrorReport(jobId));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("import-errors-" + jobId + ".csv").build().toString())
+                .body(report);
+    }
+}
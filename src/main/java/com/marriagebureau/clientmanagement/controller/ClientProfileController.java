@@ -1,16 +1,29 @@
 package com.marriagebureau.clientmanagement.controller;
 
+import com.marriagebureau.clientmanagement.dto.BulkProfileResponse;
+import com.marriagebureau.clientmanagement.dto.BulkUpdateProfileRequest;
 import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.dto.ExportFormat;
 import com.marriagebureau.clientmanagement.dto.ProfileResponse;
 import com.marriagebureau.clientmanagement.dto.UpdateProfileRequest;
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileVersionRow;
+import com.marriagebureau.clientmanagement.service.ProfileBulkService;
+import com.marriagebureau.clientmanagement.service.ProfileExportService;
 import com.marriagebureau.clientmanagement.service.ProfileService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/clients")
@@ -18,6 +31,8 @@ import java.util.List;
 public class ClientProfileController {
 
     private final ProfileService profileService;
+    private final ProfileExportService profileExportService;
+    private final ProfileBulkService profileBulkService;
 
     /**
      * Endpoint for a broker to create a new client profile.
@@ -33,27 +48,84 @@ public class ClientProfileController {
     }
 
     /**
-     * Endpoint to retrieve all client profiles associated with the authenticated broker.
+     * Endpoint for a broker to create many client profiles at once, e.g. when importing an existing client book.
+     * Each row is validated like a single create; invalid rows are reported and the others are still saved.
      *
-     * @return A list of client profiles.
+     * @param requests Up to 5000 rows (app.profiles.bulk-max-rows), each with the fields of a single create.
+     * @return The outcome of every row, with the IDs of the created profiles.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkProfileResponse> createClientProfiles(@RequestBody List<CreateProfileRequest> requests) {
+        return ResponseEntity.ok(profileBulkService.createProfiles(requests));
+    }
+
+    /**
+     * Endpoint for a broker to update many of its client profiles at once.
+     * Each row is validated and checked like a single update; failed rows are reported and the others are still saved.
+     *
+     * @param requests Up to 5000 rows (app.profiles.bulk-max-rows), each a profile ID and its partial update.
+     * @return The outcome of every row.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkProfileResponse> updateClientProfiles(@RequestBody List<BulkUpdateProfileRequest> requests) {
+        return ResponseEntity.ok(profileBulkService.updateProfiles(requests));
+    }
+
+    /**
+     * Endpoint to retrieve the client profiles associated with the authenticated broker.
+     *
+     * @param ids    Optional, up to 100 comma-separated profile IDs to fetch in one request; IDs of other
+     *               brokers' profiles are left out, as GET /api/clients/{id} refuses them.
+     * @param fields Optional sparse fieldset: "summary", or a comma-separated list of profile properties.
+     * @return A list of client profiles: all of them, or those among the IDs in request order.
      */
     @GetMapping
-    public ResponseEntity<List<ProfileResponse>> getAuthenticatedBrokerClients() {
-        List<ProfileResponse> profiles = profileService.getClientsForAuthenticatedBroker();
+    public ResponseEntity<List<ProfileResponse>> getAuthenticatedBrokerClients(@RequestParam(required = false) List<Long> ids,
+                                                                               @RequestParam(required = false) String fields) {
+        ProfileFields profileFields = ProfileFields.parse(fields);
+        List<ProfileResponse> profiles = ids != null
+                ? profileService.getClientsByIds(ids, profileFields)
+                : profileService.getClientsForAuthenticatedBroker(profileFields);
         return ResponseEntity.ok(profiles);
     }
 
+    /**
+     * Endpoint to download all client profiles of the authenticated broker.
+     * Rows are streamed as they are read, so the export size is not limited by memory.
+     *
+     * @param format "ndjson" (the default) or "csv".
+     * @return The profiles as an attachment, ordered by ID.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportClients(@RequestParam(required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        ProfileExportService.Export export = profileExportService.exportClients(exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("clients." + exportFormat.fileExtension()).build().toString())
+                .body(export::writeTo);
+    }
+
     /**
      * Endpoint to retrieve a specific client profile by its ID.
      * It ensures the profile belongs to a client of the authenticated broker.
+     * Supports conditional GET: the ETag and Last-Modified are read without loading the profile, and a
+     * matching If-None-Match or If-Modified-Since is answered with 304 Not Modified and no body.
      *
      * @param id The unique identifier of the client profile.
      * @return The client profile data.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProfileResponse> getClientProfileById(@PathVariable Long id) {
-        ProfileResponse profile = profileService.getProfileByIdForBroker(id);
-        return ResponseEntity.ok(profile);
+    public ResponseEntity<ProfileResponse> getClientProfileById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<ProfileVersionRow> version = profileService.findProfileVersionForBroker(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(profileService.getProfileByIdForBroker(id)); // Reports not found or access denied.
+        }
+        if (webRequest.checkNotModified(version.get().etag(), version.get().lastModified())) {
+            return null; // 304; checkNotModified also sets the ETag and Last-Modified headers.
+        }
+        return ResponseEntity.ok(profileService.getProfileByIdForBroker(id));
     }
 
     /**
@@ -0,0 +1,112 @@
+package com.marriagebureau.clientmanagement.controller;
+
+import com.marriagebureau.clientmanagement.dto.AutocompleteSuggestion;
+import com.marriagebureau.clientmanagement.dto.ExportFormat;
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.dto.ProfileSearchRequest;
+import com.marriagebureau.clientmanagement.dto.ProfileSearchResponse;
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import com.marriagebureau.clientmanagement.search.ProfileAutocompleteIndex;
+import com.marriagebureau.clientmanagement.service.ProfileExportService;
+import com.marriagebureau.clientmanagement.service.ProfileSearchService;
+import com.marriagebureau.clientmanagement.service.ProfileService;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/profiles")
+@RequiredArgsConstructor
+public class ProfileSearchController {
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final ProfileSearchService profileSearchService;
+    private final ProfileAutocompleteIndex profileAutocompleteIndex;
+    private final ProfileExportService profileExportService;
+    private final ProfileService profileService;
+
+    /**
+     * Endpoint to fetch the public view of several profiles in one request, e.g. to render a list of interests
+     * or matches: the summary fields of active profiles of any broker, without broker contact details.
+     * A broker's own clients in full are fetched with GET /api/clients?ids=...
+     *
+     * @param ids    Up to 100 profile IDs, comma-separated.
+     * @param fields Optional subset of the summary fields, comma-separated.
+     * @return The active profiles among the IDs, in request order; other IDs are left out.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('BROKER')")
+    public ResponseEntity<List<ProfileResponse>> getProfiles(@RequestParam List<Long> ids,
+                                                             @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(profileService.getPublicProfilesByIds(ids, ProfileFields.parse(fields)));
+    }
+
+    /**
+     * Endpoint for a broker to search profiles by structured filters.
+     * Searches all active profiles, or only the broker's own clients when ownClientsOnly is set.
+     *
+     * @param request Filters plus paging: either a page number (for shallow pages) or the cursor returned
+     *                by the previous page. sortBy must be one of id, createdDate, dateOfBirth or heightCm.
+     * @return One page of matching profiles and the cursor of the next page.
+     */
+    @PostMapping("/search")
+    @PreAuthorize("hasRole('BROKER')")
+    public ResponseEntity<ProfileSearchResponse> searchProfiles(@RequestBody ProfileSearchRequest request) {
+        return ResponseEntity.ok(profileSearchService.search(request));
+    }
+
+    /**
+     * Endpoint for a broker to download every profile matching a search, streamed as it is read.
+     *
+     * @param request The same filters and sort as a search; paging fields are ignored.
+     * @param format  "ndjson" (the default) or "csv".
+     * @return All matching profiles as an attachment, in the requested sort order (by relevance for a text query).
+     */
+    @PostMapping("/search/export")
+    @PreAuthorize("hasRole('BROKER')")
+    public ResponseEntity<StreamingResponseBody> exportSearch(@RequestBody ProfileSearchRequest request,
+                                                              @RequestParam(required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        ProfileExportService.Export export = profileExportService.exportSearch(request, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("profiles." + exportFormat.fileExtension()).build().toString())
+                .body(export::writeTo);
+    }
+
+    /**
+     * Endpoint for typeahead on profile forms and search filters, answered from memory.
+     *
+     * @param field  One of city, caste, subCaste or occupation.
+     * @param prefix The text typed so far; matched case-insensitively against names and known alternative spellings.
+     * @param limit  The maximum number of suggestions (at most 20).
+     * @return Values already stored on profiles, most used first.
+     */
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasRole('BROKER')")
+    public ResponseEntity<List<AutocompleteSuggestion>> autocomplete(@RequestParam String field,
+                                                                     @RequestParam(defaultValue = "") String prefix,
+                                                                     @RequestParam(defaultValue = "10") int limit) {
+        DictionaryCategory category = ProfileAutocompleteIndex.categoryOf(field);
+        if (category == null) {
+            throw new BadRequestException("field must be one of city, caste, subCaste or occupation.");
+        }
+        return ResponseEntity.ok(profileAutocompleteIndex.suggest(category, prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.marriagebureau.clientmanagement.controller;
+
+import com.marriagebureau.clientmanagement.dto.CreateSavedSearchRequest;
+import com.marriagebureau.clientmanagement.dto.SavedSearchResponse;
+import com.marriagebureau.clientmanagement.dto.SavedSearchRunResponse;
+import com.marriagebureau.clientmanagement.service.SavedSearchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+@PreAuthorize("hasRole('BROKER')")
+@RequiredArgsConstructor
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    /**
+     * Endpoint for a broker to save a profile search.
+     *
+     * @param request A name and the search filters, as accepted by POST /api/profiles/search.
+     * @return The saved search with a 201 Created status.
+     */
+    @PostMapping
+    public ResponseEntity<SavedSearchResponse> createSavedSearch(@Valid @RequestBody CreateSavedSearchRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedSearchService.create(request));
+    }
+
+    /**
+     * Endpoint to list the authenticated broker's saved searches.
+     *
+     * @return The saved searches, oldest first.
+     */
+    @GetMapping
+    public ResponseEntity<List<SavedSearchResponse>> getSavedSearches() {
+        return ResponseEntity.ok(savedSearchService.findAllForAuthenticatedBroker());
+    }
+
+    /**
+     * Endpoint to re-run a saved search. Returns only matching profiles created or updated since the
+     * previous run; call again while hasMore is true to fetch the rest.
+     *
+     * @param id The ID of the saved search.
+     * @return The new results and the advanced high-water mark.
+     */
+    @PostMapping("/{id}/run")
+    public ResponseEntity<SavedSearchRunResponse> runSavedSearch(@PathVariable Long id) {
+        return ResponseEntity.ok(savedSearchService.run(id));
+    }
+
+    /**
+     * Endpoint to delete a saved search.
+     *
+     * @param id The ID of the saved search.
+     * @return 204 No Content.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSavedSearch(@PathVariable Long id) {
+        savedSearchService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One typeahead suggestion: a stored value and how many profiles use it.
+ */
+@Data
+@Builder
+public class AutocompleteSuggestion {
+    private String value; // Canonical spelling, accepted by the search filters
+    private int count;
+}
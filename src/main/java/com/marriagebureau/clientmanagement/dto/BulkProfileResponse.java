@@ -0,0 +1,17 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk create or update. Rows are saved independently, so some may fail while the rest are saved.
+ */
+@Data
+@Builder
+public class BulkProfileResponse {
+    private int saved;
+    private int failed;
+    private List<BulkProfileRowResult> rows; // One per request row, in request order
+}
@@ -0,0 +1,18 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The outcome of one row of a bulk create or update.
+ */
+@Data
+@Builder
+public class BulkProfileRowResult {
+    private int index; // Zero-based position of the row in the request
+    private Long id; // The created or updated profile; null when a created row failed
+    private boolean saved;
+    private List<String> errors; // Why the row was not saved; empty when it was
+}
@@ -0,0 +1,19 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * One row of a bulk update: the profile to update and its partial update.
+ */
+@Data
+public class BulkUpdateProfileRequest {
+
+    @NotNull(message = "id is mandatory")
+    private Long id;
+
+    @Valid
+    @NotNull(message = "changes is mandatory")
+    private UpdateProfileRequest changes;
+}
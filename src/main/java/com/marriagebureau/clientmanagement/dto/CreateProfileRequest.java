@@ -71,6 +71,12 @@ public class CreateProfileRequest {
     @PositiveOrZero
     private Double annualIncome;
     
+    // --- Partner Preferences ---
+    private LocationPreference preferredPartnerLocation; // Optional, defaults to ANY
+
+    @Min(1) @Max(5000)
+    private Integer preferredPartnerMaxDistanceKm; // Required when preferredPartnerLocation is WITHIN_DISTANCE
+
     // --- Other Details ---
     @URL(message = "Photo URL must be a valid URL")
     private String photoUrl; // Optional
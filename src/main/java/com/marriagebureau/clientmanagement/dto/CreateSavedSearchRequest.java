@@ -0,0 +1,20 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * DTO for saving a profile search to re-run later.
+ */
+@Data
+public class CreateSavedSearchRequest {
+
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    @NotNull
+    private ProfileSearchRequest search; // Filters to store; paging and sorting are ignored when run
+}
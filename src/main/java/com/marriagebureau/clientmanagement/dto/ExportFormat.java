@@ -0,0 +1,43 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Output format of a profile export: one JSON object per line, or CSV with a header row.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Parses the {@code format} request parameter, "ndjson" (the default) or "csv".
+     */
+    public static ExportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return ExportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid export format '" + value + "'. Must be 'ndjson' or 'csv'.");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * The progress of a client import. The row count of a file is not known until it has been read,
+ * so progress is reported as rows read, saved and failed so far.
+ */
+@Data
+@Builder
+public class ProfileImportJobResponse {
+    private String id;
+    private String fileName;
+    private ProfileImportStatus status;
+    private long rowsRead; // Data rows parsed from the file, not counting the header
+    private long rowsSaved;
+    private long rowsFailed; // Rows listed in the error report
+    private String failureMessage; // Why the file could not be read to the end; null unless FAILED
+    private LocalDateTime createdDate;
+    private LocalDateTime startedDate;
+    private LocalDateTime finishedDate;
+}
@@ -0,0 +1,8 @@
+package com.marriagebureau.clientmanagement.dto;
+
+public enum ProfileImportStatus {
+    QUEUED, // Waiting for a free import slot
+    RUNNING,
+    COMPLETED, // Every row was read; see rowsFailed for rows that were not saved
+    FAILED // The file could not be read to the end; rows saved before the failure remain saved
+}
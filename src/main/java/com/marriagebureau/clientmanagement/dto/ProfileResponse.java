@@ -1,5 +1,8 @@
 package com.marriagebureau.clientmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
 import lombok.Builder;
 import lombok.Data;
 import java.time.LocalDateTime;
@@ -9,7 +12,8 @@ import java.time.LocalDateTime;
  * Includes all relevant details for display.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
+@JsonFilter(ProfileFields.FILTER_ID)
 public class ProfileResponse {
     private Long id;
     private Long brokerId;
@@ -57,8 +61,14 @@ public class ProfileResponse {
     private String preferredPartnerCaste;
     private Integer preferredPartnerMinHeightCm;
     private Integer preferredPartnerMaxHeightCm;
+    private String preferredPartnerLocation;
+    private Integer preferredPartnerMaxDistanceKm;
     
     // --- Auditing Fields ---
     private LocalDateTime createdDate;
     private LocalDateTime lastUpdatedDate;
+
+    // The properties to return, from the list endpoint's fields parameter; null returns them all.
+    @JsonIgnore
+    private ProfileFields fields;
 }
\ No newline at end of file
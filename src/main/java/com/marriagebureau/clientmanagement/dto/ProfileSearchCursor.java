@@ -0,0 +1,39 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for profile search pages: the sort key and ID of the last profile on the previous page,
+ * along with the sort it belongs to. Clients pass it back unchanged as {@code cursor}.
+ *
+ * @param value The sort column value as text; null when the profile has no value for it.
+ */
+public record ProfileSearchCursor(String sortBy, String sortDirection, long id, String value) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + sortDirection + SEPARATOR + id + SEPARATOR + (value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode}.
+     * @throws BadRequestException if the cursor is malformed.
+     */
+    public static ProfileSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Missing cursor fields");
+            }
+            return new ProfileSearchCursor(parts[0], parts[1], Long.parseLong(parts[2]), parts[3].isEmpty() ? null : parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid search cursor.");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Number of profiles matching a search, broken down by attribute value. Each map is ordered by descending
+ * count; its keys are the canonical names accepted by the corresponding search filter.
+ * Profiles without a value for an attribute are not counted under that attribute.
+ */
+@Data
+@Builder
+public class ProfileSearchFacets {
+    private Map<String, Long> religion;
+    private Map<String, Long> caste;
+    private Map<String, Long> city;
+    private Map<String, Long> maritalStatus;
+    private Map<String, Long> ageBucket; // e.g. "25-29"
+}
@@ -1,7 +1,9 @@
 package com.marriagebureau.clientmanagement.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * DTO for capturing search criteria for client profiles.
@@ -9,6 +11,8 @@ import lombok.Data;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProfileSearchRequest {
     private Integer minAge;
     private Integer maxAge;
@@ -21,6 +25,15 @@ public class ProfileSearchRequest {
     private String maritalStatus;
     private Integer minHeightCm;
     private Integer maxHeightCm;
+    private String text; // Full-text query over about me, occupation and education; results then come most relevant first
+
+    // Search the authenticated broker's own clients (active or not) instead of all active profiles
+    @Builder.Default
+    private boolean ownClientsOnly = false;
+
+    // Also return facet counts over all matching profiles
+    @Builder.Default
+    private boolean includeFacets = false;
 
     // Pagination and Sorting
     @Builder.Default
@@ -28,7 +41,8 @@ public class ProfileSearchRequest {
     @Builder.Default
     private int size = 10;
     @Builder.Default
-    private String sortBy = "id";
+    private String sortBy = "id"; // Not applied when text is given
     @Builder.Default
     private String sortDirection = "asc";
-}
\ No newline at end of file
+    private String cursor; // nextCursor of the previous page; takes precedence over page
+}
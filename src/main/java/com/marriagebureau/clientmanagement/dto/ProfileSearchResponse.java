@@ -0,0 +1,19 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of profile search results.
+ */
+@Data
+@Builder
+public class ProfileSearchResponse {
+    private List<ProfileResponse> profiles; // In the requested sort order, or most relevant first for a text query
+    private Integer page; // Zero-based page number; null when the page was requested by cursor
+    private int size; // Page size actually applied, after capping
+    private String nextCursor; // Pass as 'cursor' to fetch the next page; null on the last page. A text query's page may be short while this is set
+    private ProfileSearchFacets facets; // Counts over all matching profiles, not just this page; null unless requested
+}
@@ -0,0 +1,20 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for representing a saved search in API responses.
+ */
+@Data
+@Builder
+public class SavedSearchResponse {
+    private Long id;
+    private String name;
+    private ProfileSearchRequest search;
+    private LocalDateTime lastSeenUpdatedDate; // Runs return profiles created or updated after this
+    private LocalDateTime lastRunDate;
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,19 @@
+package com.marriagebureau.clientmanagement.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The profiles a saved search has not returned before, oldest change first.
+ */
+@Data
+@Builder
+public class SavedSearchRunResponse {
+    private Long savedSearchId;
+    private List<ProfileResponse> profiles; // Matching profiles created or updated since the previous run
+    private boolean hasMore; // More changes are waiting; run again to fetch them
+    private LocalDateTime lastSeenUpdatedDate; // The new high-water mark
+}
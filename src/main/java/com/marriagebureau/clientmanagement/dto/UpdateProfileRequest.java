@@ -1,5 +1,8 @@
 package com.marriagebureau.clientmanagement.dto;
 
+import com.marriagebureau.clientmanagement.model.enums.LocationPreference;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -21,4 +24,9 @@ public class UpdateProfileRequest {
     private Double annualIncome;
 
     private Boolean isActive;
+
+    private LocationPreference preferredPartnerLocation;
+
+    @Min(1) @Max(5000)
+    private Integer preferredPartnerMaxDistanceKm;
 }
\ No newline at end of file
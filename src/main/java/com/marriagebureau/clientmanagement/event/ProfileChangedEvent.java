@@ -0,0 +1,34 @@
+package com.marriagebureau.clientmanagement.event;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+
+/**
+ * Published by ProfileService whenever a client profile is created, updated or deleted.
+ * Listeners that keep derived, in-memory state (such as the match index) use this to stay current.
+ *
+ * @param profileId               The ID of the changed profile.
+ * @param profile                 The profile as saved, or null when the profile was deleted.
+ * @param matchAttributesChanged  Whether any attribute used for matching (hard filters, scoring or partner
+ *                                preferences) changed; false when only e.g. the name or occupation was edited.
+ * @param searchAttributesChanged Whether any attribute profile search filters on (including the full-text
+ *                                fields) changed; false when only e.g. the name or income was edited.
+ */
+public record ProfileChangedEvent(Long profileId, Profile profile, boolean matchAttributesChanged,
+                                  boolean searchAttributesChanged) {
+
+    public static ProfileChangedEvent saved(Profile profile) {
+        return new ProfileChangedEvent(profile.getId(), profile, true, true);
+    }
+
+    public static ProfileChangedEvent saved(Profile profile, boolean matchAttributesChanged, boolean searchAttributesChanged) {
+        return new ProfileChangedEvent(profile.getId(), profile, matchAttributesChanged, searchAttributesChanged);
+    }
+
+    public static ProfileChangedEvent deleted(Long profileId) {
+        return new ProfileChangedEvent(profileId, null, true, true);
+    }
+
+    public boolean isDeletion() {
+        return profile == null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.marriagebureau.clientmanagement.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the rows of a UTF-8 CSV file (RFC 4180: comma-separated, fields optionally double-quoted, quotes
+ * doubled inside quoted fields, which may span lines). A leading byte order mark is skipped.
+ * Fields and rows are bounded in length, so a malformed file such as one with an unterminated quote fails
+ * instead of being read into memory.
+ */
+public class CsvSpreadsheetReader implements SpreadsheetReader {
+
+    private static final int MAX_FIELD_LENGTH = 10_000;
+    private static final int MAX_FIELDS = 1_000;
+
+    private final BufferedReader reader;
+    private int pushedBack = -1;
+    private long line = 1;
+
+    public CsvSpreadsheetReader(Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        int first = reader.read();
+        if (first != '\uFEFF') {
+            pushedBack = first;
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        Row row;
+        do {
+            row = readRecord();
+        } while (row != null && row.isBlank());
+        return row;
+    }
+
+    private Row readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        long number = line;
+        List<String> cells = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Line " + number + " has a quoted field that is never closed.");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append(field, c, number);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                addField(cells, field, number);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                addField(cells, field, number);
+                return new Row(number, cells);
+            } else {
+                append(field, c, number);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private static void append(StringBuilder field, int c, long number) throws IOException {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new IOException("Line " + number + " has a field longer than " + MAX_FIELD_LENGTH + " characters.");
+        }
+        field.append((char) c);
+    }
+
+    private static void addField(List<String> cells, StringBuilder field, long number) throws IOException {
+        if (cells.size() == MAX_FIELDS) {
+            throw new IOException("Line " + number + " has more than " + MAX_FIELDS + " fields.");
+        }
+        cells.add(field.toString());
+        field.setLength(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
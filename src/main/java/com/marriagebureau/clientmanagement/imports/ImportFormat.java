@@ -0,0 +1,42 @@
+package com.marriagebureau.clientmanagement.imports;
+
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Spreadsheet formats a client import accepts, told apart by file extension.
+ */
+public enum ImportFormat {
+    CSV("csv"),
+    XLSX("xlsx");
+
+    private final String fileExtension;
+
+    ImportFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    public static ImportFormat fromFileName(String fileName) {
+        String lowerCase = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        for (ImportFormat format : values()) {
+            if (lowerCase.endsWith("." + format.fileExtension)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Upload a .csv or .xlsx file.");
+    }
+
+    public SpreadsheetReader open(Path file) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvSpreadsheetReader(file);
+            case XLSX -> new XlsxSpreadsheetReader(file);
+        };
+    }
+}
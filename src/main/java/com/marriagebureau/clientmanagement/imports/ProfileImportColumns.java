@@ -0,0 +1,122 @@
+package com.marriagebureau.clientmanagement.imports;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Maps spreadsheet rows to {@link CreateProfileRequest}s by the file's header row. A column feeds the request
+ * property of the same name, ignoring case, spaces and punctuation ("Date of Birth" is dateOfBirth); other
+ * columns are ignored. Choices may be written as displayed ("Never Married"), and dates as ISO dates or as
+ * Excel date serial numbers.
+ */
+public class ProfileImportColumns {
+
+    private static final Pattern WHOLE_NUMBER = Pattern.compile("-?\\d+(\\.0*)?");
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Class<?>> typesByProperty;
+    private final String[] propertyByColumn; // null for ignored columns
+
+    private ProfileImportColumns(ObjectMapper objectMapper, Map<String, Class<?>> typesByProperty, String[] propertyByColumn) {
+        this.objectMapper = objectMapper;
+        this.typesByProperty = typesByProperty;
+        this.propertyByColumn = propertyByColumn;
+    }
+
+    /**
+     * @param header The file's first row.
+     * @throws IOException If no column names a profile property, or two columns name the same one.
+     */
+    public static ProfileImportColumns of(List<String> header, ObjectMapper objectMapper) throws IOException {
+        Map<String, Class<?>> typesByProperty = new HashMap<>();
+        Map<String, String> propertiesByKey = new HashMap<>();
+        for (BeanPropertyDefinition property : objectMapper.getDeserializationConfig()
+                .introspect(objectMapper.constructType(CreateProfileRequest.class)).findProperties()) {
+            if (property.couldDeserialize()) {
+                typesByProperty.put(property.getName(), property.getRawPrimaryType());
+                propertiesByKey.put(key(property.getName()), property.getName());
+            }
+        }
+        String[] propertyByColumn = new String[header.size()];
+        Map<String, Integer> columnsByProperty = new HashMap<>();
+        for (int column = 0; column < header.size(); column++) {
+            String property = propertiesByKey.get(key(header.get(column)));
+            if (property == null) {
+                continue;
+            }
+            Integer previous = columnsByProperty.putIfAbsent(property, column);
+            if (previous != null) {
+                throw new IOException("Columns " + (previous + 1) + " and " + (column + 1) + " are both " + property + ".");
+            }
+            propertyByColumn[column] = property;
+        }
+        if (columnsByProperty.isEmpty()) {
+            throw new IOException("The header row names no profile field; name the columns after the profile fields, "
+                    + "such as fullName, dateOfBirth and gender.");
+        }
+        return new ProfileImportColumns(objectMapper, typesByProperty, propertyByColumn);
+    }
+
+    /**
+     * @return The row's non-blank values of mapped columns, by property name.
+     */
+    public Map<String, String> valuesOf(List<String> cells) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int column = 0; column < Math.min(cells.size(), propertyByColumn.length); column++) {
+            String value = cells.get(column).trim();
+            if (propertyByColumn[column] != null && !value.isEmpty()) {
+                values.put(propertyByColumn[column], value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Converts a row's values to a request; the request is not validated.
+     *
+     * @throws IllegalArgumentException If a value cannot be converted to its property's type; the message
+     *                                  names the property.
+     */
+    public CreateProfileRequest toRequest(Map<String, String> values) {
+        Map<String, Object> converted = new LinkedHashMap<>();
+        values.forEach((property, value) -> converted.put(property, normalize(value, typesByProperty.get(property))));
+        try {
+            return objectMapper.convertValue(converted, CreateProfileRequest.class);
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+                String property = mapping.getPath().get(0).getFieldName();
+                throw new IllegalArgumentException(property + ": '" + values.get(property) + "' is not a valid value.", e);
+            }
+            throw new IllegalArgumentException("The row could not be read.", e);
+        }
+    }
+
+    private static String normalize(String value, Class<?> type) {
+        if (type.isEnum()) {
+            return value.toUpperCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+        }
+        if ((type == Integer.class || type == Long.class) && WHOLE_NUMBER.matcher(value).matches()) {
+            return value.replaceFirst("\\.0*$", "");
+        }
+        if (type == LocalDate.class && WHOLE_NUMBER.matcher(value).matches()) {
+            return EXCEL_EPOCH.plusDays(Long.parseLong(value.replaceFirst("\\.0*$", ""))).toString();
+        }
+        return value;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+}
@@ -0,0 +1,28 @@
+package com.marriagebureau.clientmanagement.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads a spreadsheet one row at a time, so that a file of any size is never held in memory.
+ */
+public interface SpreadsheetReader extends Closeable {
+
+    /**
+     * @param number The 1-based row number, as a spreadsheet application shows it.
+     * @param cells  The cell values as text, from the first column; empty cells are empty strings.
+     */
+    record Row(long number, List<String> cells) {
+
+        public boolean isBlank() {
+            return cells.stream().allMatch(String::isBlank);
+        }
+    }
+
+    /**
+     * @return The next row that has a value, or null at the end of the sheet.
+     * @throws IOException If the file cannot be read or is malformed.
+     */
+    Row next() throws IOException;
+}
@@ -0,0 +1,225 @@
+package com.marriagebureau.clientmanagement.imports;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Streams the rows of the first worksheet of an Excel workbook (.xlsx), with the JDK's zip and StAX readers.
+ * The worksheet XML is read event by event, so memory does not grow with the row count; only the workbook's
+ * shared strings table is loaded, and it is bounded in size. Dates are returned as Excel serial numbers,
+ * like any other number. DTDs and external entities are not processed.
+ */
+public class XlsxSpreadsheetReader implements SpreadsheetReader {
+
+    private static final Pattern WORKSHEET = Pattern.compile("xl/worksheets/sheet(\\d+)\\.xml");
+    private static final long MAX_SHARED_STRING_CHARS = 20_000_000;
+    private static final int MAX_COLUMNS = 1_000;
+
+    private static final XMLInputFactory XML = XMLInputFactory.newFactory();
+
+    static {
+        XML.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final ZipFile zip;
+    private final List<String> sharedStrings;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private long lastRowNumber;
+
+    public XlsxSpreadsheetReader(Path file) throws IOException {
+        try {
+            this.zip = new ZipFile(file.toFile());
+        } catch (ZipException e) {
+            throw new IOException("The file is not a readable XLSX workbook.", e);
+        }
+        try {
+            this.sharedStrings = readSharedStrings();
+            this.sheetStream = zip.getInputStream(firstWorksheet());
+            this.sheet = XML.createXMLStreamReader(sheetStream);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            zip.close();
+            throw e instanceof IOException io ? io : new IOException("The file is not a readable XLSX workbook.", e);
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && sheet.getLocalName().equals("row")) {
+                    Row row = readRow();
+                    if (!row.isBlank()) {
+                        return row;
+                    }
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("The worksheet is not valid XML.", e);
+        }
+    }
+
+    private Row readRow() throws XMLStreamException, IOException {
+        String reference = sheet.getAttributeValue(null, "r");
+        long number;
+        try {
+            number = reference != null ? Long.parseLong(reference) : lastRowNumber + 1;
+        } catch (NumberFormatException e) {
+            throw new IOException("The worksheet has an invalid row number '" + reference + "'.");
+        }
+        lastRowNumber = number;
+        List<String> cells = new ArrayList<>();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && sheet.getLocalName().equals("row")) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && sheet.getLocalName().equals("c")) {
+                String cellReference = sheet.getAttributeValue(null, "r");
+                int column = cellReference != null ? columnIndex(cellReference) : cells.size();
+                if (column < 0 || column >= MAX_COLUMNS) {
+                    throw new IOException("Row " + number + " has a cell outside the first " + MAX_COLUMNS + " columns.");
+                }
+                String value = readCell(sheet.getAttributeValue(null, "t"));
+                while (cells.size() <= column) {
+                    cells.add("");
+                }
+                cells.set(column, value);
+            }
+        }
+        return new Row(number, cells);
+    }
+
+    /**
+     * Reads a cell's value as text; the reader is left on the cell's end tag.
+     */
+    private String readCell(String type) throws XMLStreamException, IOException {
+        String value = null;
+        StringBuilder inlineText = new StringBuilder();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && sheet.getLocalName().equals("c")) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (sheet.getLocalName()) {
+                    case "v" -> value = sheet.getElementText();
+                    case "t" -> inlineText.append(sheet.getElementText()); // Inline string, possibly in rich text runs.
+                    default -> { }
+                }
+            }
+        }
+        if ("inlineStr".equals(type)) {
+            return inlineText.toString();
+        }
+        if (value == null) {
+            return "";
+        }
+        if ("s".equals(type)) {
+            try {
+                return sharedStrings.get(Integer.parseInt(value.trim()));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IOException("A cell refers to shared string '" + value + "', which does not exist.");
+            }
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value) ? "true" : "false";
+        }
+        return value;
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null) {
+            return strings;
+        }
+        long totalChars = 0;
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = XML.createXMLStreamReader(in);
+            StringBuilder text = null;
+            int phoneticDepth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "si" -> text = new StringBuilder();
+                        case "rPh" -> phoneticDepth++; // Phonetic hints, not part of the value.
+                        case "t" -> {
+                            String part = reader.getElementText();
+                            if (text != null && phoneticDepth == 0) {
+                                text.append(part);
+                            }
+                        }
+                        default -> { }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (reader.getLocalName().equals("rPh")) {
+                        phoneticDepth--;
+                    } else if (reader.getLocalName().equals("si") && text != null) {
+                        totalChars += text.length();
+                        if (totalChars > MAX_SHARED_STRING_CHARS) {
+                            throw new IOException("The workbook's text is too large to import; split it into smaller files.");
+                        }
+                        strings.add(text.toString());
+                        text = null;
+                    }
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    private ZipEntry firstWorksheet() throws IOException {
+        return zip.stream()
+                .filter(entry -> WORKSHEET.matcher(entry.getName()).matches())
+                .min(Comparator.comparingInt(XlsxSpreadsheetReader::sheetNumber))
+                .orElseThrow(() -> new IOException("The workbook has no worksheet."));
+    }
+
+    private static int sheetNumber(ZipEntry entry) {
+        Matcher matcher = WORKSHEET.matcher(entry.getName());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return The zero-based column of a cell reference such as "AB12", or -1 if it names no column.
+     *         Columns past {@link #MAX_COLUMNS} are not told apart.
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length() && Character.isLetter(cellReference.charAt(i))
+                && column <= MAX_COLUMNS; i++) {
+            column = column * 26 + (Character.toUpperCase(cellReference.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // Nothing left to release; the zip is closed below.
+        } finally {
+            sheetStream.close();
+            zip.close();
+        }
+    }
+}
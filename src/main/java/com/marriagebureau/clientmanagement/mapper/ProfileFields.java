@@ -0,0 +1,83 @@
+package com.marriagebureau.clientmanagement.mapper;
+
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A sparse fieldset of {@link com.marriagebureau.clientmanagement.dto.ProfileResponse}: the JSON properties a
+ * list endpoint should return, taken from its {@code fields} parameter. The mapper populates only these
+ * properties and the {@link ProfileFieldsFilter} writes only these, so list payloads and serialization cost
+ * scale with what the client displays. A null fieldset means every property.
+ */
+public final class ProfileFields {
+
+    /** ID of the Jackson filter applied to ProfileResponse. */
+    public static final String FILTER_ID = "profileFields";
+
+    /** The compact summary view (fields=summary): what a profile card in a list shows. */
+    public static final ProfileFields SUMMARY = new ProfileFields(Set.of("id", "brokerId", "fullName", "age", "gender",
+            "maritalStatus", "heightCm", "religion", "caste", "city", "occupation", "photoUrl", "active"));
+
+    private final Set<String> names;
+
+    private ProfileFields(Set<String> names) {
+        this.names = Set.copyOf(names);
+    }
+
+    /**
+     * Parses a {@code fields} request parameter: "summary", or a comma-separated list of ProfileResponse
+     * property names. The ID is always included.
+     *
+     * @return The fieldset, or null (every property) when the parameter is blank.
+     */
+    public static ProfileFields parse(String parameter) {
+        if (parameter == null || parameter.isBlank()) {
+            return null;
+        }
+        if (parameter.trim().equalsIgnoreCase("summary")) {
+            return SUMMARY;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String name : parameter.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!ProfileMapper.FIELD_NAMES.contains(trimmed)) {
+                throw new BadRequestException("Unknown profile field '" + trimmed + "'. Use 'summary' or any of "
+                        + String.join(", ", ProfileMapper.FIELD_NAMES) + ".");
+            }
+            names.add(trimmed);
+        }
+        return new ProfileFields(names);
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    public Set<String> names() {
+        return names;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ProfileFields fields && names.equals(fields.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return names.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        String[] sorted = names.toArray(String[]::new);
+        Arrays.sort(sorted);
+        return String.join(",", sorted);
+    }
+}
@@ -0,0 +1,24 @@
+package com.marriagebureau.clientmanagement.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+
+/**
+ * Writes only the properties of a {@link ProfileResponse} that are in its {@link ProfileFields};
+ * the others are skipped without being read or serialized.
+ */
+public class ProfileFieldsFilter extends SimpleBeanPropertyFilter {
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+        if (pojo instanceof ProfileResponse response && response.getFields() != null
+                && !response.getFields().includes(writer.getName())) {
+            return;
+        }
+        writer.serializeAsField(pojo, generator, provider);
+    }
+}
@@ -2,6 +2,14 @@ package com.marriagebureau.clientmanagement.mapper;
 
 import com.marriagebureau.clientmanagement.dto.ProfileResponse;
 import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileListRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileSummaryRow;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 public class ProfileMapper {
 
@@ -42,8 +50,150 @@ public class ProfileMapper {
                 .preferredPartnerCaste(profile.getPreferredPartnerCaste())
                 .preferredPartnerMinHeightCm(profile.getPreferredPartnerMinHeightCm())
                 .preferredPartnerMaxHeightCm(profile.getPreferredPartnerMaxHeightCm())
+                .preferredPartnerLocation(profile.getPreferredPartnerLocation() != null ? profile.getPreferredPartnerLocation().name() : null)
+                .preferredPartnerMaxDistanceKm(profile.getPreferredPartnerMaxDistanceKm())
                 .createdDate(profile.getCreatedDate())
                 .lastUpdatedDate(profile.getLastUpdatedDate())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static ProfileResponse toProfileResponse(ProfileListRow row) {
+        return toProfileResponse(row, null);
+    }
+
+    /**
+     * Maps a list row, populating only the properties in {@code fields} (all of them when null).
+     * The result carries the fieldset, so only those properties are serialized.
+     */
+    public static ProfileResponse toProfileResponse(ProfileListRow row, ProfileFields fields) {
+        if (row == null) {
+            return null;
+        }
+        ProfileResponse.ProfileResponseBuilder builder = ProfileResponse.builder().fields(fields);
+        for (Map.Entry<String, BiConsumer<ProfileResponse.ProfileResponseBuilder, ProfileListRow>> field : FIELDS.entrySet()) {
+            if (fields == null || fields.includes(field.getKey())) {
+                field.getValue().accept(builder, row);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Maps a summary row, populating only the properties in {@code fields}, which the row must cover
+     * (see {@link #fitsSummaryRow}); when null, every property the row holds.
+     */
+    public static ProfileResponse toProfileResponse(ProfileSummaryRow row, ProfileFields fields) {
+        if (row == null) {
+            return null;
+        }
+        ProfileResponse.ProfileResponseBuilder builder = ProfileResponse.builder().fields(fields);
+        SUMMARY_FIELDS.forEach((name, field) -> {
+            if (fields == null || fields.includes(name)) {
+                field.accept(builder, row);
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * @return True if a {@link ProfileSummaryRow} holds every property of {@code fields}, so a list of them
+     *         can be read without the full columns.
+     */
+    public static boolean fitsSummaryRow(ProfileFields fields) {
+        return fields != null && SUMMARY_FIELDS.keySet().containsAll(fields.names());
+    }
+
+    /**
+     * Maps a loaded profile, populating only the properties in {@code fields} (all of them when null).
+     */
+    public static ProfileResponse toProfileResponse(Profile profile, ProfileFields fields) {
+        if (fields == null || profile == null) {
+            return toProfileResponse(profile);
+        }
+        return toProfileResponse(ProfileListRow.of(profile), fields);
+    }
+
+    /**
+     * Restricts an already mapped profile to {@code fields}, e.g. one served from a cache; the copy shares
+     * the values and only changes what is serialized.
+     */
+    public static ProfileResponse withFields(ProfileResponse response, ProfileFields fields) {
+        if (fields == null || response == null) {
+            return response;
+        }
+        return response.toBuilder().fields(fields).build();
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    /** How each ProfileResponse property is filled from a list row, keyed by JSON property name, in response order. */
+    private static final Map<String, BiConsumer<ProfileResponse.ProfileResponseBuilder, ProfileListRow>> FIELDS;
+
+    static {
+        Map<String, BiConsumer<ProfileResponse.ProfileResponseBuilder, ProfileListRow>> fields = new LinkedHashMap<>();
+        fields.put("id", (b, row) -> b.id(row.id()));
+        fields.put("brokerId", (b, row) -> b.brokerId(row.brokerId()));
+        fields.put("email", (b, row) -> b.email(row.brokerEmail()));
+        fields.put("fullName", (b, row) -> b.fullName(row.fullName()));
+        fields.put("age", (b, row) -> b.age(row.age()));
+        fields.put("gender", (b, row) -> b.gender(nameOf(row.gender())));
+        fields.put("maritalStatus", (b, row) -> b.maritalStatus(nameOf(row.maritalStatus())));
+        fields.put("heightCm", (b, row) -> b.heightCm(row.heightCm()));
+        fields.put("religion", (b, row) -> b.religion(row.religion()));
+        fields.put("caste", (b, row) -> b.caste(row.caste()));
+        fields.put("subCaste", (b, row) -> b.subCaste(row.subCaste()));
+        fields.put("motherTongue", (b, row) -> b.motherTongue(nameOf(row.motherTongue())));
+        fields.put("country", (b, row) -> b.country(row.country()));
+        fields.put("state", (b, row) -> b.state(row.state()));
+        fields.put("city", (b, row) -> b.city(row.city()));
+        fields.put("complexion", (b, row) -> b.complexion(nameOf(row.complexion())));
+        fields.put("bodyType", (b, row) -> b.bodyType(nameOf(row.bodyType())));
+        fields.put("education", (b, row) -> b.education(row.education()));
+        fields.put("occupation", (b, row) -> b.occupation(row.occupation()));
+        fields.put("annualIncome", (b, row) -> b.annualIncome(row.annualIncome()));
+        fields.put("diet", (b, row) -> b.diet(nameOf(row.diet())));
+        fields.put("smokingHabit", (b, row) -> b.smokingHabit(nameOf(row.smokingHabit())));
+        fields.put("drinkingHabit", (b, row) -> b.drinkingHabit(nameOf(row.drinkingHabit())));
+        fields.put("aboutMe", (b, row) -> b.aboutMe(row.aboutMe()));
+        fields.put("photoUrl", (b, row) -> b.photoUrl(row.photoUrl()));
+        fields.put("active", (b, row) -> b.isActive(row.isActive()));
+        fields.put("preferredPartnerMinAge", (b, row) -> b.preferredPartnerMinAge(row.preferredPartnerMinAge()));
+        fields.put("preferredPartnerMaxAge", (b, row) -> b.preferredPartnerMaxAge(row.preferredPartnerMaxAge()));
+        fields.put("preferredPartnerReligion", (b, row) -> b.preferredPartnerReligion(row.preferredPartnerReligion()));
+        fields.put("preferredPartnerCaste", (b, row) -> b.preferredPartnerCaste(row.preferredPartnerCaste()));
+        fields.put("preferredPartnerMinHeightCm", (b, row) -> b.preferredPartnerMinHeightCm(row.preferredPartnerMinHeightCm()));
+        fields.put("preferredPartnerMaxHeightCm", (b, row) -> b.preferredPartnerMaxHeightCm(row.preferredPartnerMaxHeightCm()));
+        fields.put("preferredPartnerLocation", (b, row) -> b.preferredPartnerLocation(nameOf(row.preferredPartnerLocation())));
+        fields.put("preferredPartnerMaxDistanceKm", (b, row) -> b.preferredPartnerMaxDistanceKm(row.preferredPartnerMaxDistanceKm()));
+        fields.put("createdDate", (b, row) -> b.createdDate(row.createdDate()));
+        fields.put("lastUpdatedDate", (b, row) -> b.lastUpdatedDate(row.lastUpdatedDate()));
+        FIELDS = Collections.unmodifiableMap(fields);
+    }
+
+    /** How the ProfileResponse properties a summary row holds are filled from it, keyed by JSON property name. */
+    private static final Map<String, BiConsumer<ProfileResponse.ProfileResponseBuilder, ProfileSummaryRow>> SUMMARY_FIELDS;
+
+    static {
+        Map<String, BiConsumer<ProfileResponse.ProfileResponseBuilder, ProfileSummaryRow>> fields = new LinkedHashMap<>();
+        fields.put("id", (b, row) -> b.id(row.id()));
+        fields.put("brokerId", (b, row) -> b.brokerId(row.brokerId()));
+        fields.put("email", (b, row) -> b.email(row.brokerEmail()));
+        fields.put("fullName", (b, row) -> b.fullName(row.fullName()));
+        fields.put("age", (b, row) -> b.age(row.age()));
+        fields.put("gender", (b, row) -> b.gender(nameOf(row.gender())));
+        fields.put("maritalStatus", (b, row) -> b.maritalStatus(nameOf(row.maritalStatus())));
+        fields.put("heightCm", (b, row) -> b.heightCm(row.heightCm()));
+        fields.put("religion", (b, row) -> b.religion(row.religion()));
+        fields.put("caste", (b, row) -> b.caste(row.caste()));
+        fields.put("city", (b, row) -> b.city(row.city()));
+        fields.put("occupation", (b, row) -> b.occupation(row.occupation()));
+        fields.put("photoUrl", (b, row) -> b.photoUrl(row.photoUrl()));
+        fields.put("active", (b, row) -> b.isActive(row.isActive()));
+        SUMMARY_FIELDS = Collections.unmodifiableMap(fields);
+    }
+
+    /** The JSON property names of ProfileResponse, in response order. */
+    static final Set<String> FIELD_NAMES = FIELDS.keySet();
+}
@@ -0,0 +1,29 @@
+package com.marriagebureau.clientmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The location of a city dictionary term, used for distance-based partner preferences.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "city_coordinates")
+public class CityCoordinate {
+
+    @Id
+    @Column(name = "city_id")
+    private Long cityId;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+}
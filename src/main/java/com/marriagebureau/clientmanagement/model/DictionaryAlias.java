@@ -0,0 +1,33 @@
+package com.marriagebureau.clientmanagement.model;
+
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps a normalized spelling (trimmed, lower case) to a {@link DictionaryTerm}, so that
+ * "Bombay", "mumbai " and "Mumbai" all resolve to the same term. Every term has an alias for its own name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "dictionary_aliases")
+@IdClass(DictionaryAliasId.class)
+public class DictionaryAlias {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private DictionaryCategory category;
+
+    @Id
+    private String alias;
+
+    @Column(name = "term_id", nullable = false)
+    private Long termId;
+}
@@ -0,0 +1,19 @@
+package com.marriagebureau.clientmanagement.model;
+
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link DictionaryAlias}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictionaryAliasId implements Serializable {
+    private DictionaryCategory category;
+    private String alias;
+}
@@ -0,0 +1,32 @@
+package com.marriagebureau.clientmanagement.model;
+
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One canonical value of a dictionary category, e.g. the city "Mumbai".
+ * Profiles reference terms by ID so filters compare integers instead of free text.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "dictionary_terms")
+public class DictionaryTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private DictionaryCategory category;
+
+    @Column(nullable = false)
+    private String name;
+}
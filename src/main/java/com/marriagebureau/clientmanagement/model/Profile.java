@@ -24,8 +24,12 @@ import java.time.Period;
 @EntityListeners(AuditingEntityListener.class)
 public class Profile {
 
+    // Allocated 50 at a time from the id_generators table (pooled-lo, see application.properties) rather than
+    // by an identity column, so Hibernate can batch inserts; a table works on both H2 and MySQL.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "client_profile_ids")
+    @TableGenerator(name = "client_profile_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "client_profiles", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -48,11 +52,16 @@ public class Profile {
     private String subCaste;
     @Enumerated(EnumType.STRING)
     private MotherTongue motherTongue;
+    // Dictionary term IDs of the text fields above; filters compare these instead of the text.
+    private Long religionId;
+    private Long casteId;
+    private Long subCasteId;
 
     // --- Location ---
     private String country;
     private String state;
     private String city;
+    private Long cityId;
     
     // --- Physical Attributes ---
     @Enumerated(EnumType.STRING)
@@ -63,6 +72,7 @@ public class Profile {
     // --- Professional/Educational Details ---
     private String education;
     private String occupation;
+    private Long occupationId;
     private Double annualIncome;
 
     // --- Lifestyle & Habits ---
@@ -86,17 +96,27 @@ public class Profile {
     private Integer preferredPartnerMaxAge;
     private String preferredPartnerReligion;
     private String preferredPartnerCaste;
+    private Long preferredPartnerReligionId;
+    private Long preferredPartnerCasteId;
     private Integer preferredPartnerMinHeightCm;
     private Integer preferredPartnerMaxHeightCm;
+    @Enumerated(EnumType.STRING)
+    private LocationPreference preferredPartnerLocation;
+    private Integer preferredPartnerMaxDistanceKm;
     
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdDate;
 
+    // Also set on insert, so saved searches can find new and changed profiles with one range on this column.
     @LastModifiedDate
-    @Column(insertable = false)
     private LocalDateTime lastUpdatedDate;
 
+    // Incremented on every update; used for optimistic locking (a lost race is answered with 409, see
+    // ConcurrentUpdateExceptionHandler), for ETags and to key cached match results.
+    @Version
+    private Long version;
+
     public Integer getAge() {
         if (this.dateOfBirth != null) {
             return Period.between(this.dateOfBirth, LocalDate.now()).getYears();
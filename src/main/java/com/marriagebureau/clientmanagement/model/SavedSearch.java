@@ -0,0 +1,64 @@
+package com.marriagebureau.clientmanagement.model;
+
+import com.marriagebureau.usermanagement.model.AppUser;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A broker's profile search, stored to be re-run for new results.
+ * The high-water mark is the latest lastUpdatedDate a run has returned. The next run considers profiles
+ * changed after the mark minus a safety window, and skips the versions it already returned, which are kept
+ * in {@link #recentlySeen} for as long as they fall within the window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "saved_searches")
+@EntityListeners(AuditingEntityListener.class)
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "broker_id", nullable = false)
+    private AppUser broker;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // The ProfileSearchRequest as JSON; paging fields are ignored when run.
+    @Column(nullable = false, length = 4000)
+    private String criteria;
+
+    @Column(nullable = false)
+    private LocalDateTime lastSeenUpdatedDate;
+
+    @Column(nullable = false)
+    private Long lastSeenProfileId;
+
+    // The versions returned at or after the mark minus the safety window, by profile ID.
+    @ElementCollection
+    @CollectionTable(name = "saved_search_seen_profiles", joinColumns = @JoinColumn(name = "saved_search_id"))
+    @MapKeyColumn(name = "profile_id")
+    @Builder.Default
+    private Map<Long, SeenProfileVersion> recentlySeen = new HashMap<>();
+
+    private LocalDateTime lastRunDate;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,6 @@
+package com.marriagebureau.clientmanagement.model.enums;
+
+/**
+ * The free-text profile attributes that are normalized through the dictionary tables.
+ */
+public enum DictionaryCategory { RELIGION, CASTE, SUB_CASTE, CITY, OCCUPATION }
@@ -0,0 +1,44 @@
+package com.marriagebureau.clientmanagement.model.enums;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Coarse education level derived from the free-text Profile.education field.
+ * Used to compare education for compatibility scoring; ordered from lowest to highest.
+ */
+public enum EducationLevel {
+    SCHOOL(Set.of("ssc", "hsc", "10th", "12th", "school", "matriculation")),
+    DIPLOMA(Set.of("diploma", "iti", "polytechnic")),
+    GRADUATE(Set.of("btech", "be", "bsc", "ba", "bcom", "bba", "bca", "bpharm", "barch", "llb", "mbbs",
+            "bachelor", "bachelors", "graduate", "graduation")),
+    POSTGRADUATE(Set.of("mtech", "me", "msc", "ma", "mcom", "mba", "mca", "ms", "md", "mpharm", "llm", "mphil",
+            "pgdm", "ca", "master", "masters", "postgraduate")),
+    DOCTORATE(Set.of("phd", "doctorate", "dphil"));
+
+    private final Set<String> keywords;
+
+    EducationLevel(Set<String> keywords) {
+        this.keywords = keywords;
+    }
+
+    /**
+     * Classifies a free-text education value by common degree keywords, e.g. "M.Tech" or "B.Com".
+     * @param education The education text as entered by the broker.
+     * @return The highest level mentioned, or null if the text is empty or unrecognised.
+     */
+    public static EducationLevel classify(String education) {
+        if (education == null || education.isBlank()) {
+            return null;
+        }
+        EducationLevel highest = null;
+        for (String token : education.toLowerCase(Locale.ROOT).replace(".", "").split("[^a-z0-9]+")) {
+            for (EducationLevel level : values()) {
+                if (level.keywords.contains(token) && (highest == null || level.compareTo(highest) > 0)) {
+                    highest = level;
+                }
+            }
+        }
+        return highest;
+    }
+}
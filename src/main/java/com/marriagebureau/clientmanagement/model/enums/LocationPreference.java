@@ -0,0 +1,7 @@
+package com.marriagebureau.clientmanagement.model.enums;
+
+/**
+ * Where a client's partner may live, relative to the client's own city and state.
+ * WITHIN_DISTANCE uses Profile.preferredPartnerMaxDistanceKm.
+ */
+public enum LocationPreference { ANY, SAME_CITY, SAME_STATE, WITHIN_DISTANCE }
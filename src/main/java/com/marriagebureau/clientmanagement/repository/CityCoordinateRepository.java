@@ -0,0 +1,9 @@
+package com.marriagebureau.clientmanagement.repository;
+
+import com.marriagebureau.clientmanagement.model.CityCoordinate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CityCoordinateRepository extends JpaRepository<CityCoordinate, Long> {
+}
@@ -0,0 +1,10 @@
+package com.marriagebureau.clientmanagement.repository;
+
+import com.marriagebureau.clientmanagement.model.DictionaryAlias;
+import com.marriagebureau.clientmanagement.model.DictionaryAliasId;
+import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+@Repository
+public interface DictionaryAliasRepository extends JpaRepository<DictionaryAlias, DictionaryAliasId> {
+}
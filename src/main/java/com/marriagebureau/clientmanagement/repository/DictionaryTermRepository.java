@@ -0,0 +1,9 @@
+package com.marriagebureau.clientmanagement.repository;
+
+import com.marriagebureau.clientmanagement.model.DictionaryTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DictionaryTermRepository extends JpaRepository<DictionaryTerm, Long> {
+}
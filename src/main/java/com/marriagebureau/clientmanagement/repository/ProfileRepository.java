@@ -1,31 +1,172 @@
 package com.marriagebureau.clientmanagement.repository;
 
 import com.marriagebureau.clientmanagement.model.Profile;
-import com.marriagebureau.usermanagement.model.AppUser;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileIndexRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileListRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileSummaryRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileTermRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileTextRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileVersionRow;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long>, JpaSpecificationExecutor<Profile> {
 
     /**
-     * Finds all client profiles associated with a specific broker.
-     * This is crucial for retrieving all clients managed by the authenticated broker.
+     * Streams a broker's client profiles with their broker, for exports. Must be consumed inside a transaction
+     * and closed after use; callers should detach each profile once written.
+     * With MySQL, rows are fetched in batches only if the connection URL sets useCursorFetch=true.
      *
-     * @param broker The broker (AppUser) entity.
-     * @return A list of client profiles.
+     * @param brokerId The ID of the broker (AppUser).
+     * @return The broker's profiles, ordered by ID.
      */
-    List<Profile> findAllByBroker(AppUser broker);
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT p FROM Profile p JOIN FETCH p.broker b LEFT JOIN FETCH b.brokerProfile WHERE b.id = :brokerId ORDER BY p.id")
+    Stream<Profile> streamAllByBrokerId(Long brokerId);
 
     /**
-     * Finds all active profiles, excluding a specific profile by its ID.
-     * This uses Spring Data JPA's derived query feature for a cleaner implementation.
+     * Lists a broker's client profiles as list rows, in one statement that also selects the broker's email.
      *
-     * @param profileId The ID of the profile to exclude from the results.
-     * @return A list of active profiles.
+     * @param brokerId The ID of the broker (AppUser).
+     * @return The broker's profiles, ordered by ID.
      */
-    List<Profile> findAllByIsActiveTrueAndIdNot(Long profileId);
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query(ProfileListRow.SELECT + "WHERE b.id = :brokerId ORDER BY p.id")
+    List<ProfileListRow> findListRowsByBrokerId(Long brokerId);
+
+    /**
+     * Loads the given profiles as list rows, in one statement that also selects each broker's email.
+     *
+     * @param profileIds The profile IDs; IDs of deleted profiles are skipped.
+     * @return The rows, in no particular order.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query(ProfileListRow.SELECT + "WHERE p.id IN :profileIds")
+    List<ProfileListRow> findListRowsByIdIn(Collection<Long> profileIds);
+
+    /**
+     * Lists a broker's client profiles as summary rows, for list views that show only the summary fields.
+     *
+     * @param brokerId The ID of the broker (AppUser).
+     * @return The broker's profiles, ordered by ID.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query(ProfileSummaryRow.SELECT + "WHERE b.id = :brokerId ORDER BY p.id")
+    List<ProfileSummaryRow> findSummaryRowsByBrokerId(Long brokerId);
+
+    /**
+     * Loads the given profiles as summary rows, for list views that show only the summary fields.
+     *
+     * @param profileIds The profile IDs; IDs of deleted profiles are skipped.
+     * @return The rows, in no particular order.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query(ProfileSummaryRow.SELECT + "WHERE p.id IN :profileIds")
+    List<ProfileSummaryRow> findSummaryRowsByIdIn(Collection<Long> profileIds);
+
+    /**
+     * Reads a profile's version columns, and its broker's last update time, without loading the entity, to
+     * answer conditional GETs.
+     *
+     * @param profileId The profile ID.
+     * @return The version row, or empty if the profile does not exist.
+     */
+    @Query("SELECT new com.marriagebureau.clientmanagement.repository.projection.ProfileVersionRow("
+            + "p.id, p.broker.id, p.version, p.dateOfBirth, p.lastUpdatedDate, p.broker.lastUpdatedDate) "
+            + "FROM Profile p WHERE p.id = :profileId")
+    Optional<ProfileVersionRow> findVersionRowById(Long profileId);
+
+    /**
+     * Returns the IDs of a broker's client profiles, without loading the entities.
+     *
+     * @param brokerId The ID of the broker (AppUser).
+     * @return A list of profile IDs.
+     */
+    @Query("SELECT p.id FROM Profile p WHERE p.broker.id = :brokerId ORDER BY p.id")
+    List<Long> findIdsByBrokerId(Long brokerId);
+
+    /**
+     * Of the given profile IDs, returns those that belong to the broker.
+     *
+     * @param brokerId The ID of the broker (AppUser).
+     * @param profileIds The profile IDs to check.
+     * @return The subset of profileIds owned by the broker.
+     */
+    @Query("SELECT p.id FROM Profile p WHERE p.broker.id = :brokerId AND p.id IN :profileIds")
+    List<Long> findIdsByBrokerIdAndIdIn(Long brokerId, Collection<Long> profileIds);
+
+    /**
+     * Of the given profile IDs, returns those that still exist.
+     *
+     * @param profileIds The profile IDs to check.
+     * @return The subset of profileIds with a profile.
+     */
+    @Query("SELECT p.id FROM Profile p WHERE p.id IN :profileIds")
+    List<Long> findIdsByIdIn(Collection<Long> profileIds);
+
+    /**
+     * Returns the IDs of all profiles, without loading the entities.
+     *
+     * @return A list of profile IDs.
+     */
+    @Query("SELECT p.id FROM Profile p")
+    List<Long> findAllIds();
+
+    /**
+     * Streams the match-relevant columns of every profile, used to (re)build the in-memory match index.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return A stream of lightweight index rows.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.marriagebureau.clientmanagement.repository.projection.ProfileIndexRow("
+            + "p.id, p.gender, p.dateOfBirth, p.heightCm, p.religionId, p.casteId, p.maritalStatus, p.isActive, "
+            + "p.motherTongue, p.diet, p.smokingHabit, p.drinkingHabit, p.education, p.annualIncome, p.cityId, p.state, "
+            + "p.preferredPartnerMinAge, p.preferredPartnerMaxAge, p.preferredPartnerMinHeightCm, p.preferredPartnerMaxHeightCm, "
+            + "p.preferredPartnerReligionId, p.preferredPartnerCasteId, p.preferredPartnerLocation, p.preferredPartnerMaxDistanceKm) "
+            + "FROM Profile p")
+    Stream<ProfileIndexRow> streamIndexRows();
+
+    /**
+     * Streams the free-text columns of every profile, used to rebuild the full-text index.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return A stream of text rows.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.marriagebureau.clientmanagement.repository.projection.ProfileTextRow("
+            + "p.id, p.aboutMe, p.occupation, p.education) FROM Profile p")
+    Stream<ProfileTextRow> streamTextRows();
+
+    /**
+     * Streams the autocomplete term IDs of every profile. Must be consumed inside a transaction and closed after use.
+     *
+     * @return A stream of term rows.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.marriagebureau.clientmanagement.repository.projection.ProfileTermRow("
+            + "p.id, p.cityId, p.casteId, p.subCasteId, p.occupationId) FROM Profile p")
+    Stream<ProfileTermRow> streamTermRows();
+}
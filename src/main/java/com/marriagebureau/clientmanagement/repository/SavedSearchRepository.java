@@ -0,0 +1,19 @@
+package com.marriagebureau.clientmanagement.repository;
+
+import com.marriagebureau.clientmanagement.model.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    /**
+     * Finds all saved searches of a broker.
+     *
+     * @param brokerId The ID of the broker (AppUser).
+     * @return The broker's saved searches, oldest first.
+     */
+    List<SavedSearch> findAllByBrokerIdOrderById(Long brokerId);
+}
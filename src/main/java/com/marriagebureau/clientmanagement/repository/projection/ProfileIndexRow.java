@@ -0,0 +1,55 @@
+package com.marriagebureau.clientmanagement.repository.projection;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.Diet;
+import com.marriagebureau.clientmanagement.model.enums.DrinkingHabit;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.LocationPreference;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.clientmanagement.model.enums.SmokingHabit;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of the profile columns needed to build the in-memory match index.
+ * Selected with a constructor expression so no Profile entities are hydrated during a rebuild.
+ */
+public record ProfileIndexRow(
+        Long id,
+        Gender gender,
+        LocalDate dateOfBirth,
+        Integer heightCm,
+        Long religionId,
+        Long casteId,
+        MaritalStatus maritalStatus,
+        boolean isActive,
+        MotherTongue motherTongue,
+        Diet diet,
+        SmokingHabit smokingHabit,
+        DrinkingHabit drinkingHabit,
+        String education,
+        Double annualIncome,
+        Long cityId,
+        String state,
+        Integer preferredPartnerMinAge,
+        Integer preferredPartnerMaxAge,
+        Integer preferredPartnerMinHeightCm,
+        Integer preferredPartnerMaxHeightCm,
+        Long preferredPartnerReligionId,
+        Long preferredPartnerCasteId,
+        LocationPreference preferredPartnerLocation,
+        Integer preferredPartnerMaxDistanceKm) {
+
+    public static ProfileIndexRow of(Profile profile) {
+        return new ProfileIndexRow(
+                profile.getId(), profile.getGender(), profile.getDateOfBirth(), profile.getHeightCm(),
+                profile.getReligionId(), profile.getCasteId(), profile.getMaritalStatus(), profile.isActive(),
+                profile.getMotherTongue(), profile.getDiet(), profile.getSmokingHabit(), profile.getDrinkingHabit(),
+                profile.getEducation(), profile.getAnnualIncome(), profile.getCityId(), profile.getState(),
+                profile.getPreferredPartnerMinAge(), profile.getPreferredPartnerMaxAge(),
+                profile.getPreferredPartnerMinHeightCm(), profile.getPreferredPartnerMaxHeightCm(),
+                profile.getPreferredPartnerReligionId(), profile.getPreferredPartnerCasteId(),
+                profile.getPreferredPartnerLocation(), profile.getPreferredPartnerMaxDistanceKm());
+    }
+}
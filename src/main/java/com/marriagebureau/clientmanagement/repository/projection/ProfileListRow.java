@@ -0,0 +1,92 @@
+package com.marriagebureau.clientmanagement.repository.projection;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.BodyType;
+import com.marriagebureau.clientmanagement.model.enums.Complexion;
+import com.marriagebureau.clientmanagement.model.enums.Diet;
+import com.marriagebureau.clientmanagement.model.enums.DrinkingHabit;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.LocationPreference;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.clientmanagement.model.enums.SmokingHabit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+
+/**
+ * Every column of a full {@link com.marriagebureau.clientmanagement.dto.ProfileResponse}, with the broker's email
+ * joined in the same statement, for list views that return whole profiles. Selected with a constructor
+ * expression, so listing profiles hydrates no entities, takes no dirty-checking snapshots and never lazy-loads
+ * the broker. Views that return only the summary fields read the narrower {@link ProfileSummaryRow}.
+ */
+public record ProfileListRow(
+        Long id,
+        Long brokerId,
+        String brokerEmail,
+        String fullName,
+        LocalDate dateOfBirth,
+        Gender gender,
+        MaritalStatus maritalStatus,
+        Integer heightCm,
+        String religion,
+        String caste,
+        String subCaste,
+        MotherTongue motherTongue,
+        String country,
+        String state,
+        String city,
+        Complexion complexion,
+        BodyType bodyType,
+        String education,
+        String occupation,
+        Double annualIncome,
+        Diet diet,
+        SmokingHabit smokingHabit,
+        DrinkingHabit drinkingHabit,
+        String aboutMe,
+        String photoUrl,
+        boolean isActive,
+        Integer preferredPartnerMinAge,
+        Integer preferredPartnerMaxAge,
+        String preferredPartnerReligion,
+        String preferredPartnerCaste,
+        Integer preferredPartnerMinHeightCm,
+        Integer preferredPartnerMaxHeightCm,
+        LocationPreference preferredPartnerLocation,
+        Integer preferredPartnerMaxDistanceKm,
+        LocalDateTime createdDate,
+        LocalDateTime lastUpdatedDate) {
+
+    /**
+     * Used in the JPQL constructor expressions selecting this record; the broker is joined as {@code b}.
+     */
+    public static final String SELECT = "SELECT new com.marriagebureau.clientmanagement.repository.projection.ProfileListRow("
+            + "p.id, b.id, b.email, p.fullName, p.dateOfBirth, p.gender, p.maritalStatus, p.heightCm, "
+            + "p.religion, p.caste, p.subCaste, p.motherTongue, p.country, p.state, p.city, p.complexion, p.bodyType, "
+            + "p.education, p.occupation, p.annualIncome, p.diet, p.smokingHabit, p.drinkingHabit, p.aboutMe, p.photoUrl, "
+            + "p.isActive, p.preferredPartnerMinAge, p.preferredPartnerMaxAge, p.preferredPartnerReligion, "
+            + "p.preferredPartnerCaste, p.preferredPartnerMinHeightCm, p.preferredPartnerMaxHeightCm, "
+            + "p.preferredPartnerLocation, p.preferredPartnerMaxDistanceKm, p.createdDate, p.lastUpdatedDate) "
+            + "FROM Profile p JOIN p.broker b ";
+
+    /**
+     * The same columns read from a loaded profile; reads the broker, so it must be fetched or loadable.
+     */
+    public static ProfileListRow of(Profile p) {
+        return new ProfileListRow(p.getId(), p.getBroker().getId(), p.getBroker().getEmail(), p.getFullName(),
+                p.getDateOfBirth(), p.getGender(), p.getMaritalStatus(), p.getHeightCm(), p.getReligion(), p.getCaste(),
+                p.getSubCaste(), p.getMotherTongue(), p.getCountry(), p.getState(), p.getCity(), p.getComplexion(),
+                p.getBodyType(), p.getEducation(), p.getOccupation(), p.getAnnualIncome(), p.getDiet(),
+                p.getSmokingHabit(), p.getDrinkingHabit(), p.getAboutMe(), p.getPhotoUrl(), p.isActive(),
+                p.getPreferredPartnerMinAge(), p.getPreferredPartnerMaxAge(), p.getPreferredPartnerReligion(),
+                p.getPreferredPartnerCaste(), p.getPreferredPartnerMinHeightCm(), p.getPreferredPartnerMaxHeightCm(),
+                p.getPreferredPartnerLocation(), p.getPreferredPartnerMaxDistanceKm(), p.getCreatedDate(),
+                p.getLastUpdatedDate());
+    }
+
+    public Integer age() {
+        return dateOfBirth != null ? Period.between(dateOfBirth, LocalDate.now()).getYears() : null;
+    }
+}
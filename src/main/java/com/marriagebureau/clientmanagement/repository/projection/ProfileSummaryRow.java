@@ -0,0 +1,41 @@
+package com.marriagebureau.clientmanagement.repository.projection;
+
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * The columns of a profile card in a list (the summary fieldset), with the broker's email joined in the same
+ * statement. Narrower than {@link ProfileListRow}: it leaves out the about-me text and the partner preferences,
+ * so list and match pages that show cards read a fraction of the row.
+ */
+public record ProfileSummaryRow(
+        Long id,
+        Long brokerId,
+        String brokerEmail,
+        String fullName,
+        LocalDate dateOfBirth,
+        Gender gender,
+        MaritalStatus maritalStatus,
+        Integer heightCm,
+        String religion,
+        String caste,
+        String city,
+        String occupation,
+        String photoUrl,
+        boolean isActive) {
+
+    /**
+     * Used in the JPQL constructor expressions selecting this record; the broker is joined as {@code b}.
+     */
+    public static final String SELECT = "SELECT new com.marriagebureau.clientmanagement.repository.projection.ProfileSummaryRow("
+            + "p.id, b.id, b.email, p.fullName, p.dateOfBirth, p.gender, p.maritalStatus, p.heightCm, "
+            + "p.religion, p.caste, p.city, p.occupation, p.photoUrl, p.isActive) "
+            + "FROM Profile p JOIN p.broker b ";
+
+    public Integer age() {
+        return dateOfBirth != null ? Period.between(dateOfBirth, LocalDate.now()).getYears() : null;
+    }
+}
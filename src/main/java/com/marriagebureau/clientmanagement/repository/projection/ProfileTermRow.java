@@ -0,0 +1,7 @@
+package com.marriagebureau.clientmanagement.repository.projection;
+
+/**
+ * The dictionary term IDs of a profile offered by autocomplete, selected with a constructor expression.
+ */
+public record ProfileTermRow(Long id, Long cityId, Long casteId, Long subCasteId, Long occupationId) {
+}
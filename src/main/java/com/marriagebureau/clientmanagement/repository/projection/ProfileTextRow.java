@@ -0,0 +1,7 @@
+package com.marriagebureau.clientmanagement.repository.projection;
+
+/**
+ * The free-text columns of a profile, selected with a constructor expression to (re)build the full-text index.
+ */
+public record ProfileTextRow(Long id, String aboutMe, String occupation, String education) {
+}
@@ -0,0 +1,36 @@
+package com.marriagebureau.clientmanagement.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+
+/**
+ * The columns that decide whether a client's copy of a profile is current: the version (incremented on every
+ * update), the last update time and the date of birth, since the returned age changes on birthdays. The
+ * representation also carries the broker's email, so the broker's last update time counts as well.
+ * Selected by ID without loading the entity, to answer conditional GETs.
+ */
+public record ProfileVersionRow(Long id, Long brokerId, Long version, LocalDate dateOfBirth, LocalDateTime lastUpdatedDate,
+                                LocalDateTime brokerLastUpdatedDate) {
+
+    /**
+     * @return A strong entity tag for the profile's full representation as of today.
+     */
+    public String etag() {
+        Integer age = dateOfBirth != null ? Period.between(dateOfBirth, LocalDate.now()).getYears() : null;
+        return "\"p" + id + "-" + version + "-" + age + "-b" + toEpochMilli(brokerLastUpdatedDate) + "\"";
+    }
+
+    /**
+     * @return The later of the profile's and the broker's last update times in epoch milliseconds,
+     *         or -1 if neither is known.
+     */
+    public long lastModified() {
+        return Math.max(toEpochMilli(lastUpdatedDate), toEpochMilli(brokerLastUpdatedDate));
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,197 @@
+package com.marriagebureau.clientmanagement.search;
+
+import com.marriagebureau.clientmanagement.dto.AutocompleteSuggestion;
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.model.DictionaryAlias;
+import com.marriagebureau.clientmanagement.model.DictionaryTerm;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import com.marriagebureau.clientmanagement.repository.DictionaryAliasRepository;
+import com.marriagebureau.clientmanagement.repository.DictionaryTermRepository;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileTermRow;
+import com.marriagebureau.clientmanagement.service.DictionaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead over the city, caste, sub-caste and occupation values stored on profiles.
+ * Each category keeps its dictionary spellings (canonical names and aliases such as "Bombay") in a sorted
+ * map, so a prefix is a range lookup; the terms in that range are ranked by how many profiles use them.
+ * Terms no profile uses are not suggested.
+ * <p>
+ * Counts are loaded at startup and adjusted from {@link ProfileChangedEvent}s after each commit; the index
+ * remembers each profile's terms so that an update moves its count from the old term to the new one.
+ */
+@Component
+public class ProfileAutocompleteIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileAutocompleteIndex.class);
+
+    /** The categories offered, in the order of the term IDs kept per profile. */
+    private static final DictionaryCategory[] CATEGORIES = {
+            DictionaryCategory.CITY, DictionaryCategory.CASTE, DictionaryCategory.SUB_CASTE, DictionaryCategory.OCCUPATION};
+
+    private final ProfileRepository profileRepository;
+    private final DictionaryTermRepository termRepository;
+    private final DictionaryAliasRepository aliasRepository;
+    private final DictionaryService dictionaryService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<DictionaryCategory, NavigableMap<String, Long>> termIdsBySpelling = new EnumMap<>(DictionaryCategory.class);
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> countsByTermId = new ConcurrentHashMap<>();
+    private final Map<Long, Long[]> termIdsByProfile = new ConcurrentHashMap<>();
+
+    public ProfileAutocompleteIndex(ProfileRepository profileRepository, DictionaryTermRepository termRepository,
+                                    DictionaryAliasRepository aliasRepository, DictionaryService dictionaryService,
+                                    PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.termRepository = termRepository;
+        this.aliasRepository = aliasRepository;
+        this.dictionaryService = dictionaryService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        for (DictionaryCategory category : CATEGORIES) {
+            termIdsBySpelling.put(category, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /**
+     * Builds the index once all beans exist, before the web server is started.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (DictionaryTerm term : termRepository.findAll()) {
+            if (termIdsBySpelling.containsKey(term.getCategory())) {
+                namesById.put(term.getId(), term.getName());
+                termIdsBySpelling.get(term.getCategory()).put(normalize(term.getName()), term.getId());
+            }
+        }
+        for (DictionaryAlias alias : aliasRepository.findAll()) {
+            if (termIdsBySpelling.containsKey(alias.getCategory())) {
+                termIdsBySpelling.get(alias.getCategory()).put(alias.getAlias(), alias.getTermId());
+            }
+        }
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ProfileTermRow> rows = profileRepository.streamTermRows()) {
+                rows.forEach(row -> put(row.id(),
+                        new Long[]{row.cityId(), row.casteId(), row.subCasteId(), row.occupationId()}));
+            }
+        });
+        logger.info("Autocomplete index built over {} terms used by {} profiles", countsByTermId.size(), termIdsByProfile.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProfileChanged(ProfileChangedEvent event) {
+        if (event.isDeletion()) {
+            put(event.profileId(), null);
+            return;
+        }
+        Profile profile = event.profile();
+        Long[] termIds = {profile.getCityId(), profile.getCasteId(), profile.getSubCasteId(), profile.getOccupationId()};
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            // Terms created since startup are added under their canonical name.
+            if (termIds[i] != null && !namesById.containsKey(termIds[i])) {
+                String name = dictionaryService.nameOf(termIds[i]);
+                if (name != null) {
+                    namesById.put(termIds[i], name);
+                    termIdsBySpelling.get(CATEGORIES[i]).put(normalize(name), termIds[i]);
+                }
+            }
+        }
+        put(profile.getId(), termIds);
+    }
+
+    /**
+     * @return The category behind an autocomplete field name (city, caste, subCaste or occupation), or null.
+     */
+    public static DictionaryCategory categoryOf(String field) {
+        if (field == null) {
+            return null;
+        }
+        return switch (field) {
+            case "city" -> DictionaryCategory.CITY;
+            case "caste" -> DictionaryCategory.CASTE;
+            case "subCaste" -> DictionaryCategory.SUB_CASTE;
+            case "occupation" -> DictionaryCategory.OCCUPATION;
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the most used terms having a spelling that starts with {@code prefix} (case-insensitive).
+     *
+     * @param category One of city, caste, sub-caste or occupation.
+     * @param prefix   The typed text; blank suggests the most used terms overall.
+     * @param limit    The maximum number of suggestions.
+     * @return Suggestions ordered by descending profile count, then by name.
+     */
+    public List<AutocompleteSuggestion> suggest(DictionaryCategory category, String prefix, int limit) {
+        NavigableMap<String, Long> spellings = termIdsBySpelling.get(category);
+        if (spellings == null || limit <= 0) {
+            return List.of();
+        }
+        String from = prefix == null ? "" : normalize(prefix);
+        Comparator<AutocompleteSuggestion> ranking = Comparator.comparingInt(AutocompleteSuggestion::getCount)
+                .thenComparing(AutocompleteSuggestion::getValue, Comparator.reverseOrder());
+        // Min-heap of the best `limit` suggestions seen so far.
+        PriorityQueue<AutocompleteSuggestion> best = new PriorityQueue<>(limit + 1, ranking);
+        Set<Long> seen = new HashSet<>();
+        for (Long termId : spellings.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            int count = countsByTermId.getOrDefault(termId, 0);
+            String name = namesById.get(termId);
+            if (count == 0 || name == null || !seen.add(termId)) {
+                continue;
+            }
+            best.add(AutocompleteSuggestion.builder().value(name).count(count).build());
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<AutocompleteSuggestion> suggestions = new ArrayList<>(best);
+        suggestions.sort(ranking.reversed());
+        return suggestions;
+    }
+
+    private void put(Long profileId, Long[] termIds) {
+        Long[] previous = termIds != null ? termIdsByProfile.put(profileId, termIds) : termIdsByProfile.remove(profileId);
+        if (previous != null) {
+            for (Long termId : previous) {
+                if (termId != null) {
+                    countsByTermId.computeIfPresent(termId, (id, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+        }
+        if (termIds != null) {
+            for (Long termId : termIds) {
+                if (termId != null) {
+                    countsByTermId.merge(termId, 1, Integer::sum);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+}
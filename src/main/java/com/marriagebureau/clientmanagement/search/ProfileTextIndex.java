@@ -0,0 +1,234 @@
+package com.marriagebureau.clientmanagement.search;
+
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileTextRow;
+import com.marriagebureau.clientmanagement.service.ProfileSearchProperties;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over the free-text profile fields (about me, occupation, education).
+ * Queries use the simple query syntax: all words must match, "quoted phrases" match in order,
+ * and words are stemmed, so "doctors" finds "doctor".
+ * <p>
+ * The index lives in {@code app.search.text-index-path} (in memory if blank). It is rebuilt at startup
+ * when its document count differs from the profile table, and kept current from {@link ProfileChangedEvent}s
+ * after each commit. The index holds only profile IDs and text; visibility and structured filters are
+ * applied by the database queries that consume the hits, one block of IDs at a time.
+ */
+@Component
+public class ProfileTextIndex implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileTextIndex.class);
+
+    private static final String ID = "id";
+    private static final String ABOUT_ME = "aboutMe";
+    private static final String OCCUPATION = "occupation";
+    private static final String EDUCATION = "education";
+    /** Occupation and education are short and specific, so a hit there ranks above one in the bio. */
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(ABOUT_ME, 1.0f, OCCUPATION, 2.0f, EDUCATION, 2.0f);
+
+    private final ProfileRepository profileRepository;
+    private final ProfileSearchProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public ProfileTextIndex(ProfileRepository profileRepository, ProfileSearchProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Opens the index once all beans exist, before the web server is started.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            String path = properties.getTextIndexPath();
+            directory = StringUtils.hasText(path) ? FSDirectory.open(Path.of(path)) : new ByteBuffersDirectory();
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(writer, null);
+            long profiles = profileRepository.count();
+            if (writer.getDocStats().numDocs != profiles) {
+                rebuild();
+            } else {
+                logger.info("Profile text index opened with {} documents", profiles);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the profile text index", e);
+        }
+    }
+
+    /**
+     * Replaces the whole index with the current content of the profile table.
+     */
+    public void rebuild() throws IOException {
+        writer.deleteAll();
+        int count = readOnlyTransaction.execute(status -> {
+            int added = 0;
+            try (Stream<ProfileTextRow> rows = profileRepository.streamTextRows()) {
+                for (ProfileTextRow row : (Iterable<ProfileTextRow>) rows::iterator) {
+                    writer.addDocument(document(row.id(), row.aboutMe(), row.occupation(), row.education()));
+                    added++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return added;
+        });
+        commit();
+        logger.info("Profile text index rebuilt with {} documents", count);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        if (!event.isDeletion() && !event.searchAttributesChanged()) {
+            return; // None of the indexed text changed.
+        }
+        Term id = new Term(ID, event.profileId().toString());
+        try {
+            if (event.isDeletion()) {
+                writer.deleteDocuments(id);
+            } else {
+                Profile profile = event.profile();
+                writer.updateDocument(id, document(profile.getId(), profile.getAboutMe(), profile.getOccupation(),
+                        profile.getEducation()));
+            }
+            commit();
+        } catch (IOException e) {
+            // The database change is already committed; the index catches up on the next rebuild.
+            logger.error("Failed to update the text index for profile {}", event.profileId(), e);
+        }
+    }
+
+    /**
+     * Runs a full-text query and returns the IDs of one slice of its hits, most relevant first.
+     *
+     * @param text   The query in simple query syntax.
+     * @param offset The number of better ranked hits to skip.
+     * @param limit  The maximum number of IDs to return.
+     * @return The matching profile IDs; empty if nothing matches, the query has no searchable words or the
+     *         hits end before {@code offset}.
+     */
+    public List<Long> search(String text, int offset, int limit) {
+        return hits(text, offset + limit, offset);
+    }
+
+    /**
+     * Runs a full-text query and returns the IDs of every matching profile, most relevant first.
+     * The list holds at most one ID per profile.
+     */
+    public List<Long> searchAll(String text) {
+        return hits(text, null, 0);
+    }
+
+    /**
+     * @param topN How many of the best hits to collect; null collects them all.
+     */
+    private List<Long> hits(String text, Integer topN, int offset) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(text);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int n = topN != null ? topN : searcher.count(query);
+                if (n <= offset) {
+                    return List.of();
+                }
+                TopDocs top = searcher.search(query, n);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(Math.max(top.scoreDocs.length - offset, 0));
+                for (int i = offset; i < top.scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(top.scoreDocs[i].doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Profile text search failed", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (searcherManager != null) {
+            searcherManager.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+        if (directory != null) {
+            directory.close();
+        }
+    }
+
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    private static Document document(Long id, String aboutMe, String occupation, String education) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        addText(document, ABOUT_ME, aboutMe);
+        addText(document, OCCUPATION, occupation);
+        addText(document, EDUCATION, education);
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (StringUtils.hasText(value)) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+}
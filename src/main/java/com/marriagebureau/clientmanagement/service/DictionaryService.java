@@ -0,0 +1,137 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.marriagebureau.clientmanagement.model.DictionaryAlias;
+import com.marriagebureau.clientmanagement.model.DictionaryAliasId;
+import com.marriagebureau.clientmanagement.model.DictionaryTerm;
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import com.marriagebureau.clientmanagement.repository.DictionaryAliasRepository;
+import com.marriagebureau.clientmanagement.repository.DictionaryTermRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves free-text religion, caste, sub-caste, city and occupation values to dictionary term IDs.
+ * All aliases are held in memory, so resolving a known spelling never touches the database.
+ * <p>
+ * Text is matched on its trimmed, lower-cased form. Unknown text entered on a profile becomes a new term;
+ * unknown text used as a filter resolves to {@link #UNKNOWN_TERM}, which no profile references.
+ */
+@Service
+public class DictionaryService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DictionaryService.class);
+
+    /**
+     * Returned by {@link #find} for text that is not in the dictionary. Term IDs start at 1,
+     * so an equality filter on this value matches nothing.
+     */
+    public static final long UNKNOWN_TERM = 0L;
+
+    private final DictionaryTermRepository termRepository;
+    private final DictionaryAliasRepository aliasRepository;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<DictionaryCategory, Map<String, Long>> termIdsByAlias = new EnumMap<>(DictionaryCategory.class);
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    public DictionaryService(DictionaryTermRepository termRepository, DictionaryAliasRepository aliasRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.termRepository = termRepository;
+        this.aliasRepository = aliasRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (DictionaryCategory category : DictionaryCategory.values()) {
+            termIdsByAlias.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Loads the dictionary once all beans exist, before the web server is started.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    public void reload() {
+        for (DictionaryTerm term : termRepository.findAll()) {
+            namesById.put(term.getId(), term.getName());
+        }
+        for (DictionaryAlias alias : aliasRepository.findAll()) {
+            termIdsByAlias.get(alias.getCategory()).put(alias.getAlias(), alias.getTermId());
+        }
+        logger.info("Dictionary loaded with {} terms", namesById.size());
+    }
+
+    /**
+     * Returns the term ID for a value entered on a profile, adding a new term if the text is unknown.
+     * The new term is committed in its own transaction so it survives a rollback of the caller's.
+     *
+     * @return The term ID, or null if the text is empty.
+     */
+    public Long resolve(DictionaryCategory category, String text) {
+        String alias = normalize(text);
+        if (alias == null) {
+            return null;
+        }
+        Long termId = termIdsByAlias.get(category).get(alias);
+        if (termId != null) {
+            return termId;
+        }
+        try {
+            termId = newTransaction.execute(status -> aliasRepository.findById(new DictionaryAliasId(category, alias))
+                    .map(DictionaryAlias::getTermId)
+                    .orElseGet(() -> addTerm(category, text.trim(), alias)));
+        } catch (DataIntegrityViolationException e) {
+            // Another request added the same spelling concurrently; use its term.
+            termId = newTransaction.execute(status -> aliasRepository.findById(new DictionaryAliasId(category, alias))
+                    .map(DictionaryAlias::getTermId)
+                    .orElseThrow(() -> e));
+        }
+        termIdsByAlias.get(category).put(alias, termId);
+        return termId;
+    }
+
+    /**
+     * Returns the term ID for a filter value without adding anything to the dictionary.
+     *
+     * @return The term ID, null if the text is empty, or {@link #UNKNOWN_TERM} if the text is not in the dictionary.
+     */
+    public Long find(DictionaryCategory category, String text) {
+        String alias = normalize(text);
+        if (alias == null) {
+            return null;
+        }
+        return termIdsByAlias.get(category).getOrDefault(alias, UNKNOWN_TERM);
+    }
+
+    /**
+     * @return The canonical name of a term, or null if the ID is unknown.
+     */
+    public String nameOf(Long termId) {
+        return termId != null ? namesById.get(termId) : null;
+    }
+
+    private Long addTerm(DictionaryCategory category, String name, String alias) {
+        DictionaryTerm term = termRepository.saveAndFlush(DictionaryTerm.builder().category(category).name(name).build());
+        aliasRepository.saveAndFlush(DictionaryAlias.builder().category(category).alias(alias).termId(term.getId()).build());
+        namesById.put(term.getId(), term.getName());
+        return term.getId();
+    }
+
+    private static String normalize(String text) {
+        return StringUtils.hasText(text) ? text.trim().toLowerCase(Locale.ROOT) : null;
+    }
+}
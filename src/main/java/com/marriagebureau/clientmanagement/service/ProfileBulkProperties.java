@@ -0,0 +1,46 @@
+package com.marriagebureau.clientmanagement.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bulk client create/update and import configuration bound from {@code app.profiles.*} in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.profiles")
+public class ProfileBulkProperties {
+
+    /**
+     * Most rows one bulk request may contain.
+     */
+    private int bulkMaxRows = 5000;
+
+    /**
+     * Rows saved per transaction, and the JDBC batch size used for them.
+     */
+    private int bulkChunkSize = 500;
+
+    /**
+     * Imports that run at the same time; further uploads wait their turn.
+     */
+    private int importMaxConcurrentJobs = 2;
+
+    /**
+     * Threads per import that map and validate rows while the file is being read and saved.
+     */
+    private int importValidationThreads = 4;
+
+    /**
+     * Rows buffered between the stages of an import; a full buffer makes the stage before it wait.
+     */
+    private int importQueueCapacity = 1000;
+
+    /**
+     * How long a finished import's progress and error report can still be fetched.
+     */
+    private Duration importRetention = Duration.ofHours(24);
+}
@@ -0,0 +1,274 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.marriagebureau.clientmanagement.dto.BulkProfileResponse;
+import com.marriagebureau.clientmanagement.dto.BulkProfileRowResult;
+import com.marriagebureau.clientmanagement.dto.BulkUpdateProfileRequest;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.security.SecurityService;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+import com.marriagebureau.usermanagement.model.AppUser;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and updates many client profiles per request, e.g. to onboard a broker's existing client book.
+ * <p>
+ * Every row is validated as the single-profile endpoints would validate it; invalid rows are reported and
+ * skipped. Valid rows are saved in chunks of {@code app.profiles.bulk-chunk-size}, each in its own transaction
+ * and sent as JDBC batches, which the pooled profile ID generator (unlike an identity column) allows.
+ * When the database rejects a chunk, its rows are retried one by one, so only the offending rows fail.
+ */
+@Service
+public class ProfileBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileBulkService.class);
+
+    private final ProfileService profileService;
+    private final ProfileRepository profileRepository;
+    private final SecurityService securityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ProfileBulkProperties properties;
+    private final TransactionTemplate transaction;
+
+    public ProfileBulkService(ProfileService profileService, ProfileRepository profileRepository,
+                              SecurityService securityService, ApplicationEventPublisher eventPublisher,
+                              Validator validator, EntityManager entityManager, ProfileBulkProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.profileService = profileService;
+        this.profileRepository = profileRepository;
+        this.securityService = securityService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Creates a profile of the authenticated broker for every valid row.
+     */
+    public BulkProfileResponse createProfiles(List<CreateProfileRequest> requests) {
+        checkRowCount(requests);
+        AppUser broker = profileService.getAuthenticatedBroker();
+        BulkProfileRowResult[] results = new BulkProfileRowResult[requests.size()];
+        Map<Integer, Profile> chunk = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            CreateProfileRequest request = requests.get(index);
+            List<String> errors = violationsOf(request);
+            if (errors.isEmpty()) {
+                try {
+                    chunk.put(index, profileService.newProfile(broker, request));
+                } catch (BadRequestException e) {
+                    errors = List.of(e.getMessage());
+                }
+            }
+            if (!errors.isEmpty()) {
+                results[index] = failed(index, null, errors);
+            }
+            if (chunk.size() == properties.getBulkChunkSize()) {
+                insertChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, results);
+        }
+        return responseOf(results);
+    }
+
+    /**
+     * Applies every valid row's partial update to the authenticated broker's profile with that ID.
+     */
+    public BulkProfileResponse updateProfiles(List<BulkUpdateProfileRequest> requests) {
+        checkRowCount(requests);
+        Long brokerId = securityService.getCurrentUserId();
+        if (brokerId == null) {
+            throw new AccessDeniedException("No authenticated user found.");
+        }
+        BulkProfileRowResult[] results = new BulkProfileRowResult[requests.size()];
+        Set<Long> requestedIds = new HashSet<>();
+        Map<Integer, BulkUpdateProfileRequest> chunk = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            BulkUpdateProfileRequest request = requests.get(index);
+            List<String> errors = violationsOf(request);
+            if (errors.isEmpty() && !requestedIds.add(request.getId())) {
+                errors = List.of("Profile " + request.getId() + " appears more than once in this request.");
+            }
+            if (!errors.isEmpty()) {
+                results[index] = failed(index, request != null ? request.getId() : null, errors);
+                continue;
+            }
+            chunk.put(index, request);
+            if (chunk.size() == properties.getBulkChunkSize()) {
+                updateChunk(chunk, brokerId, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            updateChunk(chunk, brokerId, results);
+        }
+        return responseOf(results);
+    }
+
+    private void insertChunk(Map<Integer, Profile> chunk, BulkProfileRowResult[] results) {
+        List<Integer> indexes = List.copyOf(chunk.keySet());
+        List<String> errors = insertChunk(List.copyOf(chunk.values()));
+        for (int i = 0; i < indexes.size(); i++) {
+            int index = indexes.get(i);
+            results[index] = errors.get(i) == null ? saved(index, chunk.get(index).getId())
+                    : failed(index, null, List.of(errors.get(i)));
+        }
+    }
+
+    /**
+     * Inserts new profiles in one transaction as JDBC batches; if the database rejects them, inserts each
+     * on its own so only the offending profiles fail.
+     *
+     * @return For each profile, in order, null if it was saved (its ID is then set), or why it was not.
+     */
+    List<String> insertChunk(List<Profile> profiles) {
+        List<String> errors = new ArrayList<>(Collections.nCopies(profiles.size(), (String) null));
+        try {
+            transaction.executeWithoutResult(status -> insert(profiles));
+        } catch (DataAccessException e) {
+            logger.warn("Bulk insert of {} profiles was rejected; retrying them one by one", profiles.size(), e);
+            for (int i = 0; i < profiles.size(); i++) {
+                Profile profile = profiles.get(i);
+                profile.setId(null); // Rolled back; persist it again as new.
+                profile.setVersion(null);
+                try {
+                    transaction.executeWithoutResult(status -> insert(List.of(profile)));
+                } catch (DataAccessException rowFailure) {
+                    profile.setId(null);
+                    errors.set(i, databaseError(rowFailure));
+                }
+            }
+        }
+        return errors;
+    }
+
+    private void insert(Collection<Profile> profiles) {
+        useChunkBatchSize();
+        for (Profile profile : profiles) {
+            profileRepository.save(profile);
+            eventPublisher.publishEvent(ProfileChangedEvent.saved(profile));
+        }
+        profileRepository.flush();
+    }
+
+    private void updateChunk(Map<Integer, BulkUpdateProfileRequest> chunk, Long brokerId, BulkProfileRowResult[] results) {
+        try {
+            transaction.executeWithoutResult(status -> update(chunk, brokerId, results));
+        } catch (DataAccessException e) {
+            logger.warn("Bulk update of {} profiles was rejected; retrying them one by one", chunk.size(), e);
+            chunk.forEach((index, request) -> {
+                try {
+                    transaction.executeWithoutResult(status -> update(Map.of(index, request), brokerId, results));
+                } catch (DataAccessException rowFailure) {
+                    results[index] = failed(index, request.getId(), List.of(databaseError(rowFailure)));
+                }
+            });
+        }
+    }
+
+    /**
+     * Loads the rows' profiles in one query and updates them; the changes are flushed as JDBC batches.
+     */
+    private void update(Map<Integer, BulkUpdateProfileRequest> rows, Long brokerId, BulkProfileRowResult[] results) {
+        useChunkBatchSize();
+        Map<Long, Profile> profiles = profileRepository.findAllById(rows.values().stream()
+                        .map(BulkUpdateProfileRequest::getId).toList()).stream()
+                .collect(Collectors.toMap(Profile::getId, Function.identity()));
+        rows.forEach((index, request) -> {
+            Profile profile = profiles.get(request.getId());
+            if (profile == null) {
+                results[index] = failed(index, request.getId(), List.of("Profile not found with ID: " + request.getId()));
+            } else if (!profile.getBroker().getId().equals(brokerId)) {
+                results[index] = failed(index, request.getId(), List.of("You do not have permission to access this profile."));
+            } else {
+                try {
+                    eventPublisher.publishEvent(profileService.applyUpdate(profile, request.getChanges()));
+                    results[index] = saved(index, profile.getId());
+                } catch (BadRequestException e) {
+                    entityManager.detach(profile); // Partly updated; keep it out of the flush.
+                    results[index] = failed(index, request.getId(), List.of(e.getMessage()));
+                }
+            }
+        });
+        profileRepository.flush();
+    }
+
+    private void useChunkBatchSize() {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getBulkChunkSize());
+    }
+
+    /**
+     * @return The request's bean validation errors as "property: message", or a single error for a missing row.
+     */
+    List<String> violationsOf(Object request) {
+        if (request == null) {
+            return List.of("Row is empty.");
+        }
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private void checkRowCount(List<?> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one row is required.");
+        }
+        if (requests.size() > properties.getBulkMaxRows()) {
+            throw new BadRequestException("At most " + properties.getBulkMaxRows() + " rows can be sent at once.");
+        }
+    }
+
+    private static String databaseError(DataAccessException e) {
+        logger.warn("Bulk row was rejected by the database", e);
+        return "The database rejected this row; it may conflict with existing data or a concurrent change.";
+    }
+
+    private static BulkProfileRowResult saved(int index, Long id) {
+        return BulkProfileRowResult.builder().index(index).id(id).saved(true).errors(List.of()).build();
+    }
+
+    private static BulkProfileRowResult failed(int index, Long id, List<String> errors) {
+        return BulkProfileRowResult.builder().index(index).id(id).saved(false).errors(errors).build();
+    }
+
+    private static BulkProfileResponse responseOf(BulkProfileRowResult[] results) {
+        int saved = (int) Arrays.stream(results).filter(BulkProfileRowResult::isSaved).count();
+        return BulkProfileResponse.builder()
+                .saved(saved)
+                .failed(results.length - saved)
+                .rows(Arrays.asList(results))
+                .build();
+    }
+}
@@ -0,0 +1,226 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.ExportFormat;
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.dto.ProfileSearchRequest;
+import com.marriagebureau.clientmanagement.mapper.ProfileMapper;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.security.SecurityService;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams a broker's client book or a full search result as NDJSON or CSV.
+ * Rows are read through a JDBC cursor (fetch size {@value #FETCH_SIZE}, read-only, so Hibernate keeps no
+ * snapshots), written straight to the response and detached, so memory stays flat at any row count.
+ * <p>
+ * Authorization and request validation happen when the export is prepared, on the request thread;
+ * the returned {@link Export} runs later on the thread that writes the response body, in its own
+ * read-only transaction.
+ */
+@Service
+public class ProfileExportService {
+
+    private static final int FETCH_SIZE = 500;
+    private static final byte[] NEWLINE = {'\n'};
+
+    /**
+     * A prepared export, written when the response body is.
+     */
+    @FunctionalInterface
+    public interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /** CSV columns, in ProfileResponse order. */
+    private static final List<Map.Entry<String, Function<ProfileResponse, Object>>> CSV_COLUMNS = List.of(
+            Map.entry("id", ProfileResponse::getId),
+            Map.entry("brokerId", ProfileResponse::getBrokerId),
+            Map.entry("email", ProfileResponse::getEmail),
+            Map.entry("fullName", ProfileResponse::getFullName),
+            Map.entry("age", ProfileResponse::getAge),
+            Map.entry("gender", ProfileResponse::getGender),
+            Map.entry("maritalStatus", ProfileResponse::getMaritalStatus),
+            Map.entry("heightCm", ProfileResponse::getHeightCm),
+            Map.entry("religion", ProfileResponse::getReligion),
+            Map.entry("caste", ProfileResponse::getCaste),
+            Map.entry("subCaste", ProfileResponse::getSubCaste),
+            Map.entry("motherTongue", ProfileResponse::getMotherTongue),
+            Map.entry("country", ProfileResponse::getCountry),
+            Map.entry("state", ProfileResponse::getState),
+            Map.entry("city", ProfileResponse::getCity),
+            Map.entry("complexion", ProfileResponse::getComplexion),
+            Map.entry("bodyType", ProfileResponse::getBodyType),
+            Map.entry("education", ProfileResponse::getEducation),
+            Map.entry("occupation", ProfileResponse::getOccupation),
+            Map.entry("annualIncome", ProfileResponse::getAnnualIncome),
+            Map.entry("diet", ProfileResponse::getDiet),
+            Map.entry("smokingHabit", ProfileResponse::getSmokingHabit),
+            Map.entry("drinkingHabit", ProfileResponse::getDrinkingHabit),
+            Map.entry("aboutMe", ProfileResponse::getAboutMe),
+            Map.entry("photoUrl", ProfileResponse::getPhotoUrl),
+            Map.entry("active", ProfileResponse::isActive),
+            Map.entry("preferredPartnerMinAge", ProfileResponse::getPreferredPartnerMinAge),
+            Map.entry("preferredPartnerMaxAge", ProfileResponse::getPreferredPartnerMaxAge),
+            Map.entry("preferredPartnerReligion", ProfileResponse::getPreferredPartnerReligion),
+            Map.entry("preferredPartnerCaste", ProfileResponse::getPreferredPartnerCaste),
+            Map.entry("preferredPartnerMinHeightCm", ProfileResponse::getPreferredPartnerMinHeightCm),
+            Map.entry("preferredPartnerMaxHeightCm", ProfileResponse::getPreferredPartnerMaxHeightCm),
+            Map.entry("preferredPartnerLocation", ProfileResponse::getPreferredPartnerLocation),
+            Map.entry("preferredPartnerMaxDistanceKm", ProfileResponse::getPreferredPartnerMaxDistanceKm),
+            Map.entry("createdDate", ProfileResponse::getCreatedDate),
+            Map.entry("lastUpdatedDate", ProfileResponse::getLastUpdatedDate));
+
+    private final ProfileRepository profileRepository;
+    private final ProfileSearchService profileSearchService;
+    private final SecurityService securityService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProfileExportService(ProfileRepository profileRepository, ProfileSearchService profileSearchService,
+                                SecurityService securityService, EntityManager entityManager, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.profileSearchService = profileSearchService;
+        this.securityService = securityService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Prepares an export of every client profile of the authenticated broker, ordered by ID.
+     */
+    public Export exportClients(ExportFormat format) {
+        Long brokerId = currentBrokerId();
+        return out -> inReadOnlyTransaction(() -> {
+            try (Stream<Profile> profiles = profileRepository.streamAllByBrokerId(brokerId)) {
+                write(profiles, format, out);
+            }
+        });
+    }
+
+    /**
+     * Prepares an export of every profile matching a search, in the search's sort order, or most relevant first
+     * when it has a text query. Paging fields of the request are ignored.
+     */
+    public Export exportSearch(ProfileSearchRequest request, ExportFormat format) {
+        Long brokerId = currentBrokerId();
+        ProfileSortField sortField = ProfileSortField.fromAttribute(request.getSortBy())
+                .orElseThrow(() -> new BadRequestException("Cannot sort by '" + request.getSortBy() + "'."));
+        boolean descending = ProfileSearchService.parseDirection(request.getSortDirection());
+        Specification<Profile> spec = profileSearchService.specificationOf(request, brokerId);
+        return out -> inReadOnlyTransaction(() -> {
+            List<List<Long>> textMatches = profileSearchService.textMatchBlocks(request);
+            if (textMatches != null) {
+                // One query per block of text hits, read as the stream reaches it.
+                write(textMatches.stream().flatMap(ids -> profileSearchService.findInOrder(spec, ids).stream()), format, out);
+                return;
+            }
+            try (Stream<Profile> profiles = entityManager.createQuery(profileSearchService.orderedQuery(spec, sortField, descending))
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                write(profiles, format, out);
+            }
+        });
+    }
+
+    private void write(Stream<Profile> profiles, ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(CSV_COLUMNS.stream().map(Map.Entry::getKey).map(Object.class::cast).toList(), out);
+        }
+        int written = 0;
+        for (Iterator<Profile> it = profiles.iterator(); it.hasNext(); ) {
+            Profile profile = it.next();
+            ProfileResponse row = ProfileMapper.toProfileResponse(profile);
+            entityManager.detach(profile);
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(CSV_COLUMNS.stream().map(column -> column.getValue().apply(row)).toList(), out);
+            } else {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write(NEWLINE);
+            }
+            if (++written % FETCH_SIZE == 0) {
+                out.flush();
+                entityManager.clear(); // Also drops the brokers fetched with the rows.
+            }
+        }
+        out.flush();
+    }
+
+    private static void writeCsvRow(List<Object> values, OutputStream out) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                line.append(csvField(value.toString(), value instanceof String));
+            }
+        }
+        line.append("\r\n");
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Quotes a field if needed (RFC 4180). Text starting with a formula character gets a leading apostrophe,
+     * so spreadsheet applications show it instead of evaluating it.
+     */
+    private static String csvField(String value, boolean text) {
+        if (text && !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private void inReadOnlyTransaction(IoAction action) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    action.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Long currentBrokerId() {
+        Long brokerId = securityService.getCurrentUserId();
+        if (brokerId == null) {
+            throw new AccessDeniedException("No authenticated user found.");
+        }
+        return brokerId;
+    }
+}
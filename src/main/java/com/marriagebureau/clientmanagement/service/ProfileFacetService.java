@@ -0,0 +1,199 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.marriagebureau.clientmanagement.dto.ProfileSearchFacets;
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Computes search facet counts (religion, caste, city, marital status, age bucket) with one grouped query:
+ * the matching profiles are grouped by all five attributes at once and the groups are summed per attribute
+ * in memory, so a facet panel costs one round trip regardless of how many values it shows. A text search's
+ * facets take one such query per block of text hits, summed the same way.
+ * <p>
+ * The facets of the unfiltered search (all active profiles) are requested on every first page load, so they
+ * are cached until the next committed profile change, or the next day since ages move with the date.
+ */
+@Service
+public class ProfileFacetService {
+
+    /** Lower age bound of each bucket, in ascending order; the last bucket is open-ended. */
+    private static final int[] AGE_BUCKET_STARTS = {0, 25, 30, 35, 40, 50};
+    private static final String[] AGE_BUCKET_LABELS = {"Under 25", "25-29", "30-34", "35-39", "40-49", "50+"};
+
+    private record CachedFacets(LocalDate day, ProfileSearchFacets facets) {
+    }
+
+    private final EntityManager entityManager;
+    private final DictionaryService dictionaryService;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CachedFacets unfiltered;
+
+    public ProfileFacetService(EntityManager entityManager, DictionaryService dictionaryService) {
+        this.entityManager = entityManager;
+        this.dictionaryService = dictionaryService;
+    }
+
+    /**
+     * @return The facet counts over all active profiles, from the cache when it is current.
+     */
+    @Transactional(readOnly = true)
+    public ProfileSearchFacets countActive() {
+        LocalDate today = LocalDate.now();
+        CachedFacets cached = unfiltered;
+        if (cached != null && cached.day().equals(today)) {
+            return cached.facets();
+        }
+        // A change committed while counting bumps the generation, and the stale result is not cached.
+        long startGeneration = generation.get();
+        ProfileSearchFacets facets = count(ProfileSpecifications.isActive(), today);
+        if (generation.get() == startGeneration) {
+            unfiltered = new CachedFacets(today, facets);
+        }
+        return facets;
+    }
+
+    /**
+     * @return The facet counts over the profiles matching {@code spec}.
+     */
+    @Transactional(readOnly = true)
+    public ProfileSearchFacets count(Specification<Profile> spec) {
+        return count(spec, LocalDate.now());
+    }
+
+    /**
+     * @return The facet counts over the profiles among {@code idBlocks} that match {@code spec}, with one grouped
+     *         query per block; the blocks must not share IDs.
+     */
+    @Transactional(readOnly = true)
+    public ProfileSearchFacets count(Specification<Profile> spec, List<List<Long>> idBlocks) {
+        LocalDate today = LocalDate.now();
+        Counts counts = new Counts();
+        for (List<Long> ids : idBlocks) {
+            counts.add(groups(spec.and(ProfileSpecifications.hasIdIn(ids)), today));
+        }
+        return counts.toFacets();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        generation.incrementAndGet();
+        unfiltered = null;
+    }
+
+    private ProfileSearchFacets count(Specification<Profile> spec, LocalDate today) {
+        Counts counts = new Counts();
+        counts.add(groups(spec, today));
+        return counts.toFacets();
+    }
+
+    /**
+     * @return The matching profiles grouped by religion, caste, city, marital status and age bucket, with the
+     *         size of each group last.
+     */
+    private List<Tuple> groups(Specification<Profile> spec, LocalDate today) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Profile> root = query.from(Profile.class);
+        Path<Long> religionId = root.get("religionId");
+        Path<Long> casteId = root.get("casteId");
+        Path<Long> cityId = root.get("cityId");
+        Path<MaritalStatus> maritalStatus = root.get("maritalStatus");
+        Expression<Integer> ageBucket = ageBucket(cb, root.get("dateOfBirth"), today);
+        query.multiselect(religionId, casteId, cityId, maritalStatus, ageBucket, cb.count(root));
+        query.where(spec.toPredicate(root, query, cb));
+        query.groupBy(religionId, casteId, cityId, maritalStatus, ageBucket);
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Facet counts summed over the groups of one or more queries.
+     */
+    private final class Counts {
+
+        private final Map<Long, Long> religions = new HashMap<>();
+        private final Map<Long, Long> castes = new HashMap<>();
+        private final Map<Long, Long> cities = new HashMap<>();
+        private final Map<MaritalStatus, Long> maritalStatuses = new HashMap<>();
+        private final long[] ageBuckets = new long[AGE_BUCKET_STARTS.length];
+
+        void add(List<Tuple> groups) {
+            for (Tuple group : groups) {
+                long count = group.get(5, Long.class);
+                addCount(religions, group.get(0, Long.class), count);
+                addCount(castes, group.get(1, Long.class), count);
+                addCount(cities, group.get(2, Long.class), count);
+                addCount(maritalStatuses, group.get(3, MaritalStatus.class), count);
+                ageBuckets[group.get(4, Integer.class)] += count;
+            }
+        }
+
+        ProfileSearchFacets toFacets() {
+            Map<String, Long> ages = new LinkedHashMap<>();
+            for (int i = 0; i < ageBuckets.length; i++) {
+                if (ageBuckets[i] > 0) {
+                    ages.put(AGE_BUCKET_LABELS[i], ageBuckets[i]);
+                }
+            }
+            return ProfileSearchFacets.builder()
+                    .religion(byCount(religions, dictionaryService::nameOf))
+                    .caste(byCount(castes, dictionaryService::nameOf))
+                    .city(byCount(cities, dictionaryService::nameOf))
+                    .maritalStatus(byCount(maritalStatuses, Enum::name))
+                    .ageBucket(ages)
+                    .build();
+        }
+    }
+
+    /**
+     * Maps a date of birth to the index of its age bucket: age is at least N exactly when the date of birth
+     * is on or before today minus N years.
+     */
+    private static Expression<Integer> ageBucket(CriteriaBuilder cb, Path<LocalDate> dateOfBirth, LocalDate today) {
+        CriteriaBuilder.Case<Integer> bucket = cb.selectCase();
+        for (int i = AGE_BUCKET_STARTS.length - 1; i > 0; i--) {
+            bucket = bucket.when(cb.lessThanOrEqualTo(dateOfBirth, cb.literal(today.minusYears(AGE_BUCKET_STARTS[i]))),
+                    cb.literal(i));
+        }
+        return bucket.otherwise(cb.literal(0));
+    }
+
+    private static <K> void addCount(Map<K, Long> counts, K key, long count) {
+        if (key != null) {
+            counts.merge(key, count, Long::sum);
+        }
+    }
+
+    private static <K> Map<String, Long> byCount(Map<K, Long> counts, Function<K, String> names) {
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<K, Long>comparingByValue().reversed())
+                .forEach(entry -> {
+                    String name = names.apply(entry.getKey());
+                    if (name != null) {
+                        ordered.merge(name, entry.getValue(), Long::sum);
+                    }
+                });
+        return ordered;
+    }
+}
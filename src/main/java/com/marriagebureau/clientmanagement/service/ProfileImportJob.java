@@ -0,0 +1,145 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.marriagebureau.clientmanagement.dto.ProfileImportJobResponse;
+import com.marriagebureau.clientmanagement.dto.ProfileImportStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client import's state: its counters, updated by the pipeline stages as they go, and its error report,
+ * a CSV file on disk with one line per rejected row.
+ */
+class ProfileImportJob {
+
+    private final String id;
+    private final Long brokerId;
+    private final String fileName;
+    private final Path errorReport;
+    private final LocalDateTime createdDate = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsSaved = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private volatile ProfileImportStatus status = ProfileImportStatus.QUEUED;
+    private volatile String failureMessage;
+    private volatile LocalDateTime startedDate;
+    private volatile LocalDateTime finishedDate;
+    private BufferedWriter errorWriter; // Guarded by this; null once the job has finished.
+
+    ProfileImportJob(String id, Long brokerId, String fileName, Path errorReport) throws IOException {
+        this.id = id;
+        this.brokerId = brokerId;
+        this.fileName = fileName;
+        this.errorReport = errorReport;
+        this.errorWriter = Files.newBufferedWriter(errorReport, StandardCharsets.UTF_8);
+        errorWriter.write("row,errors\r\n");
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Long getBrokerId() {
+        return brokerId;
+    }
+
+    String getFileName() {
+        return fileName;
+    }
+
+    LocalDateTime getFinishedDate() {
+        return finishedDate;
+    }
+
+    void started() {
+        startedDate = LocalDateTime.now();
+        status = ProfileImportStatus.RUNNING;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowSaved() {
+        rowsSaved.incrementAndGet();
+    }
+
+    synchronized void rowFailed(long rowNumber, List<String> errors) {
+        rowsFailed.incrementAndGet();
+        if (errorWriter == null) {
+            return;
+        }
+        try {
+            errorWriter.write(rowNumber + ",\"" + String.join("; ", errors).replace("\"", "\"\"") + "\"\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized void completed() {
+        finish(ProfileImportStatus.COMPLETED, null);
+    }
+
+    synchronized void failed(String message) {
+        finish(ProfileImportStatus.FAILED, message);
+    }
+
+    private void finish(ProfileImportStatus finalStatus, String message) {
+        failureMessage = message;
+        finishedDate = LocalDateTime.now();
+        status = finalStatus;
+        closeErrorWriter();
+    }
+
+    /**
+     * @return The error report, with every row rejected so far.
+     */
+    synchronized Path errorReport() throws IOException {
+        if (errorWriter != null) {
+            errorWriter.flush();
+        }
+        return errorReport;
+    }
+
+    synchronized void deleteErrorReport() {
+        closeErrorWriter();
+        try {
+            Files.deleteIfExists(errorReport);
+        } catch (IOException e) {
+            // A temporary file; the operating system cleans it up eventually.
+        }
+    }
+
+    private void closeErrorWriter() {
+        if (errorWriter != null) {
+            try {
+                errorWriter.close();
+            } catch (IOException e) {
+                // The report is incomplete; the counters are still right.
+            }
+            errorWriter = null;
+        }
+    }
+
+    ProfileImportJobResponse toResponse() {
+        return ProfileImportJobResponse.builder()
+                .id(id)
+                .fileName(fileName)
+                .status(status)
+                .rowsRead(rowsRead.get())
+                .rowsSaved(rowsSaved.get())
+                .rowsFailed(rowsFailed.get())
+                .failureMessage(failureMessage)
+                .createdDate(createdDate)
+                .startedDate(startedDate)
+                .finishedDate(finishedDate)
+                .build();
+    }
+}
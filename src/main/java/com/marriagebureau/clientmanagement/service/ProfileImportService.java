@@ -0,0 +1,333 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.dto.ProfileImportJobResponse;
+import com.marriagebureau.clientmanagement.imports.ImportFormat;
+import com.marriagebureau.clientmanagement.imports.ProfileImportColumns;
+import com.marriagebureau.clientmanagement.imports.SpreadsheetReader;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.security.SecurityService;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+import com.marriagebureau.usermanagement.exception.ResourceNotFoundException;
+import com.marriagebureau.usermanagement.model.AppUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports client profiles from uploaded CSV or XLSX spreadsheets in the background.
+ * <p>
+ * An upload is saved to a temporary file and queued as a job, and the request returns at once with the job.
+ * Each job runs as a pipeline: its thread streams rows from the file, {@code app.profiles.import-validation-threads}
+ * workers map and validate them in parallel (as a single create would), and one writer saves the valid
+ * profiles in JDBC-batched chunks of {@code app.profiles.bulk-chunk-size}. The stages are joined by bounded
+ * queues, so when the database falls behind, validation and reading wait instead of buffering the file.
+ * Rejected rows go to a CSV error report on disk. At most {@code app.profiles.import-max-concurrent-jobs}
+ * jobs run at once, and jobs are forgotten {@code app.profiles.import-retention} after they finish.
+ */
+@Service
+public class ProfileImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileImportService.class);
+
+    private final ProfileService profileService;
+    private final ProfileBulkService profileBulkService;
+    private final SecurityService securityService;
+    private final ObjectMapper objectMapper;
+    private final ProfileBulkProperties properties;
+    private final ExecutorService jobRunner;
+    private final Map<String, ProfileImportJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger threads = new AtomicInteger();
+
+    public ProfileImportService(ProfileService profileService, ProfileBulkService profileBulkService,
+                                SecurityService securityService, ObjectMapper objectMapper,
+                                ProfileBulkProperties properties) {
+        this.profileService = profileService;
+        this.profileBulkService = profileBulkService;
+        this.securityService = securityService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.jobRunner = Executors.newFixedThreadPool(properties.getImportMaxConcurrentJobs(), this::newThread);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+    }
+
+    /**
+     * Queues an import of the uploaded file into the authenticated broker's clients.
+     */
+    public ProfileImportJobResponse startImport(MultipartFile file) {
+        AppUser broker = profileService.getAuthenticatedBroker();
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Upload a non-empty .csv or .xlsx file.");
+        }
+        ImportFormat format = ImportFormat.fromFileName(file.getOriginalFilename());
+        ProfileImportJob job;
+        Path upload;
+        try {
+            upload = Files.createTempFile("profile-import-", "." + format.fileExtension());
+            file.transferTo(upload);
+            job = new ProfileImportJob(UUID.randomUUID().toString(), broker.getId(), file.getOriginalFilename(),
+                    Files.createTempFile("profile-import-errors-", ".csv"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the upload", e);
+        }
+        jobs.put(job.getId(), job);
+        jobRunner.execute(() -> run(job, broker, format, upload));
+        return job.toResponse();
+    }
+
+    public ProfileImportJobResponse getJob(String jobId) {
+        return jobOfCurrentBroker(jobId).toResponse();
+    }
+
+    /**
+     * @return The job's error report so far: a CSV file with the row number and errors of every rejected row.
+     */
+    public Path getErrorReport(String jobId) {
+        try {
+            return jobOfCurrentBroker(jobId).errorReport();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getImportRetention());
+        jobs.values().removeIf(job -> {
+            boolean expired = job.getFinishedDate() != null && job.getFinishedDate().isBefore(cutoff);
+            if (expired) {
+                job.deleteErrorReport();
+            }
+            return expired;
+        });
+    }
+
+    private ProfileImportJob jobOfCurrentBroker(String jobId) {
+        ProfileImportJob job = jobs.get(jobId);
+        if (job == null || !job.getBrokerId().equals(securityService.getCurrentUserId())) {
+            throw new ResourceNotFoundException("Import not found with ID: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(ProfileImportJob job, AppUser broker, ImportFormat format, Path upload) {
+        job.started();
+        try (SpreadsheetReader reader = format.open(upload)) {
+            new Pipeline(job, broker).run(reader);
+            job.completed();
+            logger.info("Import {} of {} finished: {}", job.getId(), job.getFileName(), job.toResponse());
+        } catch (IOException e) {
+            job.failed(e.getMessage());
+        } catch (Exception e) {
+            logger.warn("Import {} of {} failed", job.getId(), job.getFileName(), e);
+            job.failed(e instanceof InterruptedException ? "The import was interrupted." : "The import failed unexpectedly.");
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                logger.warn("Could not delete import upload {}", upload, e);
+            }
+        }
+    }
+
+    private Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "profile-import-" + threads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record ParsedRow(long number, Map<String, String> values) {
+    }
+
+    private record ValidRow(long number, Profile profile) {
+    }
+
+    private static final ParsedRow END_OF_ROWS = new ParsedRow(-1, Map.of());
+    private static final ValidRow END_OF_PROFILES = new ValidRow(-1, null);
+
+    /**
+     * The stages of one import. If a stage fails, the others stop at their next queue operation.
+     */
+    private final class Pipeline {
+
+        private final ProfileImportJob job;
+        private final AppUser broker;
+        private final BlockingQueue<ParsedRow> parsed = new ArrayBlockingQueue<>(properties.getImportQueueCapacity());
+        private final BlockingQueue<ValidRow> valid = new ArrayBlockingQueue<>(properties.getImportQueueCapacity());
+        private volatile boolean aborted;
+        private volatile Exception failure; // The exception a stage failed with first
+        private ProfileImportColumns columns;
+
+        Pipeline(ProfileImportJob job, AppUser broker) {
+            this.job = job;
+            this.broker = broker;
+        }
+
+        void run(SpreadsheetReader reader) throws Exception {
+            SpreadsheetReader.Row header = reader.next();
+            if (header == null) {
+                throw new IOException("The file is empty.");
+            }
+            columns = ProfileImportColumns.of(header.cells(), objectMapper);
+
+            int validationThreads = properties.getImportValidationThreads();
+            ExecutorService stages = Executors.newFixedThreadPool(validationThreads + 1, ProfileImportService.this::newThread);
+            try {
+                List<Future<?>> validators = new ArrayList<>();
+                for (int i = 0; i < validationThreads; i++) {
+                    validators.add(stages.submit(() -> stage(this::validate)));
+                }
+                Future<?> writer = stages.submit(() -> stage(this::write));
+                IOException unreadable = null;
+                try {
+                    read(reader);
+                } catch (IOException e) {
+                    unreadable = e; // Still save the rows read before the error.
+                }
+                for (int i = 0; i < validationThreads; i++) {
+                    put(parsed, END_OF_ROWS);
+                }
+                for (Future<?> validator : validators) {
+                    validator.get();
+                }
+                put(valid, END_OF_PROFILES);
+                writer.get();
+                if (unreadable != null) {
+                    throw unreadable;
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                aborted = true;
+                throw failure != null ? failure : e;
+            } finally {
+                aborted = true;
+                stages.shutdownNow();
+            }
+        }
+
+        /**
+         * Runs a stage; if it fails, makes the other stages stop instead of waiting on it.
+         */
+        private Void stage(Callable<Void> body) throws Exception {
+            boolean finished = false;
+            try {
+                body.call();
+                finished = true;
+                return null;
+            } catch (Exception e) {
+                if (!aborted && failure == null) {
+                    failure = e;
+                }
+                throw e;
+            } finally {
+                if (!finished) {
+                    aborted = true;
+                }
+            }
+        }
+
+        private void read(SpreadsheetReader reader) throws IOException, InterruptedException {
+            SpreadsheetReader.Row row;
+            while ((row = reader.next()) != null) {
+                job.rowRead();
+                put(parsed, new ParsedRow(row.number(), columns.valuesOf(row.cells())));
+            }
+        }
+
+        private Void validate() throws InterruptedException {
+            for (ParsedRow row = take(parsed); row != END_OF_ROWS; row = take(parsed)) {
+                List<String> errors;
+                Profile profile = null;
+                try {
+                    CreateProfileRequest request = columns.toRequest(row.values());
+                    errors = profileBulkService.violationsOf(request);
+                    if (errors.isEmpty()) {
+                        profile = profileService.newProfile(broker, request);
+                    }
+                } catch (IllegalArgumentException | BadRequestException e) {
+                    errors = List.of(e.getMessage());
+                }
+                if (profile != null) {
+                    put(valid, new ValidRow(row.number(), profile));
+                } else {
+                    job.rowFailed(row.number(), errors);
+                }
+            }
+            return null;
+        }
+
+        private Void write() throws InterruptedException {
+            List<ValidRow> chunk = new ArrayList<>(properties.getBulkChunkSize());
+            for (ValidRow row = take(valid); row != END_OF_PROFILES; row = take(valid)) {
+                chunk.add(row);
+                if (chunk.size() == properties.getBulkChunkSize()) {
+                    save(chunk);
+                }
+            }
+            save(chunk);
+            return null;
+        }
+
+        private void save(List<ValidRow> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<String> errors = profileBulkService.insertChunk(chunk.stream().map(ValidRow::profile).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (errors.get(i) == null) {
+                    job.rowSaved();
+                } else {
+                    job.rowFailed(chunk.get(i).number(), List.of(errors.get(i)));
+                }
+            }
+            chunk.clear();
+        }
+
+        private <T> void put(BlockingQueue<T> queue, T item) throws InterruptedException {
+            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                checkNotAborted();
+            }
+        }
+
+        private <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+            T item;
+            while ((item = queue.poll(100, TimeUnit.MILLISECONDS)) == null) {
+                checkNotAborted();
+            }
+            return item;
+        }
+
+        private void checkNotAborted() throws InterruptedException {
+            if (aborted) {
+                throw new InterruptedException("Import aborted");
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of profile search pages, keyed by the canonical {@link ProfileSearchFilter} plus sort
+ * and paging. Only the page's profile IDs and next cursor are cached; the rows are re-read on every hit,
+ * so edits that leave the result set unchanged (a new name, photo or income) never make a page stale.
+ * <p>
+ * After each committed profile change that touches a searched attribute, every page of each filter that
+ * either contained the profile (it may have left or moved) or now accepts it (it may have entered) is
+ * dropped; other searches stay cached. Entries also expire after {@code app.search.cache-ttl}.
+ * Hits and misses are published as {@code search.cache.*} metrics.
+ */
+@Component
+class ProfileSearchCache {
+
+    /**
+     * @param page   The page number, or null when the page was requested by cursor.
+     * @param cursor The cursor the page was requested with, or null.
+     */
+    record Key(ProfileSearchFilter filter, String sortBy, boolean descending, int size, Integer page, String cursor) {
+    }
+
+    record Page(List<Long> profileIds, String nextCursor) {
+    }
+
+    private record Entry(Page page, long expiresAtNanos) {
+    }
+
+    private final ProfileSearchProperties properties;
+
+    // Access-ordered, so iteration starts at the least recently used entry.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<ProfileSearchFilter, Set<Key>> keysByFilter = new HashMap<>();
+    private final Map<Long, Set<Key>> keysByProfile = new HashMap<>();
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+    private final Counter invalidations;
+
+    ProfileSearchCache(ProfileSearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = Counter.builder("search.cache.requests").tag("result", "hit")
+                .description("Profile search pages served from the cache").register(meterRegistry);
+        this.misses = Counter.builder("search.cache.requests").tag("result", "miss")
+                .description("Profile search pages that had to be queried").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("search.cache.evictions").tag("cause", "size").register(meterRegistry);
+        this.expirations = Counter.builder("search.cache.evictions").tag("cause", "expired").register(meterRegistry);
+        this.invalidations = Counter.builder("search.cache.evictions").tag("cause", "invalidated").register(meterRegistry);
+        Gauge.builder("search.cache.entries", this, ProfileSearchCache::entryCount)
+                .description("Cached profile search pages").register(meterRegistry);
+        Gauge.builder("search.cache.hit.ratio", this, ProfileSearchCache::hitRatio)
+                .description("Share of profile search pages served from the cache since startup").register(meterRegistry);
+    }
+
+    /**
+     * @return A counter that moves on every invalidation; pass it back to {@link #put} so a page queried
+     *         while a relevant change committed is not cached.
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    synchronized Page get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtNanos() - System.nanoTime() < 0) {
+            remove(key);
+            expirations.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.page();
+    }
+
+    /**
+     * Caches a page, unless the cache was invalidated since {@code generationAtStart} was read.
+     */
+    synchronized void put(Key key, Page page, long generationAtStart) {
+        if (!properties.isCacheEnabled() || generationAtStart != generation) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry(page, System.nanoTime() + properties.getCacheTtl().toNanos()));
+        keysByFilter.computeIfAbsent(key.filter(), filter -> new HashSet<>()).add(key);
+        for (Long profileId : page.profileIds()) {
+            keysByProfile.computeIfAbsent(profileId, id -> new HashSet<>()).add(key);
+        }
+
+        Iterator<Map.Entry<Key, Entry>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (entries.size() > properties.getCacheMaxEntries() && leastRecentlyUsed.hasNext()) {
+            Map.Entry<Key, Entry> eldest = leastRecentlyUsed.next();
+            if (eldest.getKey().equals(key)) {
+                break;
+            }
+            leastRecentlyUsed.remove();
+            unlink(eldest.getKey(), eldest.getValue());
+            sizeEvictions.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProfileChanged(ProfileChangedEvent event) {
+        if (!event.isDeletion() && !event.searchAttributesChanged()) {
+            return;
+        }
+        generation++;
+        Set<ProfileSearchFilter> affected = new HashSet<>();
+        for (Key key : keysByProfile.getOrDefault(event.profileId(), Set.of())) {
+            affected.add(key.filter());
+        }
+        if (!event.isDeletion()) {
+            LocalDate today = LocalDate.now();
+            for (ProfileSearchFilter filter : keysByFilter.keySet()) {
+                if (filter.accepts(event.profile(), today)) {
+                    affected.add(filter);
+                }
+            }
+        }
+        for (ProfileSearchFilter filter : affected) {
+            Set<Key> keys = keysByFilter.get(filter);
+            if (keys == null) {
+                continue;
+            }
+            for (Key key : List.copyOf(keys)) {
+                if (remove(key)) {
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    private boolean remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(key, entry);
+        return true;
+    }
+
+    private void unlink(Key key, Entry entry) {
+        Set<Key> filterKeys = keysByFilter.get(key.filter());
+        if (filterKeys != null && filterKeys.remove(key) && filterKeys.isEmpty()) {
+            keysByFilter.remove(key.filter());
+        }
+        for (Long profileId : entry.page().profileIds()) {
+            Set<Key> profileKeys = keysByProfile.get(profileId);
+            if (profileKeys != null && profileKeys.remove(key) && profileKeys.isEmpty()) {
+                keysByProfile.remove(profileId);
+            }
+        }
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,93 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * The canonical form of the filters of a {@link com.marriagebureau.clientmanagement.dto.ProfileSearchRequest}:
+ * enums parsed, dictionary values resolved to term IDs (so "Hindu", " hindu" and "Hinduism" are equal),
+ * state and country trimmed and lower-cased, and text lower-cased with whitespace collapsed.
+ * Two requests with equal filters return the same profiles, so this is also the search cache key.
+ *
+ * @param brokerId The broker whose clients are searched, or null to search all active profiles.
+ */
+record ProfileSearchFilter(
+        Long brokerId,
+        Gender gender,
+        MaritalStatus maritalStatus,
+        Integer minAge,
+        Integer maxAge,
+        Integer minHeightCm,
+        Integer maxHeightCm,
+        Long religionId,
+        Long casteId,
+        Long cityId,
+        String state,
+        String country,
+        String text) {
+
+    /**
+     * @return True if the search is over all active profiles with no further filter.
+     */
+    boolean isUnfiltered() {
+        return equals(new ProfileSearchFilter(null, null, null, null, null, null, null, null, null, null, null, null, null));
+    }
+
+    /**
+     * Evaluates the filters against a profile in memory, as the search query would on {@code today}.
+     * A text filter cannot be evaluated without the full-text index and is assumed to match.
+     */
+    boolean accepts(Profile profile, LocalDate today) {
+        if (brokerId != null) {
+            if (profile.getBroker() == null || !brokerId.equals(profile.getBroker().getId())) {
+                return false;
+            }
+        } else if (!profile.isActive()) {
+            return false;
+        }
+        LocalDate dateOfBirth = profile.getDateOfBirth();
+        if ((minAge != null || maxAge != null) && dateOfBirth == null) {
+            return false;
+        }
+        if (minAge != null && dateOfBirth.isAfter(today.minusYears(minAge))) {
+            return false;
+        }
+        if (maxAge != null && dateOfBirth.isBefore(today.minusYears(maxAge + 1).plusDays(1))) {
+            return false;
+        }
+        Integer heightCm = profile.getHeightCm();
+        if ((minHeightCm != null && (heightCm == null || heightCm < minHeightCm))
+                || (maxHeightCm != null && (heightCm == null || heightCm > maxHeightCm))) {
+            return false;
+        }
+        return (gender == null || gender == profile.getGender())
+                && (maritalStatus == null || maritalStatus == profile.getMaritalStatus())
+                && (religionId == null || religionId.equals(profile.getReligionId()))
+                && (casteId == null || casteId.equals(profile.getCasteId()))
+                && (cityId == null || cityId.equals(profile.getCityId()))
+                && (state == null || profile.getState() != null && state.equals(fold(profile.getState())))
+                && (country == null || profile.getCountry() != null && country.equals(fold(profile.getCountry())));
+    }
+
+    /**
+     * @return The value trimmed and lower-cased, or null if blank.
+     */
+    static String fold(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return The text lower-cased with runs of whitespace collapsed to one space, or null if blank.
+     */
+    static String foldText(String text) {
+        String folded = fold(text);
+        return folded != null ? folded.replaceAll("\\s+", " ") : null;
+    }
+}
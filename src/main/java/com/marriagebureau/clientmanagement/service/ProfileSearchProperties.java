@@ -0,0 +1,66 @@
+package com.marriagebureau.clientmanagement.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Profile search configuration bound from {@code app.search.*} in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.search")
+public class ProfileSearchProperties {
+
+    /**
+     * Upper bound on the page size a caller may request; larger requests are capped.
+     */
+    private int maxPageSize = 100;
+
+    /**
+     * Deepest row reachable with page numbers; beyond it callers must page with the keyset cursor,
+     * which costs the same at any depth.
+     */
+    private int maxOffset = 1000;
+
+    /**
+     * Directory of the embedded full-text index. Blank keeps the index in memory, rebuilt on every start.
+     */
+    private String textIndexPath = "";
+
+    /**
+     * Full-text hits combined with the structured filters per database query, most relevant first.
+     */
+    private int textBlockSize = 500;
+
+    /**
+     * Full-text hits one search page may examine. A page whose filters reject most hits may stop short of
+     * its size; its cursor then resumes after the last hit examined.
+     */
+    private int textScanMaxHits = 5_000;
+
+    /**
+     * How far before its high-water mark a saved search re-reads changes. Profiles are stamped when a change
+     * is written, not when it commits, so this must cover the longest transaction that changes profiles
+     * (and any clock difference between application instances).
+     */
+    private Duration savedSearchSafetyWindow = Duration.ofMinutes(2);
+
+    /**
+     * Whether search pages are cached (see ProfileSearchCache).
+     */
+    private boolean cacheEnabled = true;
+
+    /**
+     * Upper bound on the number of cached search pages.
+     */
+    private int cacheMaxEntries = 1000;
+
+    /**
+     * How long a cached page may be served; bounds staleness from changes that publish no event,
+     * such as age buckets moving with the date.
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,374 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.dto.ProfileSearchCursor;
+import com.marriagebureau.clientmanagement.dto.ProfileSearchFacets;
+import com.marriagebureau.clientmanagement.dto.ProfileSearchRequest;
+import com.marriagebureau.clientmanagement.dto.ProfileSearchResponse;
+import com.marriagebureau.clientmanagement.mapper.ProfileMapper;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileListRow;
+import com.marriagebureau.clientmanagement.search.ProfileTextIndex;
+import com.marriagebureau.security.SecurityService;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Structured profile search built on {@link ProfileSpecifications}.
+ * Shallow pages may be requested by number; deeper pages use a keyset cursor on (sort column, ID), so a
+ * page costs an index range scan of {@code size + 1} rows at any depth instead of an OFFSET scan.
+ * No total count is computed.
+ * <p>
+ * A {@code text} query is answered by {@link ProfileTextIndex} first, and its results come most relevant first
+ * instead of in the requested sort order. The hits are walked in rank order in blocks of
+ * {@code app.search.text-block-size} IDs, each block filtered by one database query with the structured
+ * filters, until the page is full. A page examines at most {@code app.search.text-scan-max-hits} hits; when
+ * the filters reject most of them the page may come back short, and its cursor (which holds the rank to resume
+ * from) continues the scan, so no hit is out of reach however low it ranks.
+ * <p>
+ * Facet counts, when requested, come from {@link ProfileFacetService}.
+ * <p>
+ * Requests are reduced to a canonical {@link ProfileSearchFilter}; the IDs of each page are cached per
+ * filter, sort and page in {@link ProfileSearchCache}, and a hit costs one primary-key lookup of the rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProfileSearchService {
+
+    private final EntityManager entityManager;
+    private final DictionaryService dictionaryService;
+    private final SecurityService securityService;
+    private final ProfileSearchProperties properties;
+    private final ProfileTextIndex profileTextIndex;
+    private final ProfileFacetService profileFacetService;
+    private final ProfileSearchCache searchCache;
+    private final ProfileRepository profileRepository;
+
+    /** The sortBy of cursors of text searches, which are ordered by relevance. */
+    private static final String RELEVANCE = "relevance";
+
+    /**
+     * The profiles of one page, and the cursor of the next page or null on the last page.
+     */
+    private record FoundPage(List<Profile> rows, String nextCursor) {
+    }
+
+    @Transactional(readOnly = true)
+    public ProfileSearchResponse search(ProfileSearchRequest request) {
+        Long currentBrokerId = securityService.getCurrentUserId();
+        if (currentBrokerId == null) {
+            throw new AccessDeniedException("No authenticated user found.");
+        }
+        ProfileSortField sortField = ProfileSortField.fromAttribute(request.getSortBy())
+                .orElseThrow(() -> new BadRequestException("Cannot sort by '" + request.getSortBy() + "'."));
+        boolean descending = parseDirection(request.getSortDirection());
+        int size = Math.min(Math.max(request.getSize(), 1), properties.getMaxPageSize());
+
+        ProfileSearchFilter filter = filterOf(request, currentBrokerId);
+        boolean byRelevance = filter.text() != null;
+        String order = byRelevance ? RELEVANCE : sortField.attribute();
+        int offset = 0;
+        ProfileSearchCursor cursor = null;
+        if (StringUtils.hasText(request.getCursor())) {
+            cursor = ProfileSearchCursor.decode(request.getCursor());
+            if (!cursor.sortBy().equals(order) || (!byRelevance && parseDirection(cursor.sortDirection()) != descending)) {
+                throw new BadRequestException("The cursor belongs to a different sort order.");
+            }
+        } else {
+            long requestedOffset = (long) Math.max(request.getPage(), 0) * size;
+            if (requestedOffset + size > properties.getMaxOffset()) {
+                throw new BadRequestException("Pages beyond row " + properties.getMaxOffset()
+                        + " must be requested with the cursor returned by the previous page.");
+            }
+            offset = (int) requestedOffset;
+        }
+        Integer page = cursor == null ? Math.max(request.getPage(), 0) : null;
+
+        ProfileSearchCache.Key key = new ProfileSearchCache.Key(filter, order, !byRelevance && descending, size, page,
+                cursor == null ? null : request.getCursor());
+        ProfileSearchCache.Page cachedPage = searchCache.get(key);
+        Specification<Profile> filters = null;
+        List<ProfileResponse> profiles;
+        String nextCursor;
+        if (cachedPage != null) {
+            profiles = loadInOrder(cachedPage.profileIds());
+            nextCursor = cachedPage.nextCursor();
+        } else {
+            long cacheGeneration = searchCache.generation();
+            filters = filtersOf(filter);
+            FoundPage found = byRelevance ? findTextPage(filter.text(), filters, cursor, offset, size)
+                    : findSortedPage(filters, sortField, descending, cursor, offset, size);
+            nextCursor = found.nextCursor();
+            profiles = found.rows().stream().map(ProfileMapper::toProfileResponse).collect(Collectors.toList());
+            searchCache.put(key, new ProfileSearchCache.Page(
+                    profiles.stream().map(ProfileResponse::getId).toList(), nextCursor), cacheGeneration);
+        }
+
+        ProfileSearchFacets facets = null;
+        if (request.isIncludeFacets()) {
+            // Facets cover every profile matching the filters, independent of the page or cursor.
+            if (filters == null) {
+                filters = filtersOf(filter);
+            }
+            if (filter.isUnfiltered()) {
+                facets = profileFacetService.countActive();
+            } else if (byRelevance) {
+                facets = profileFacetService.count(filters, textMatchBlocks(filter.text()));
+            } else {
+                facets = profileFacetService.count(filters);
+            }
+        }
+        return ProfileSearchResponse.builder()
+                .profiles(profiles)
+                .page(page)
+                .size(size)
+                .nextCursor(nextCursor)
+                .facets(facets)
+                .build();
+    }
+
+    /**
+     * Reads the rows of a cached page, keeping its order and skipping profiles deleted since.
+     */
+    private List<ProfileResponse> loadInOrder(List<Long> profileIds) {
+        if (profileIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProfileListRow> rowsById = profileRepository.findListRowsByIdIn(profileIds).stream()
+                .collect(Collectors.toMap(ProfileListRow::id, Function.identity()));
+        return profileIds.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .map(ProfileMapper::toProfileResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The structured filters of a search request as a specification, for callers that page the results
+     *         themselves. The text query is not part of it; see {@link #textMatchBlocks(ProfileSearchRequest)}.
+     */
+    Specification<Profile> specificationOf(ProfileSearchRequest request, Long brokerId) {
+        return filtersOf(filterOf(request, brokerId));
+    }
+
+    /**
+     * @return Every hit of the request's text query, most relevant first, in blocks of
+     *         {@code app.search.text-block-size} IDs; null if the request has no text query.
+     */
+    List<List<Long>> textMatchBlocks(ProfileSearchRequest request) {
+        String text = ProfileSearchFilter.foldText(request.getText());
+        return text != null ? textMatchBlocks(text) : null;
+    }
+
+    private List<List<Long>> textMatchBlocks(String text) {
+        List<Long> hits = profileTextIndex.searchAll(text);
+        int blockSize = properties.getTextBlockSize();
+        List<List<Long>> blocks = new ArrayList<>((hits.size() + blockSize - 1) / blockSize);
+        for (int start = 0; start < hits.size(); start += blockSize) {
+            blocks.add(hits.subList(start, Math.min(start + blockSize, hits.size())));
+        }
+        return blocks;
+    }
+
+    /**
+     * @return The profiles among {@code ids} that match {@code spec}, with their broker, in the order of {@code ids}.
+     */
+    List<Profile> findInOrder(Specification<Profile> spec, List<Long> ids) {
+        Map<Long, Profile> matching = findMatching(spec, ids);
+        return ids.stream().map(matching::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private Map<Long, Profile> findMatching(Specification<Profile> spec, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.createQuery(orderedQuery(spec.and(ProfileSpecifications.hasIdIn(ids)), ProfileSortField.ID, false))
+                .getResultStream()
+                .collect(Collectors.toMap(Profile::getId, Function.identity()));
+    }
+
+    private ProfileSearchFilter filterOf(ProfileSearchRequest request, Long currentBrokerId) {
+        return new ProfileSearchFilter(
+                request.isOwnClientsOnly() ? currentBrokerId : null,
+                parseEnum(Gender.class, request.getGender(), "gender"),
+                parseEnum(MaritalStatus.class, request.getMaritalStatus(), "maritalStatus"),
+                request.getMinAge(),
+                request.getMaxAge(),
+                request.getMinHeightCm(),
+                request.getMaxHeightCm(),
+                dictionaryService.find(DictionaryCategory.RELIGION, request.getReligion()),
+                dictionaryService.find(DictionaryCategory.CASTE, request.getCaste()),
+                dictionaryService.find(DictionaryCategory.CITY, request.getCity()),
+                ProfileSearchFilter.fold(request.getState()),
+                ProfileSearchFilter.fold(request.getCountry()),
+                ProfileSearchFilter.foldText(request.getText()));
+    }
+
+    private Specification<Profile> filtersOf(ProfileSearchFilter filter) {
+        Specification<Profile> scope = filter.brokerId() != null
+                ? ProfileSpecifications.hasBrokerId(filter.brokerId())
+                : ProfileSpecifications.isActive();
+        return Specification.where(scope)
+                .and(ProfileSpecifications.hasGender(filter.gender()))
+                .and(ProfileSpecifications.hasMaritalStatus(filter.maritalStatus()))
+                .and(ProfileSpecifications.isWithinAgeRange(filter.minAge(), filter.maxAge()))
+                .and(ProfileSpecifications.isWithinHeightRange(filter.minHeightCm(), filter.maxHeightCm()))
+                .and(ProfileSpecifications.hasReligionId(filter.religionId()))
+                .and(ProfileSpecifications.hasCasteId(filter.casteId()))
+                .and(ProfileSpecifications.hasCityId(filter.cityId()))
+                .and(ProfileSpecifications.hasState(filter.state()))
+                .and(ProfileSpecifications.hasCountry(filter.country()));
+    }
+
+    /**
+     * Reads one page in (sort column, ID) order, after the cursor or at the offset.
+     */
+    private FoundPage findSortedPage(Specification<Profile> filters, ProfileSortField sortField, boolean descending,
+                                     ProfileSearchCursor cursor, int offset, int size) {
+        Specification<Profile> spec = cursor == null ? filters : filters.and(afterCursor(sortField, cursor, descending));
+        // One extra row tells whether a next page exists.
+        List<Profile> rows = findPage(spec, sortField, descending, offset, size + 1);
+        if (rows.size() <= size) {
+            return new FoundPage(rows, null);
+        }
+        rows = rows.subList(0, size);
+        Profile last = rows.get(rows.size() - 1);
+        return new FoundPage(rows, new ProfileSearchCursor(sortField.attribute(), descending ? "desc" : "asc",
+                last.getId(), sortField.format(last)).encode());
+    }
+
+    /**
+     * Reads one page of a text search: walks the hits in rank order from the cursor's rank, a block at a time,
+     * skipping the first {@code skip} matching profiles, until the page is full, the hits run out or
+     * {@code app.search.text-scan-max-hits} hits have been examined.
+     */
+    private FoundPage findTextPage(String text, Specification<Profile> filters, ProfileSearchCursor cursor,
+                                   int skip, int size) {
+        int rank = cursor == null ? 0 : rankOf(cursor);
+        long scanEnd = (long) rank + properties.getTextScanMaxHits();
+        List<Profile> rows = new ArrayList<>(size);
+        while (rank < scanEnd) {
+            int limit = (int) Math.min(properties.getTextBlockSize(), scanEnd - rank);
+            List<Long> hits = profileTextIndex.search(text, rank, limit);
+            Map<Long, Profile> matching = findMatching(filters, hits);
+            for (int i = 0; i < hits.size(); i++) {
+                Profile profile = matching.get(hits.get(i));
+                if (profile == null) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else if (rows.size() == size) {
+                    return new FoundPage(rows, relevanceCursor(rows, rank + i));
+                } else {
+                    rows.add(profile);
+                }
+            }
+            rank += hits.size();
+            if (hits.size() < limit) {
+                return new FoundPage(rows, null); // No hits left.
+            }
+        }
+        // Scan budget spent: the page may be short, and the next one resumes after the last hit examined.
+        return new FoundPage(rows, relevanceCursor(rows, rank));
+    }
+
+    private static String relevanceCursor(List<Profile> rows, int resumeRank) {
+        long lastId = rows.isEmpty() ? 0 : rows.get(rows.size() - 1).getId();
+        return new ProfileSearchCursor(RELEVANCE, "desc", lastId, Integer.toString(resumeRank)).encode();
+    }
+
+    private static int rankOf(ProfileSearchCursor cursor) {
+        try {
+            int rank = Integer.parseInt(cursor.value());
+            if (rank >= 0) {
+                return rank;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+        throw new BadRequestException("Invalid search cursor.");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<Profile> afterCursor(ProfileSortField sortField, ProfileSearchCursor cursor, boolean descending) {
+        try {
+            Comparable value = sortField.parse(cursor.value());
+            return ProfileSpecifications.isAfter(sortField.attribute(), value, cursor.id(), descending);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid search cursor.");
+        }
+    }
+
+    private List<Profile> findPage(Specification<Profile> spec, ProfileSortField sortField, boolean descending,
+                                   int offset, int limit) {
+        return entityManager.createQuery(orderedQuery(spec, sortField, descending))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * @return A query for the profiles matching {@code spec} with their broker, in (sort column, ID) order.
+     */
+    CriteriaQuery<Profile> orderedQuery(Specification<Profile> spec, ProfileSortField sortField, boolean descending) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Profile> query = cb.createQuery(Profile.class);
+        Root<Profile> root = query.from(Profile.class);
+        // ProfileMapper reads the broker of every row; loading a broker also loads its broker profile.
+        root.fetch("broker").fetch("brokerProfile", JoinType.LEFT);
+        query.where(spec.toPredicate(root, query, cb));
+        if (sortField == ProfileSortField.ID) {
+            query.orderBy(descending ? cb.desc(root.get("id")) : cb.asc(root.get("id")));
+        } else {
+            query.orderBy(
+                    descending ? cb.desc(root.get(sortField.attribute())) : cb.asc(root.get(sortField.attribute())),
+                    descending ? cb.desc(root.get("id")) : cb.asc(root.get("id")));
+        }
+        return query;
+    }
+
+    static boolean parseDirection(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new BadRequestException("sortDirection must be 'asc' or 'desc'.");
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + field + ": '" + value + "'.");
+        }
+    }
+}
@@ -3,20 +3,36 @@ package com.marriagebureau.clientmanagement.service;
 import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
 import com.marriagebureau.clientmanagement.dto.ProfileResponse;
 import com.marriagebureau.clientmanagement.dto.UpdateProfileRequest;
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
 import com.marriagebureau.clientmanagement.mapper.ProfileMapper;
 import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.DictionaryCategory;
+import com.marriagebureau.clientmanagement.model.enums.LocationPreference;
 import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileIndexRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileListRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileSummaryRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileVersionRow;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
 import com.marriagebureau.usermanagement.exception.ResourceNotFoundException;
 import com.marriagebureau.usermanagement.model.AppUser;
 import com.marriagebureau.usermanagement.repository.AppUserRepository;
 import com.marriagebureau.security.SecurityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -24,22 +40,124 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProfileService {
 
+    /** The most profiles one multi-get may request. */
+    public static final int MAX_BATCH_IDS = 100;
+
     private final ProfileRepository profileRepository;
     private final AppUserRepository appUserRepository;
     private final SecurityService securityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DictionaryService dictionaryService;
     
     @Transactional
     public ProfileResponse createProfile(CreateProfileRequest request) {
-        AppUser broker = getAuthenticatedBroker();
-        Profile profile = Profile.builder().broker(broker).fullName(request.getFullName()).dateOfBirth(request.getDateOfBirth()).gender(request.getGender()).maritalStatus(request.getMaritalStatus()).heightCm(request.getHeightCm()).religion(request.getReligion()).caste(request.getCaste()).subCaste(request.getSubCaste()).motherTongue(request.getMotherTongue()).country(request.getCountry()).state(request.getState()).city(request.getCity()).education(request.getEducation()).occupation(request.getOccupation()).annualIncome(request.getAnnualIncome()).photoUrl(request.getPhotoUrl()).isActive(true).build();
-        Profile savedProfile = profileRepository.save(profile);
+        Profile savedProfile = profileRepository.save(newProfile(getAuthenticatedBroker(), request));
+        eventPublisher.publishEvent(ProfileChangedEvent.saved(savedProfile));
         return ProfileMapper.toProfileResponse(savedProfile);
     }
 
+    /**
+     * Builds a new, unsaved profile of the broker from a create request, with its dictionary terms resolved.
+     *
+     * @throws BadRequestException If the request is inconsistent (e.g. a distance preference without a distance).
+     */
+    Profile newProfile(AppUser broker, CreateProfileRequest request) {
+        Profile profile = Profile.builder().broker(broker).fullName(request.getFullName()).dateOfBirth(request.getDateOfBirth()).gender(request.getGender()).maritalStatus(request.getMaritalStatus()).heightCm(request.getHeightCm()).religion(request.getReligion()).caste(request.getCaste()).subCaste(request.getSubCaste()).motherTongue(request.getMotherTongue()).country(request.getCountry()).state(request.getState()).city(request.getCity()).education(request.getEducation()).occupation(request.getOccupation()).annualIncome(request.getAnnualIncome()).photoUrl(request.getPhotoUrl()).isActive(true).preferredPartnerLocation(request.getPreferredPartnerLocation()).preferredPartnerMaxDistanceKm(request.getPreferredPartnerMaxDistanceKm()).build();
+        validateLocationPreference(profile);
+        resolveDictionaryTerms(profile);
+        return profile;
+    }
+
+    /**
+     * Lists the authenticated broker's clients, reading only the summary columns when {@code fields} fits them.
+     */
     @Transactional(readOnly = true)
-    public List<ProfileResponse> getClientsForAuthenticatedBroker() {
+    public List<ProfileResponse> getClientsForAuthenticatedBroker(ProfileFields fields) {
         AppUser broker = getAuthenticatedBroker();
-        return profileRepository.findAllByBroker(broker).stream().map(ProfileMapper::toProfileResponse).collect(Collectors.toList());
+        if (ProfileMapper.fitsSummaryRow(fields)) {
+            return profileRepository.findSummaryRowsByBrokerId(broker.getId()).stream()
+                    .map(row -> ProfileMapper.toProfileResponse(row, fields))
+                    .collect(Collectors.toList());
+        }
+        return profileRepository.findListRowsByBrokerId(broker.getId()).stream()
+                .map(row -> ProfileMapper.toProfileResponse(row, fields))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads several of the authenticated broker's clients in one statement, under the same ownership rule as
+     * {@link #getProfileByIdForBroker}: IDs that do not exist or belong to another broker are left out,
+     * without telling the two apart.
+     *
+     * @param profileIds At most {@value #MAX_BATCH_IDS} IDs; duplicates are returned once.
+     * @return The broker's profiles among the IDs, in the order their IDs were first requested.
+     */
+    @Transactional(readOnly = true)
+    public List<ProfileResponse> getClientsByIds(List<Long> profileIds, ProfileFields fields) {
+        Long currentBrokerId = securityService.getCurrentUserId();
+        if (currentBrokerId == null) {
+            throw new AccessDeniedException("No authenticated user found.");
+        }
+        return findInRequestOrder(requestedIds(profileIds), fields, currentBrokerId);
+    }
+
+    /**
+     * Loads the public view of several profiles in one statement, for list views that only hold profile IDs
+     * (interests, matches): the summary fields of active profiles of any broker, without the broker's email,
+     * the about-me text or the partner preferences. Inactive and unknown IDs are left out, without telling
+     * the two apart.
+     *
+     * @param profileIds At most {@value #MAX_BATCH_IDS} IDs; duplicates are returned once.
+     * @param fields     A subset of the summary fields, or null for all of them.
+     * @return The active profiles among the IDs, in the order their IDs were first requested.
+     */
+    @Transactional(readOnly = true)
+    public List<ProfileResponse> getPublicProfilesByIds(List<Long> profileIds, ProfileFields fields) {
+        if (securityService.getCurrentUserId() == null) {
+            throw new AccessDeniedException("No authenticated user found.");
+        }
+        if (fields != null && !ProfileFields.SUMMARY.names().containsAll(fields.names())) {
+            throw new BadRequestException("Only the summary fields (" + ProfileFields.SUMMARY
+                    + ") of a public profile can be requested.");
+        }
+        return findInRequestOrder(requestedIds(profileIds), fields != null ? fields : ProfileFields.SUMMARY, null);
+    }
+
+    private static Set<Long> requestedIds(List<Long> profileIds) {
+        if (profileIds == null || profileIds.isEmpty() || profileIds.contains(null)) {
+            throw new BadRequestException("ids must be a comma-separated list of profile IDs.");
+        }
+        Set<Long> requested = new LinkedHashSet<>(profileIds);
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " profiles can be requested at once.");
+        }
+        return requested;
+    }
+
+    /**
+     * Reads the requested profiles in one statement, only the summary columns when the fieldset fits them.
+     *
+     * @param ownerId The broker whose profiles are visible, or null to make active profiles visible.
+     */
+    private List<ProfileResponse> findInRequestOrder(Set<Long> requested, ProfileFields fields, Long ownerId) {
+        Map<Long, ProfileResponse> visible = new HashMap<>();
+        if (ProfileMapper.fitsSummaryRow(fields)) {
+            for (ProfileSummaryRow row : profileRepository.findSummaryRowsByIdIn(requested)) {
+                if (ownerId != null ? ownerId.equals(row.brokerId()) : row.isActive()) {
+                    visible.put(row.id(), ProfileMapper.toProfileResponse(row, fields));
+                }
+            }
+        } else {
+            for (ProfileListRow row : profileRepository.findListRowsByIdIn(requested)) {
+                if (ownerId != null ? ownerId.equals(row.brokerId()) : row.isActive()) {
+                    visible.put(row.id(), ProfileMapper.toProfileResponse(row, fields));
+                }
+            }
+        }
+        return requested.stream()
+                .map(visible::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -48,24 +166,90 @@ public class ProfileService {
         return ProfileMapper.toProfileResponse(profile);
     }
     
+    /**
+     * Reads the version of one of the authenticated broker's profiles without loading it, so that an
+     * unchanged profile can be answered with 304 Not Modified.
+     *
+     * @return The version row, or empty if the profile does not exist or belongs to another broker;
+     *         {@link #getProfileByIdForBroker} then reports the error.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProfileVersionRow> findProfileVersionForBroker(Long profileId) {
+        Long currentBrokerId = securityService.getCurrentUserId();
+        return profileRepository.findVersionRowById(profileId)
+                .filter(row -> row.brokerId().equals(currentBrokerId));
+    }
+
     @Transactional
     public ProfileResponse updateProfile(Long profileId, UpdateProfileRequest request) {
         Profile profile = getProfileAndVerifyOwnership(profileId);
+        ProfileChangedEvent event = applyUpdate(profile, request);
+        Profile updatedProfile = profileRepository.save(profile);
+        eventPublisher.publishEvent(event);
+        return ProfileMapper.toProfileResponse(updatedProfile);
+    }
+
+    /**
+     * Applies a partial update to a managed profile; the caller saves it and publishes the returned event.
+     *
+     * @throws BadRequestException If the updated profile is inconsistent. The profile may then be partly
+     *                             changed, and must not be flushed.
+     */
+    ProfileChangedEvent applyUpdate(Profile profile, UpdateProfileRequest request) {
+        ProfileIndexRow matchAttributesBefore = ProfileIndexRow.of(profile);
+        List<Object> searchAttributesBefore = searchAttributesOf(profile);
         
         Optional.ofNullable(request.getFullName()).ifPresent(profile::setFullName);
         // The line trying to update dateOfBirth has been removed to match the DTO
-        Optional.ofNullable(request.getOccupation()).ifPresent(profile::setOccupation);
+        Optional.ofNullable(request.getOccupation()).ifPresent(occupation -> {
+            profile.setOccupation(occupation);
+            profile.setOccupationId(dictionaryService.resolve(DictionaryCategory.OCCUPATION, occupation));
+        });
         Optional.ofNullable(request.getAnnualIncome()).ifPresent(profile::setAnnualIncome);
         Optional.ofNullable(request.getIsActive()).ifPresent(profile::setActive);
+        Optional.ofNullable(request.getPreferredPartnerLocation()).ifPresent(profile::setPreferredPartnerLocation);
+        Optional.ofNullable(request.getPreferredPartnerMaxDistanceKm()).ifPresent(profile::setPreferredPartnerMaxDistanceKm);
+        validateLocationPreference(profile);
 
-        Profile updatedProfile = profileRepository.save(profile);
-        return ProfileMapper.toProfileResponse(updatedProfile);
+        boolean matchAttributesChanged = !matchAttributesBefore.equals(ProfileIndexRow.of(profile));
+        boolean searchAttributesChanged = !searchAttributesBefore.equals(searchAttributesOf(profile));
+        return ProfileChangedEvent.saved(profile, matchAttributesChanged, searchAttributesChanged);
     }
     
     @Transactional
     public void deleteProfile(Long profileId) {
         Profile profile = getProfileAndVerifyOwnership(profileId);
         profileRepository.delete(profile);
+        eventPublisher.publishEvent(ProfileChangedEvent.deleted(profileId));
+    }
+
+    private void validateLocationPreference(Profile profile) {
+        if (profile.getPreferredPartnerLocation() == LocationPreference.WITHIN_DISTANCE
+                && profile.getPreferredPartnerMaxDistanceKm() == null) {
+            throw new BadRequestException("preferredPartnerMaxDistanceKm is required when preferredPartnerLocation is WITHIN_DISTANCE.");
+        }
+    }
+
+    /**
+     * Sets the dictionary term IDs from the profile's text fields, adding terms for unknown spellings.
+     */
+    private void resolveDictionaryTerms(Profile profile) {
+        profile.setReligionId(dictionaryService.resolve(DictionaryCategory.RELIGION, profile.getReligion()));
+        profile.setCasteId(dictionaryService.resolve(DictionaryCategory.CASTE, profile.getCaste()));
+        profile.setSubCasteId(dictionaryService.resolve(DictionaryCategory.SUB_CASTE, profile.getSubCaste()));
+        profile.setCityId(dictionaryService.resolve(DictionaryCategory.CITY, profile.getCity()));
+        profile.setOccupationId(dictionaryService.resolve(DictionaryCategory.OCCUPATION, profile.getOccupation()));
+        profile.setPreferredPartnerReligionId(dictionaryService.resolve(DictionaryCategory.RELIGION, profile.getPreferredPartnerReligion()));
+        profile.setPreferredPartnerCasteId(dictionaryService.resolve(DictionaryCategory.CASTE, profile.getPreferredPartnerCaste()));
+    }
+
+    /**
+     * The attributes profile search filters or sorts on, for detecting whether an update affects search results.
+     */
+    private static List<Object> searchAttributesOf(Profile profile) {
+        return Arrays.asList(profile.isActive(), profile.getGender(), profile.getMaritalStatus(), profile.getDateOfBirth(),
+                profile.getHeightCm(), profile.getReligionId(), profile.getCasteId(), profile.getCityId(), profile.getState(),
+                profile.getCountry(), profile.getAboutMe(), profile.getOccupation(), profile.getEducation());
     }
 
     private Profile getProfileAndVerifyOwnership(Long profileId) {
@@ -78,7 +262,7 @@ public class ProfileService {
         return profile;
     }
     
-    private AppUser getAuthenticatedBroker() {
+    AppUser getAuthenticatedBroker() {
         Long currentBrokerId = securityService.getCurrentUserId();
         if (currentBrokerId == null) {
             throw new AccessDeniedException("No authenticated user found.");
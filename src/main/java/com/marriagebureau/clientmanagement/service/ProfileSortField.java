@@ -0,0 +1,50 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The columns profile search may sort by. Each is backed by an index ending in the profile ID,
+ * so a keyset page is an index range scan. Ties are always broken by ID.
+ */
+enum ProfileSortField {
+    ID("id", Long::valueOf, Profile::getId),
+    CREATED_DATE("createdDate", LocalDateTime::parse, Profile::getCreatedDate),
+    DATE_OF_BIRTH("dateOfBirth", LocalDate::parse, Profile::getDateOfBirth),
+    HEIGHT_CM("heightCm", Integer::valueOf, Profile::getHeightCm);
+
+    private final String attribute;
+    private final Function<String, Comparable<?>> parser;
+    private final Function<Profile, Comparable<?>> extractor;
+
+    ProfileSortField(String attribute, Function<String, Comparable<?>> parser, Function<Profile, Comparable<?>> extractor) {
+        this.attribute = attribute;
+        this.parser = parser;
+        this.extractor = extractor;
+    }
+
+    String attribute() {
+        return attribute;
+    }
+
+    /**
+     * @return The sort field for a request's sortBy value, matched on the entity attribute name.
+     */
+    static Optional<ProfileSortField> fromAttribute(String attribute) {
+        return Arrays.stream(values()).filter(field -> field.attribute.equals(attribute)).findFirst();
+    }
+
+    Comparable<?> parse(String value) {
+        return value != null ? parser.apply(value) : null;
+    }
+
+    String format(Profile profile) {
+        Comparable<?> value = extractor.apply(profile);
+        return value != null ? value.toString() : null;
+    }
+}
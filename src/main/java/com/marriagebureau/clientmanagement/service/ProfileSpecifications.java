@@ -3,9 +3,13 @@ package com.marriagebureau.clientmanagement.service;
 import com.marriagebureau.clientmanagement.model.Profile;
 import com.marriagebureau.clientmanagement.model.enums.Gender;
 import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import jakarta.persistence.criteria.Path;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
 
 public class ProfileSpecifications {
 
@@ -18,6 +22,16 @@ public class ProfileSpecifications {
         return (root, query, cb) -> cb.notEqual(root.get("id"), profileId);
     }
 
+    public static Specification<Profile> hasBrokerId(Long brokerId) {
+        if (brokerId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("broker").get("id"), brokerId);
+    }
+
+    public static Specification<Profile> hasIdIn(Collection<Long> ids) {
+        if (ids == null) return null;
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
     public static Specification<Profile> hasGender(Gender gender) {
         if (gender == null) return null;
         return (root, query, cb) -> cb.equal(root.get("gender"), gender);
@@ -45,18 +59,72 @@ public class ProfileSpecifications {
         return spec;
     }
 
-    public static Specification<Profile> hasReligion(String religion) {
-        if (!StringUtils.hasText(religion)) return null;
-        return (root, query, cb) -> cb.equal(root.get("religion"), religion);
+    // Dictionary term filters; pass the ID from DictionaryService.find, whose UNKNOWN_TERM matches nothing.
+
+    public static Specification<Profile> hasReligionId(Long religionId) {
+        if (religionId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("religionId"), religionId);
     }
-    
-    public static Specification<Profile> hasCaste(String caste) {
-        if (!StringUtils.hasText(caste)) return null;
-        return (root, query, cb) -> cb.equal(root.get("caste"), caste);
+
+    public static Specification<Profile> hasCasteId(Long casteId) {
+        if (casteId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("casteId"), casteId);
+    }
+
+    public static Specification<Profile> hasSubCasteId(Long subCasteId) {
+        if (subCasteId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("subCasteId"), subCasteId);
+    }
+
+    public static Specification<Profile> hasCityId(Long cityId) {
+        if (cityId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("cityId"), cityId);
+    }
+
+    public static Specification<Profile> hasOccupationId(Long occupationId) {
+        if (occupationId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("occupationId"), occupationId);
     }
 
     public static Specification<Profile> hasMaritalStatus(MaritalStatus status) {
         if (status == null) return null;
         return (root, query, cb) -> cb.equal(root.get("maritalStatus"), status);
     }
+
+    public static Specification<Profile> hasCountry(String country) {
+        if (!StringUtils.hasText(country)) return null;
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("country")), country.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Profile> hasState(String state) {
+        if (!StringUtils.hasText(state)) return null;
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("state")), state.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Profile> isUpdatedSince(LocalDateTime since) {
+        if (since == null) return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("lastUpdatedDate"), since);
+    }
+
+    /**
+     * Keyset predicate: the rows that come after (value, id) when ordered by the attribute and then by id,
+     * both ascending or both descending. NULL sorts as the lowest value, as it does in H2 and MySQL.
+     */
+    public static <T extends Comparable<? super T>> Specification<Profile> isAfter(String attribute, T value, Long id, boolean descending) {
+        if ("id".equals(attribute)) {
+            return (root, query, cb) -> descending ? cb.lessThan(root.get("id"), id) : cb.greaterThan(root.get("id"), id);
+        }
+        return (root, query, cb) -> {
+            Path<T> column = root.get(attribute);
+            Path<Long> rowId = root.get("id");
+            if (!descending) {
+                return value == null
+                        ? cb.or(cb.and(cb.isNull(column), cb.greaterThan(rowId, id)), cb.isNotNull(column))
+                        : cb.or(cb.greaterThan(column, value), cb.and(cb.equal(column, value), cb.greaterThan(rowId, id)));
+            }
+            return value == null
+                    ? cb.and(cb.isNull(column), cb.lessThan(rowId, id))
+                    : cb.or(cb.lessThan(column, value), cb.and(cb.equal(column, value), cb.lessThan(rowId, id)), cb.isNull(column));
+        };
+    }
 }
\ No newline at end of file
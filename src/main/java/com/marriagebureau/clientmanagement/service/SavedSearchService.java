@@ -0,0 +1,229 @@
+package com.marriagebureau.clientmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.CreateSavedSearchRequest;
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.dto.ProfileSearchRequest;
+import com.marriagebureau.clientmanagement.dto.SavedSearchResponse;
+import com.marriagebureau.clientmanagement.dto.SavedSearchRunResponse;
+import com.marriagebureau.clientmanagement.mapper.ProfileMapper;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.SavedSearch;
+import com.marriagebureau.clientmanagement.model.SeenProfileVersion;
+import com.marriagebureau.clientmanagement.repository.SavedSearchRepository;
+import com.marriagebureau.security.SecurityService;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+import com.marriagebureau.usermanagement.exception.ResourceNotFoundException;
+import com.marriagebureau.usermanagement.repository.AppUserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Saved profile searches that return only what is new since their previous run.
+ * A run adds "changed since the high-water mark minus app.search.saved-search-safety-window" to the stored
+ * filters and reads in (lastUpdatedDate, id) order, so the database range-scans idx_client_profiles_last_updated
+ * from there instead of evaluating the filters over the whole table. The mark then moves to the latest row
+ * returned.
+ * <p>
+ * lastUpdatedDate is stamped when a change is written, not when it commits, so a change committed after a
+ * later-stamped one can land behind the mark; re-reading the window catches it. Profile versions returned
+ * within the window are remembered and skipped, so re-reading never returns the same version twice.
+ * A profile that is updated after it was returned has a new version and comes back in a later run, since it
+ * may have changed in a way the broker wants to see.
+ */
+@Service
+@RequiredArgsConstructor
+public class SavedSearchService {
+
+    private static final int MAX_CRITERIA_LENGTH = 4000; // saved_searches.criteria
+    private static final Comparator<Profile> CHANGE_ORDER =
+            Comparator.comparing(Profile::getLastUpdatedDate).thenComparing(Profile::getId);
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final AppUserRepository appUserRepository;
+    private final ProfileSearchService profileSearchService;
+    private final ProfileSearchProperties properties;
+    private final SecurityService securityService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Saves a search; its first run returns profiles created or updated from now on, or up to
+     * app.search.saved-search-safety-window before.
+     */
+    @Transactional
+    public SavedSearchResponse create(CreateSavedSearchRequest request) {
+        Long brokerId = currentBrokerId();
+        ProfileSearchRequest search = request.getSearch();
+        search.setCursor(null);
+        search.setPage(0);
+        profileSearchService.specificationOf(search, brokerId); // Rejects invalid filters now rather than on every run.
+        String criteria = toJson(search);
+        if (criteria.length() > MAX_CRITERIA_LENGTH) {
+            throw new BadRequestException("The search is too long to save.");
+        }
+        SavedSearch savedSearch = SavedSearch.builder()
+                .broker(appUserRepository.getReferenceById(brokerId))
+                .name(request.getName().trim())
+                .criteria(criteria)
+                .lastSeenUpdatedDate(LocalDateTime.now())
+                .lastSeenProfileId(0L)
+                .build();
+        return toResponse(savedSearchRepository.save(savedSearch));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearchResponse> findAllForAuthenticatedBroker() {
+        return savedSearchRepository.findAllByBrokerIdOrderById(currentBrokerId()).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the matching profiles created or updated since the previous run, up to app.search.max-page-size,
+     * and advances the high-water mark past them.
+     */
+    @Transactional
+    public SavedSearchRunResponse run(Long savedSearchId) {
+        Long brokerId = currentBrokerId();
+        SavedSearch savedSearch = getAndVerifyOwnership(savedSearchId, brokerId);
+        ProfileSearchRequest search = fromJson(savedSearch.getCriteria());
+        Duration window = properties.getSavedSearchSafetyWindow();
+        Specification<Profile> spec = profileSearchService.specificationOf(search, brokerId)
+                .and(ProfileSpecifications.isUpdatedSince(savedSearch.getLastSeenUpdatedDate().minus(window)));
+        List<List<Long>> textMatches = profileSearchService.textMatchBlocks(search);
+        Map<Long, SeenProfileVersion> seen = savedSearch.getRecentlySeen();
+        int limit = properties.getMaxPageSize();
+
+        // Versions already returned are skipped after reading, so read that many more rows; one extra row
+        // tells whether more changes are waiting.
+        int readLimit = limit + 1 + seen.size();
+        List<Profile> rows = (textMatches == null ? findChangedInOrder(spec, readLimit)
+                : findChangedInOrder(spec, textMatches, readLimit)).stream()
+                .filter(profile -> !isSeen(seen, profile))
+                .collect(Collectors.toList());
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        for (Profile profile : rows) {
+            seen.put(profile.getId(), new SeenProfileVersion(profile.getVersion(), profile.getLastUpdatedDate()));
+            if (profile.getLastUpdatedDate().isAfter(savedSearch.getLastSeenUpdatedDate())) {
+                savedSearch.setLastSeenUpdatedDate(profile.getLastUpdatedDate());
+                savedSearch.setLastSeenProfileId(profile.getId());
+            }
+        }
+        // Versions older than the window are never read again.
+        LocalDateTime windowStart = savedSearch.getLastSeenUpdatedDate().minus(window);
+        seen.values().removeIf(version -> version.getLastUpdatedDate().isBefore(windowStart));
+        savedSearch.setLastRunDate(LocalDateTime.now());
+        List<ProfileResponse> profiles = rows.stream().map(ProfileMapper::toProfileResponse).collect(Collectors.toList());
+        return SavedSearchRunResponse.builder()
+                .savedSearchId(savedSearch.getId())
+                .profiles(profiles)
+                .hasMore(hasMore)
+                .lastSeenUpdatedDate(savedSearch.getLastSeenUpdatedDate())
+                .build();
+    }
+
+    @Transactional
+    public void delete(Long savedSearchId) {
+        savedSearchRepository.delete(getAndVerifyOwnership(savedSearchId, currentBrokerId()));
+    }
+
+    private List<Profile> findChangedInOrder(Specification<Profile> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Profile> query = cb.createQuery(Profile.class);
+        Root<Profile> root = query.from(Profile.class);
+        // ProfileMapper reads the broker of every row; loading a broker also loads its broker profile.
+        root.fetch("broker").fetch("brokerProfile", JoinType.LEFT);
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("lastUpdatedDate")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Like {@link #findChangedInOrder(Specification, int)}, among the hits of a text query: each block of hits
+     * is read in change order and merged with the rows kept so far.
+     */
+    private List<Profile> findChangedInOrder(Specification<Profile> spec, List<List<Long>> textMatches, int limit) {
+        List<Profile> rows = new ArrayList<>();
+        for (List<Long> ids : textMatches) {
+            rows.addAll(findChangedInOrder(spec.and(ProfileSpecifications.hasIdIn(ids)), limit));
+            rows.sort(CHANGE_ORDER);
+            if (rows.size() > limit) {
+                rows.subList(limit, rows.size()).clear();
+            }
+        }
+        return rows;
+    }
+
+    private static boolean isSeen(Map<Long, SeenProfileVersion> seen, Profile profile) {
+        SeenProfileVersion version = seen.get(profile.getId());
+        return version != null && version.getVersion().equals(profile.getVersion());
+    }
+
+    private SavedSearch getAndVerifyOwnership(Long savedSearchId, Long brokerId) {
+        SavedSearch savedSearch = savedSearchRepository.findById(savedSearchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Saved search not found with ID: " + savedSearchId));
+        if (!savedSearch.getBroker().getId().equals(brokerId)) {
+            throw new AccessDeniedException("You do not have permission to access this saved search.");
+        }
+        return savedSearch;
+    }
+
+    private Long currentBrokerId() {
+        Long brokerId = securityService.getCurrentUserId();
+        if (brokerId == null) {
+            throw new AccessDeniedException("No authenticated user found.");
+        }
+        return brokerId;
+    }
+
+    private SavedSearchResponse toResponse(SavedSearch savedSearch) {
+        return SavedSearchResponse.builder()
+                .id(savedSearch.getId())
+                .name(savedSearch.getName())
+                .search(fromJson(savedSearch.getCriteria()))
+                .lastSeenUpdatedDate(savedSearch.getLastSeenUpdatedDate())
+                .lastRunDate(savedSearch.getLastRunDate())
+                .createdDate(savedSearch.getCreatedDate())
+                .build();
+    }
+
+    private String toJson(ProfileSearchRequest search) {
+        try {
+            return objectMapper.writeValueAsString(search);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProfileSearchRequest fromJson(String criteria) {
+        try {
+            return objectMapper.readValue(criteria, ProfileSearchRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.marriagebureau.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Answers requests that lost an optimistic-locking race with 409 Conflict instead of 500.
+ * Client profiles carry a {@code @Version}, so an update or delete that commits after a concurrent change
+ * to the same profile fails; the client should re-read the profile and retry.
+ */
+@RestControllerAdvice
+public class ConcurrentUpdateExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentUpdateExceptionHandler.class);
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public void handleConcurrentUpdate(OptimisticLockingFailureException e, HttpServletResponse response) throws IOException {
+        logger.info("Rejected a concurrent update: {}", e.getMessage());
+        response.sendError(HttpStatus.CONFLICT.value(),
+                "The record was changed by another request; reload it and try again.");
+    }
+}
@@ -0,0 +1,20 @@
+package com.marriagebureau.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
+import com.marriagebureau.clientmanagement.mapper.ProfileFieldsFilter;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Registers the sparse fieldset filter of ProfileResponse with the application's ObjectMapper.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer profileFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider().addFilter(ProfileFields.FILTER_ID, new ProfileFieldsFilter()));
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
 import com.marriagebureau.interest.dto.InterestRequestDTO;
 import com.marriagebureau.interest.dto.InterestResponseDTO;
 import com.marriagebureau.interest.dto.InterestUpdateDTO;
@@ -34,20 +35,25 @@ public class InterestController {
     /**
      * Gets all interests sent by a specific client profile.
      * The service layer will verify that the broker owns this profile.
+     * The optional fields parameter ("summary", or a comma-separated list of profile properties) limits
+     * what is returned for both profiles of each interest.
      */
     @GetMapping("/sent/{profileId}")
-    public ResponseEntity<List<InterestResponseDTO>> getSentInterests(@PathVariable Long profileId) {
-        List<InterestResponseDTO> interests = interestService.getSentInterests(profileId);
+    public ResponseEntity<List<InterestResponseDTO>> getSentInterests(@PathVariable Long profileId,
+                                                                      @RequestParam(required = false) String fields) {
+        List<InterestResponseDTO> interests = interestService.getSentInterests(profileId, ProfileFields.parse(fields));
         return ResponseEntity.ok(interests);
     }
 
     /**
      * Gets all interests received by a specific client profile.
      * The service layer will verify that the broker owns this profile.
+     * Accepts the same optional fields parameter as the sent list.
      */
     @GetMapping("/received/{profileId}")
-    public ResponseEntity<List<InterestResponseDTO>> getReceivedInterests(@PathVariable Long profileId) {
-        List<InterestResponseDTO> interests = interestService.getReceivedInterests(profileId);
+    public ResponseEntity<List<InterestResponseDTO>> getReceivedInterests(@PathVariable Long profileId,
+                                                                          @RequestParam(required = false) String fields) {
+        List<InterestResponseDTO> interests = interestService.getReceivedInterests(profileId, ProfileFields.parse(fields));
         return ResponseEntity.ok(interests);
     }
 
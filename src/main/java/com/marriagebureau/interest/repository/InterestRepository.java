@@ -3,6 +3,7 @@ package com.marriagebureau.interest.repository;
 import com.marriagebureau.clientmanagement.model.Profile;
 import com.marriagebureau.interest.model.Interest;
 import com.marriagebureau.interest.model.InterestStatus; // Import InterestStatus
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -10,8 +11,24 @@ import java.util.List;
 @Repository
 public interface InterestRepository extends JpaRepository<Interest, Long> {
 
+    /**
+     * Finds the interests sent by a profile, fetching both profiles and their brokers in the same statement,
+     * since every interest is mapped with both sides. The brokers' profiles are fetched as well: as the inverse
+     * side of a one-to-one they cannot be proxied, and would otherwise be selected once per row.
+     *
+     * @param senderProfileId The ID of the sending profile.
+     * @return The sent interests.
+     */
+    @EntityGraph(attributePaths = {"senderProfile.broker.brokerProfile", "receiverProfile.broker.brokerProfile"})
     List<Interest> findBySenderProfileId(Long senderProfileId);
 
+    /**
+     * Finds the interests received by a profile, fetching both profiles and their brokers in the same statement.
+     *
+     * @param receiverProfileId The ID of the receiving profile.
+     * @return The received interests.
+     */
+    @EntityGraph(attributePaths = {"senderProfile.broker.brokerProfile", "receiverProfile.broker.brokerProfile"})
     List<Interest> findByReceiverProfileId(Long receiverProfileId);
 
     boolean existsBySenderProfileAndReceiverProfile(Profile senderProfile, Profile receiverProfile);
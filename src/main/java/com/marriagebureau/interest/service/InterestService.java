@@ -1,5 +1,6 @@
 package com.marriagebureau.interest.service;
 
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
 import com.marriagebureau.clientmanagement.mapper.ProfileMapper;
 import com.marriagebureau.clientmanagement.model.Profile;
 import com.marriagebureau.clientmanagement.repository.ProfileRepository;
@@ -56,7 +57,7 @@ public class InterestService {
     }
 
     @Transactional(readOnly = true)
-    public List<InterestResponseDTO> getSentInterests(Long senderProfileId) {
+    public List<InterestResponseDTO> getSentInterests(Long senderProfileId, ProfileFields fields) {
         Long currentBrokerId = securityService.getCurrentUserId();
         Profile senderProfile = profileRepository.findById(senderProfileId)
             .orElseThrow(() -> new ResourceNotFoundException("Profile not found with ID: " + senderProfileId));
@@ -65,12 +66,12 @@ public class InterestService {
         }
 
         return interestRepository.findBySenderProfileId(senderProfileId).stream()
-                .map(this::mapInterestToResponseDTO)
+                .map(interest -> mapInterestToResponseDTO(interest, fields))
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public List<InterestResponseDTO> getReceivedInterests(Long receiverProfileId) {
+    public List<InterestResponseDTO> getReceivedInterests(Long receiverProfileId, ProfileFields fields) {
         Long currentBrokerId = securityService.getCurrentUserId();
         Profile receiverProfile = profileRepository.findById(receiverProfileId)
             .orElseThrow(() -> new ResourceNotFoundException("Profile not found with ID: " + receiverProfileId));
@@ -79,7 +80,7 @@ public class InterestService {
         }
 
         return interestRepository.findByReceiverProfileId(receiverProfileId).stream()
-                .map(this::mapInterestToResponseDTO)
+                .map(interest -> mapInterestToResponseDTO(interest, fields))
                 .collect(Collectors.toList());
     }
 
@@ -111,10 +112,14 @@ public class InterestService {
     }
 
     private InterestResponseDTO mapInterestToResponseDTO(Interest interest) {
+        return mapInterestToResponseDTO(interest, null);
+    }
+
+    private InterestResponseDTO mapInterestToResponseDTO(Interest interest, ProfileFields fields) {
         return InterestResponseDTO.builder()
                 .id(interest.getId())
-                .senderProfile(ProfileMapper.toProfileResponse(interest.getSenderProfile()))
-                .receiverProfile(ProfileMapper.toProfileResponse(interest.getReceiverProfile()))
+                .senderProfile(ProfileMapper.toProfileResponse(interest.getSenderProfile(), fields))
+                .receiverProfile(ProfileMapper.toProfileResponse(interest.getReceiverProfile(), fields))
                 .status(interest.getStatus().name())
                 .sentAt(interest.getSentAt())
                 .build();
@@ -0,0 +1,32 @@
+package com.marriagebureau.matches.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Match result cache configuration bound from {@code app.matching.cache-*} in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.matching")
+public class MatchCacheProperties {
+
+    /**
+     * Whether match result pages are cached (see MatchResultCache).
+     */
+    private boolean cacheEnabled = true;
+
+    /**
+     * Upper bound on the total number of matches held across all cached pages.
+     */
+    private long cacheMaxMatches = 50_000;
+
+    /**
+     * How long a cached page may be served; bounds staleness from changes that publish no event,
+     * such as ages rolling over.
+     */
+    private Duration cacheTtl = Duration.ofMinutes(10);
+}
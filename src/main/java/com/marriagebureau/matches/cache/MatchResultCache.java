@@ -0,0 +1,243 @@
+package com.marriagebureau.matches.cache;
+
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.matches.dto.MatchMode;
+import com.marriagebureau.matches.dto.MatchPageDto;
+import com.marriagebureau.matches.dto.MatchResultDto;
+import com.marriagebureau.matches.index.ProfileMatchIndex;
+import com.marriagebureau.matches.index.ScoredCandidate;
+import com.marriagebureau.matches.service.MatchCandidateSelector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of match result pages, keyed by the requesting profile's ID and version plus the page
+ * parameters. The bound is on the total number of cached matches rather than on entries, since a page
+ * holds up to app.matching.max-limit profiles.
+ * <p>
+ * Entries are invalidated selectively after each committed profile change:
+ * <ul>
+ *   <li>the changed profile's own pages, and every page of each profile whose results it appears in (its
+ *       details or score may have changed, and with them its rank and the offsets of the pages after it);</li>
+ *   <li>if an attribute used for matching changed, the pages of every profile whose criteria it now
+ *       satisfies, since it may enter their results.</li>
+ * </ul>
+ * Edits that touch no other profile's results leave the rest of the cache intact.
+ */
+@Component
+public class MatchResultCache {
+
+    /**
+     * @param page    The page number, or null when the page was requested by cursor.
+     * @param after   The decoded cursor, or null.
+     * @param summary Whether the page holds only the summary fields of its profiles rather than every field.
+     */
+    public record Key(long profileId, long version, MatchMode mode, Integer page, int size, ScoredCandidate after,
+                      boolean summary) {
+    }
+
+    /**
+     * @param stamp Unique per cached page (see {@link #tagOf}).
+     */
+    private record Entry(MatchPageDto page, long[] candidateIds, long expiresAtNanos, long stamp) {
+        int weight() {
+            return candidateIds.length + 1;
+        }
+    }
+
+    private final ProfileMatchIndex profileMatchIndex;
+    private final MatchCacheProperties properties;
+
+    // Access-ordered, so iteration starts at the least recently used entry.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, Set<Key>> keysByRequester = new HashMap<>();
+    private final Map<Long, Set<Key>> keysByCandidate = new HashMap<>();
+    private final Map<Long, Long> versionsByRequester = new HashMap<>();
+    private long weight;
+    private long generation;
+    private long lastStamp;
+    // Distinguishes stamps of this instance from those handed out before a restart.
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+    private final Counter invalidations;
+
+    public MatchResultCache(ProfileMatchIndex profileMatchIndex, MatchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.profileMatchIndex = profileMatchIndex;
+        this.properties = properties;
+        this.hits = Counter.builder("match.cache.requests").tag("result", "hit")
+                .description("Match result lookups served from the cache").register(meterRegistry);
+        this.misses = Counter.builder("match.cache.requests").tag("result", "miss")
+                .description("Match result lookups that had to be computed").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("match.cache.evictions").tag("cause", "size").register(meterRegistry);
+        this.expirations = Counter.builder("match.cache.evictions").tag("cause", "expired").register(meterRegistry);
+        this.invalidations = Counter.builder("match.cache.evictions").tag("cause", "invalidated").register(meterRegistry);
+        Gauge.builder("match.cache.entries", this, MatchResultCache::entryCount)
+                .description("Cached match result pages").register(meterRegistry);
+        Gauge.builder("match.cache.weight", this, MatchResultCache::cachedMatchCount)
+                .description("Matches held across all cached pages").register(meterRegistry);
+    }
+
+    /**
+     * @return The version of the requesting profile that the cached pages were computed for, or null if
+     *         nothing is cached for it. Lets callers build a {@link Key} without loading the profile.
+     */
+    public synchronized Long versionOf(Long profileId) {
+        return versionsByRequester.get(profileId);
+    }
+
+    /**
+     * @return A counter that moves on every invalidation; pass it back to {@link #put} so a page computed
+     *         while a relevant change committed is not cached.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized MatchPageDto get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtNanos() - System.nanoTime() < 0) {
+            remove(key);
+            expirations.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.page();
+    }
+
+    /**
+     * Identifies the cached page for a key, e.g. to use as an HTTP entity tag. Any invalidation drops the
+     * entry, and a recomputed page gets a new tag, so a tag stays valid exactly as long as the page does.
+     * Does not count as a cache lookup.
+     *
+     * @return A tag unique to the cached page, or null if the key has no current entry.
+     */
+    public synchronized String tagOf(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAtNanos() - System.nanoTime() < 0) {
+            return null;
+        }
+        return instanceTag + "." + entry.stamp();
+    }
+
+    /**
+     * Caches a page, unless the cache was invalidated since {@code generationAtStart} was read.
+     */
+    public synchronized void put(Key key, MatchPageDto page, long generationAtStart) {
+        if (!properties.isCacheEnabled() || generationAtStart != generation) {
+            return;
+        }
+        remove(key);
+        long[] candidateIds = page.getMatches().stream()
+                .map(MatchResultDto::getMatchedProfile)
+                .mapToLong(ProfileResponse::getId)
+                .toArray();
+        Entry entry = new Entry(page, candidateIds, System.nanoTime() + properties.getCacheTtl().toNanos(), ++lastStamp);
+        entries.put(key, entry);
+        weight += entry.weight();
+        keysByRequester.computeIfAbsent(key.profileId(), id -> new HashSet<>()).add(key);
+        versionsByRequester.put(key.profileId(), key.version());
+        for (long candidateId : candidateIds) {
+            keysByCandidate.computeIfAbsent(candidateId, id -> new HashSet<>()).add(key);
+        }
+
+        Iterator<Map.Entry<Key, Entry>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (weight > properties.getCacheMaxMatches() && leastRecentlyUsed.hasNext()) {
+            Map.Entry<Key, Entry> eldest = leastRecentlyUsed.next();
+            if (eldest.getKey().equals(key)) {
+                break;
+            }
+            leastRecentlyUsed.remove();
+            unlink(eldest.getKey(), eldest.getValue());
+            sizeEvictions.increment();
+        }
+    }
+
+    /**
+     * Runs after the match index has applied the change, so the index already reflects the new state.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        long[] acceptingProfiles = (!event.isDeletion() && event.matchAttributesChanged())
+                ? profileMatchIndex.findProfilesAccepting(event.profileId(), MatchCandidateSelector.CANDIDATE_MARITAL_STATUS)
+                : new long[0];
+        synchronized (this) {
+            generation++;
+            invalidateAll(keysByRequester.get(event.profileId()));
+            // The candidate's rank or presence may change, which shifts the following pages too.
+            Set<Key> showingCandidate = keysByCandidate.get(event.profileId());
+            if (showingCandidate != null) {
+                for (long requesterId : showingCandidate.stream().mapToLong(Key::profileId).distinct().toArray()) {
+                    invalidateAll(keysByRequester.get(requesterId));
+                }
+            }
+            for (long profileId : acceptingProfiles) {
+                invalidateAll(keysByRequester.get(profileId));
+            }
+        }
+    }
+
+    private void invalidateAll(Set<Key> keys) {
+        if (keys == null) {
+            return;
+        }
+        for (Key key : Set.copyOf(keys)) {
+            if (remove(key)) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    private boolean remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(key, entry);
+        return true;
+    }
+
+    private void unlink(Key key, Entry entry) {
+        weight -= entry.weight();
+        Set<Key> requesterKeys = keysByRequester.get(key.profileId());
+        if (requesterKeys != null && requesterKeys.remove(key) && requesterKeys.isEmpty()) {
+            keysByRequester.remove(key.profileId());
+            versionsByRequester.remove(key.profileId());
+        }
+        for (long candidateId : entry.candidateIds()) {
+            Set<Key> candidateKeys = keysByCandidate.get(candidateId);
+            if (candidateKeys != null && candidateKeys.remove(key) && candidateKeys.isEmpty()) {
+                keysByCandidate.remove(candidateId);
+            }
+        }
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private synchronized long cachedMatchCount() {
+        return weight;
+    }
+}
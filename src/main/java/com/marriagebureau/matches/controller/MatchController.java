@@ -1,15 +1,25 @@
 // src/main/java/com/marriagebureau/matches/controller/MatchController.java
 package com.marriagebureau.matches.controller;
 
-import com.marriagebureau.matches.dto.MatchResultDto;
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
+import com.marriagebureau.matches.dto.MatchBatchRequest;
+import com.marriagebureau.matches.dto.MatchMode;
+import com.marriagebureau.matches.dto.MatchPageDto;
+import com.marriagebureau.matches.service.MatchBatchService;
 import com.marriagebureau.matches.service.MatchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,18 +28,66 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MatchController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final MatchService matchService;
+    private final MatchBatchService matchBatchService;
 
     /**
      * Finds potential matches for a given profile ID based on its preferred partner criteria.
      * Accessible by ADMIN, BROKER (to find matches for their clients), and MEMBER (to find matches for themselves).
+     * Results are paged, ordered by compatibility score and then profile ID.
+     * Pages held in the match cache carry an ETag; polling with If-None-Match is answered with
+     * 304 Not Modified until a relevant profile change invalidates the page.
      * @param profileId The ID of the profile for which to find matches.
-     * @return A list of MatchResultDto containing compatible profiles.
+     * @param mode Optional matching mode: "one-way" (default) or "mutual", which only returns candidates
+     *             whose own preferred partner criteria also accept this profile.
+     * @param page Optional zero-based page number (defaults to 0).
+     * @param size Optional page size (defaults to app.matching.default-limit).
+     * @param cursor Optional nextCursor from the previous page; takes precedence over page and works at any depth.
+     * @param fields Optional sparse fieldset of the matched profiles: "summary", or a comma-separated list of properties.
+     * @return A MatchPageDto with one page of compatible profiles, best match first, and the total match count.
      */
     @GetMapping("/{profileId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'BROKER', 'MEMBER')")
-    public ResponseEntity<List<MatchResultDto>> getMatchesForProfile(@PathVariable Long profileId) {
-        List<MatchResultDto> matches = matchService.findMatchesForProfile(profileId);
-        return ResponseEntity.ok(matches);
+    public ResponseEntity<MatchPageDto> getMatchesForProfile(@PathVariable Long profileId,
+                                                             @RequestParam(required = false) String mode,
+                                                             @RequestParam(required = false) Integer page,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) String fields,
+                                                             WebRequest webRequest) {
+        MatchMode matchMode = MatchMode.fromParameter(mode);
+        ProfileFields profileFields = ProfileFields.parse(fields);
+        // A page still in the match cache is unchanged since it was cached; answer 304 without reading it.
+        String etag = matchService.cachedPageETag(profileId, matchMode, page, size, cursor, profileFields);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        MatchPageDto matches = matchService.findMatchesForProfile(profileId, matchMode, page, size, cursor, profileFields);
+        // The page is normally cached now; its tag lets the next poll be answered with 304.
+        String newEtag = matchService.cachedPageETag(profileId, matchMode, page, size, cursor, profileFields);
+        return newEtag != null ? ResponseEntity.ok().eTag(newEtag).body(matches) : ResponseEntity.ok(matches);
+    }
+
+    /**
+     * Finds matches for many of the authenticated broker's clients in one request.
+     * The response is streamed as NDJSON: one MatchBatchResultDto line per client, written as soon as it is ready.
+     * @param request Optional body with the client profile IDs (defaults to all of the broker's clients),
+     *                the matching mode, the number of matches per client and the fieldset of the matched profiles.
+     * @return A streaming NDJSON body.
+     */
+    @PostMapping(value = "/batch", produces = NDJSON_VALUE)
+    @PreAuthorize("hasRole('BROKER')")
+    public ResponseEntity<StreamingResponseBody> getMatchesForClients(@RequestBody(required = false) MatchBatchRequest request) {
+        MatchBatchRequest batch = request != null ? request : new MatchBatchRequest();
+        MatchMode mode = MatchMode.fromParameter(batch.getMode());
+        ProfileFields fields = ProfileFields.parse(batch.getFields());
+        // Resolve and authorize on the request thread; the body below is written asynchronously.
+        List<Long> profileIds = matchBatchService.resolveRequesterIds(batch.getProfileIds());
+        StreamingResponseBody body = out -> matchBatchService.streamMatches(profileIds, mode, batch.getSize(), fields, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
     }
-}
\ No newline at end of file
+}
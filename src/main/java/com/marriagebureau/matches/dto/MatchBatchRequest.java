@@ -0,0 +1,13 @@
+package com.marriagebureau.matches.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MatchBatchRequest {
+    private List<Long> profileIds; // Client profiles to match; null or empty means all of the broker's clients
+    private String mode; // "one-way" (default) or "mutual"
+    private Integer size; // Matches per client; defaults to app.matching.default-limit
+    private String fields; // Sparse fieldset of the matched profiles, as for a single match page; null returns them all
+}
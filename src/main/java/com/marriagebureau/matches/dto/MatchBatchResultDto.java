@@ -0,0 +1,18 @@
+package com.marriagebureau.matches.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The matches of one client in a batch response; written as one line of NDJSON.
+ */
+@Data
+@Builder
+public class MatchBatchResultDto {
+    private Long profileId;
+    private List<MatchResultDto> matches; // Best match first
+    private long totalMatches; // Number of profiles passing the hard filters
+    private String nextCursor; // Pass as 'cursor' to GET /api/matches/{profileId} for further matches; null if none
+}
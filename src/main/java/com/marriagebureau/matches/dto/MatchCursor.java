@@ -0,0 +1,41 @@
+package com.marriagebureau.matches.dto;
+
+import com.marriagebureau.matches.index.ScoredCandidate;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for match pages: the (score, profile ID) of the last match on the previous page.
+ * Clients pass it back unchanged as the {@code cursor} request parameter.
+ */
+public final class MatchCursor {
+
+    private MatchCursor() {
+    }
+
+    public static String encode(ScoredCandidate last) {
+        String raw = Double.toString(last.score()) + ':' + last.profileId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode}.
+     * @throws BadRequestException if the cursor is malformed.
+     */
+    public static ScoredCandidate decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            double score = Double.parseDouble(raw.substring(0, separator));
+            long profileId = Long.parseLong(raw.substring(separator + 1));
+            if (Double.isNaN(score)) {
+                throw new NumberFormatException("NaN score");
+            }
+            return new ScoredCandidate(profileId, score);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid match cursor.");
+        }
+    }
+}
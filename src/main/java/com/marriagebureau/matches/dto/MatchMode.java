@@ -0,0 +1,28 @@
+package com.marriagebureau.matches.dto;
+
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * How matches are found for a profile.
+ * ONE_WAY only applies the requester's preferences; MUTUAL also requires the candidate's
+ * preferences to accept the requester.
+ */
+public enum MatchMode {
+    ONE_WAY, MUTUAL;
+
+    /**
+     * Parses the {@code mode} request parameter, e.g. "mutual" or "one-way".
+     */
+    public static MatchMode fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ONE_WAY;
+        }
+        try {
+            return MatchMode.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid match mode '" + value + "'. Must be 'one-way' or 'mutual'.");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.marriagebureau.matches.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of match results.
+ */
+@Data
+@Builder(toBuilder = true)
+public class MatchPageDto {
+    private List<MatchResultDto> matches; // Best match first
+    private Integer page; // Zero-based page number; null when the page was requested by cursor
+    private int size; // Requested page size
+    private long totalMatches; // Number of profiles passing the hard filters
+    private boolean totalEstimated; // True when totalMatches comes from the last background recompute rather than a live count
+    private String nextCursor; // Pass as 'cursor' to fetch the next page; null on the last page
+}
@@ -9,5 +9,5 @@ import lombok.Data;
 @Builder
 public class MatchResultDto {
     private ProfileResponse matchedProfile;
-    private double compatibilityScore; // A score between 0.0 and 1.0 (or 0-100) indicating compatibility
+    private double compatibilityScore; // A weighted score between 0.0 and 100.0 indicating compatibility
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.marriagebureau.matches.index;
+
+import java.util.List;
+
+/**
+ * The result of a top-K pass over the match index.
+ *
+ * @param candidates   The best candidates, ordered by {@link ScoredCandidate#BEST_FIRST}.
+ * @param totalMatches The number of candidates that passed the hard filters, including any
+ *                     before the requested page.
+ */
+public record CandidateSelection(List<ScoredCandidate> candidates, long totalMatches) {
+}
@@ -0,0 +1,91 @@
+package com.marriagebureau.matches.index;
+
+import com.marriagebureau.clientmanagement.model.CityCoordinate;
+import com.marriagebureau.clientmanagement.repository.CityCoordinateRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed straight-line distances between every pair of cities in the city_coordinates table.
+ * Each city gets a dense cell number; the great-circle distance between two cells is computed once at
+ * startup, rounded up to whole kilometres and stored in an n-by-n short matrix (2 bytes per pair).
+ * "Within N km" in the match path is then a single array read and integer comparison.
+ * <p>
+ * Cities without coordinates (including cities first entered after startup) have no cell and never
+ * satisfy a distance constraint.
+ */
+@Component
+public class CityDistanceTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CityDistanceTable.class);
+
+    public static final int NO_CELL = -1;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final CityCoordinateRepository cityCoordinateRepository;
+
+    private Map<Long, Integer> cellsByCityId = Map.of();
+    private short[] distancesKm = new short[0];
+    private int cellCount;
+
+    public CityDistanceTable(CityCoordinateRepository cityCoordinateRepository) {
+        this.cityCoordinateRepository = cityCoordinateRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        List<CityCoordinate> cities = cityCoordinateRepository.findAll();
+        int n = cities.size();
+        Map<Long, Integer> cells = new HashMap<>(n * 2);
+        short[] distances = new short[n * n];
+        for (int i = 0; i < n; i++) {
+            CityCoordinate a = cities.get(i);
+            cells.put(a.getCityId(), i);
+            for (int j = i + 1; j < n; j++) {
+                CityCoordinate b = cities.get(j);
+                long km = (long) Math.ceil(haversineKm(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude()));
+                short stored = (short) Math.min(km, Short.MAX_VALUE);
+                distances[i * n + j] = stored;
+                distances[j * n + i] = stored;
+            }
+        }
+        cellsByCityId = cells;
+        distancesKm = distances;
+        cellCount = n;
+        logger.info("City distance table built for {} cities", n);
+    }
+
+    /**
+     * @return The dense cell number of a city dictionary term, or {@link #NO_CELL} if it has no coordinates.
+     */
+    public int cellOf(Long cityId) {
+        if (cityId == null) {
+            return NO_CELL;
+        }
+        return cellsByCityId.getOrDefault(cityId, NO_CELL);
+    }
+
+    /**
+     * @return True if both cells are known and no more than {@code maxKm} apart.
+     */
+    public boolean isWithin(int cellA, int cellB, int maxKm) {
+        if (cellA == NO_CELL || cellB == NO_CELL) {
+            return false;
+        }
+        return distancesKm[cellA * cellCount + cellB] <= maxKm;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.marriagebureau.matches.index;
+
+import com.marriagebureau.clientmanagement.model.enums.Diet;
+import com.marriagebureau.clientmanagement.model.enums.DrinkingHabit;
+import com.marriagebureau.clientmanagement.model.enums.EducationLevel;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.clientmanagement.model.enums.SmokingHabit;
+
+/**
+ * The soft attributes of one indexed profile, as seen by the compatibility scorer.
+ * Free-text location values are dictionary-encoded so they compare with ==.
+ * Numeric fields use {@link #UNKNOWN} and object fields use null when the profile has no value.
+ */
+public record MatchAttributes(
+        long profileId,
+        Gender gender,
+        int birthEpochDay,
+        int heightCm,
+        MotherTongue motherTongue,
+        Diet diet,
+        SmokingHabit smokingHabit,
+        DrinkingHabit drinkingHabit,
+        EducationLevel educationLevel,
+        Double annualIncome,
+        int cityCode,
+        int stateCode) {
+
+    public static final int UNKNOWN = Integer.MIN_VALUE;
+}
@@ -0,0 +1,69 @@
+package com.marriagebureau.matches.index;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.LocationPreference;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+
+import java.time.LocalDate;
+
+/**
+ * The hard filters applied to candidates when searching the match index.
+ * Mirrors the ProfileSpecifications used by the SQL match query: a null bound means "no constraint".
+ * When {@code reciprocal} is set, a candidate must also accept the requester under the candidate's
+ * own preferred partner criteria.
+ * Religion and caste are dictionary term IDs, so spelling variants of the same value match.
+ * <p>
+ * {@code location} and {@code maxDistanceKm} are the requester's partner location preference; {@code cityId}
+ * and {@code state} are the requester's own location, which that preference (and, for reciprocal criteria,
+ * each candidate's preference) is measured from.
+ */
+public record MatchCriteria(
+        Long excludeProfileId,
+        Gender gender,
+        Long minBirthEpochDay,
+        Long maxBirthEpochDay,
+        Integer minHeightCm,
+        Integer maxHeightCm,
+        Long religionId,
+        Long casteId,
+        LocationPreference location,
+        Integer maxDistanceKm,
+        Long cityId,
+        String state,
+        MaritalStatus maritalStatus,
+        Reciprocal reciprocal) {
+
+    /**
+     * The requester's own attributes, checked against each candidate's preferred partner fields.
+     */
+    public record Reciprocal(Integer age, Integer heightCm, Long religionId, Long casteId) {
+    }
+
+    /**
+     * Builds the criteria from the requesting profile's preferred partner fields.
+     * Age bounds are converted to birth-date bounds exactly as ProfileSpecifications.isWithinAgeRange does.
+     *
+     * @param mutual If true, candidates must also accept the requester (two-way matching).
+     */
+    public static MatchCriteria forRequester(Profile requester, Gender targetGender, MaritalStatus maritalStatus, boolean mutual) {
+        LocalDate today = LocalDate.now();
+        Integer minAge = requester.getPreferredPartnerMinAge();
+        Integer maxAge = requester.getPreferredPartnerMaxAge();
+        return new MatchCriteria(
+                requester.getId(),
+                targetGender,
+                maxAge != null ? today.minusYears(maxAge + 1).plusDays(1).toEpochDay() : null,
+                minAge != null ? today.minusYears(minAge).toEpochDay() : null,
+                requester.getPreferredPartnerMinHeightCm(),
+                requester.getPreferredPartnerMaxHeightCm(),
+                requester.getPreferredPartnerReligionId(),
+                requester.getPreferredPartnerCasteId(),
+                requester.getPreferredPartnerLocation(),
+                requester.getPreferredPartnerMaxDistanceKm(),
+                requester.getCityId(),
+                requester.getState(),
+                maritalStatus,
+                mutual ? new Reciprocal(requester.getAge(), requester.getHeightCm(), requester.getReligionId(), requester.getCasteId()) : null);
+    }
+}
@@ -0,0 +1,597 @@
+package com.marriagebureau.matches.index;
+
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.EducationLevel;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.LocationPreference;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileIndexRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory, column-oriented index over the attributes used by the match hard filters.
+ * Each profile occupies one slot across a set of primitive arrays, so filtering a few hundred
+ * thousand profiles is a tight loop over ints instead of a SQL query plus entity hydration.
+ * The soft attributes used for scoring are kept alongside as one {@link MatchAttributes} per slot.
+ * <p>
+ * The index is built before the web server starts accepting requests and kept current through
+ * {@link ProfileChangedEvent}s, applied after each create/update/delete commits.
+ */
+@Component
+public class ProfileMatchIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileMatchIndex.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final byte NO_ENUM = -1;
+    private static final int NO_INT = MatchAttributes.UNKNOWN;
+    private static final int NO_TERM = -1;
+    private static final byte SAME_CITY = (byte) LocationPreference.SAME_CITY.ordinal();
+    private static final byte SAME_STATE = (byte) LocationPreference.SAME_STATE.ordinal();
+    private static final byte WITHIN_DISTANCE = (byte) LocationPreference.WITHIN_DISTANCE.ordinal();
+
+    private final ProfileRepository profileRepository;
+    private final CityDistanceTable cityDistances;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final StringDictionary states = new StringDictionary();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private int slotCount;
+
+    // --- Hard-filter columns, one entry per slot ---
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] genders = new byte[INITIAL_CAPACITY];
+    private int[] birthEpochDays = new int[INITIAL_CAPACITY];
+    private int[] heightsCm = new int[INITIAL_CAPACITY];
+    private int[] religionCodes = new int[INITIAL_CAPACITY];
+    private int[] casteCodes = new int[INITIAL_CAPACITY];
+    private byte[] maritalStatuses = new byte[INITIAL_CAPACITY];
+    private boolean[] active = new boolean[INITIAL_CAPACITY];
+    private int[] cityCodes = new int[INITIAL_CAPACITY];
+    private int[] stateCodes = new int[INITIAL_CAPACITY];
+    private int[] cityCells = new int[INITIAL_CAPACITY];
+
+    // --- Each slot's own preferred partner criteria, for reciprocal matching ---
+    private int[] preferredMinAges = new int[INITIAL_CAPACITY];
+    private int[] preferredMaxAges = new int[INITIAL_CAPACITY];
+    private int[] preferredMinHeightsCm = new int[INITIAL_CAPACITY];
+    private int[] preferredMaxHeightsCm = new int[INITIAL_CAPACITY];
+    private int[] preferredReligionCodes = new int[INITIAL_CAPACITY];
+    private int[] preferredCasteCodes = new int[INITIAL_CAPACITY];
+    private byte[] preferredLocations = new byte[INITIAL_CAPACITY];
+    private int[] preferredMaxDistancesKm = new int[INITIAL_CAPACITY];
+
+    // --- Scoring attributes, one entry per slot ---
+    private MatchAttributes[] attributes = new MatchAttributes[INITIAL_CAPACITY];
+
+    public ProfileMatchIndex(ProfileRepository profileRepository, CityDistanceTable cityDistances,
+                             PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.cityDistances = cityDistances;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index once all beans exist, before the web server is started.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every profile into the index. Queries block until the rebuild completes.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProfileIndexRow> rows = profileRepository.streamIndexRows()) {
+                    rows.forEach(this::put);
+                }
+            });
+            logger.info("Profile match index built with {} profiles", slotsById.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed profile change to the index.
+     * Runs before other listeners of the same event, which may query the index for the new state.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        if (event.isDeletion()) {
+            remove(event.profileId());
+        } else {
+            upsert(event.profile());
+        }
+    }
+
+    public void upsert(Profile profile) {
+        lock.writeLock().lock();
+        try {
+            put(ProfileIndexRow.of(profile));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long profileId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(profileId);
+            if (slot != null) {
+                ids[slot] = 0;
+                active[slot] = false;
+                attributes[slot] = null;
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the scoring attributes of the given profile: its indexed attributes, or, if it is not in the index
+     * (e.g. it is not committed yet), attributes computed from the entity. The index itself is only changed by
+     * committed profile changes and rebuilds, so a read never leaves a profile in it that may not exist.
+     */
+    public MatchAttributes attributesOf(Profile profile) {
+        lock.readLock().lock();
+        try {
+            Integer slot = profile.getId() != null ? slotsById.get(profile.getId()) : null;
+            if (slot != null) {
+                return attributes[slot];
+            }
+            ProfileIndexRow row = ProfileIndexRow.of(profile);
+            return attributesOf(row, states.lookup(normalizeState(row.state())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every active profile that passes the hard filters and keeps the best {@code limit} of them.
+     * Filtering (in both directions for reciprocal criteria) and scoring happen in the same parallel
+     * pass over slot ranges; each range keeps its own bounded heap.
+     *
+     * @param criteria The hard filters a candidate must pass.
+     * @param scorer   Computes the compatibility score of a candidate.
+     * @param limit    The maximum number of candidates to return.
+     */
+    public CandidateSelection selectTopCandidates(MatchCriteria criteria, ToDoubleFunction<MatchAttributes> scorer, int limit) {
+        return selectTopCandidates(criteria, scorer, null, limit);
+    }
+
+    /**
+     * Like {@link #selectTopCandidates(MatchCriteria, ToDoubleFunction, int)}, but only keeps candidates
+     * ranked after {@code after}, so a keyset page costs one bounded heap of {@code limit} entries however
+     * deep it is. The total still counts every candidate that passed the hard filters.
+     *
+     * @param after The last candidate of the previous page, or null to start from the best match.
+     */
+    public CandidateSelection selectTopCandidates(MatchCriteria criteria, ToDoubleFunction<MatchAttributes> scorer,
+                                                  ScoredCandidate after, int limit) {
+        lock.readLock().lock();
+        try {
+            SlotFilter filter = new SlotFilter(criteria);
+            long[] slotIds = ids;
+            MatchAttributes[] slotAttributes = attributes;
+            return IntStream.range(0, slotCount)
+                    .parallel()
+                    .filter(filter::test)
+                    .collect(() -> new TopK(limit),
+                            (top, slot) -> {
+                                double score = scorer.applyAsDouble(slotAttributes[slot]);
+                                if (after == null || after.ranksBefore(slotIds[slot], score)) {
+                                    top.offer(slotIds[slot], score);
+                                } else {
+                                    top.skip();
+                                }
+                            },
+                            TopK::merge)
+                    .toSelection();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@link #selectTopCandidates(MatchCriteria, ToDoubleFunction, int)} for many requesters at once.
+     * The active profiles of each target gender are collected in a single shared scan; one task per requester
+     * then filters and scores that candidate list on the given fork-join pool.
+     * <p>
+     * The read lock is held only for the shared scan and within each task, never across the whole batch,
+     * so profile writes (and the single-profile queries queued behind them) wait for one requester at most.
+     * A task re-checks every candidate slot against the index as it is then, so a profile changed or removed
+     * after the shared scan is filtered by its current state; one added after it is not considered.
+     *
+     * @param criteria The hard filters of each requester.
+     * @param scorers  The scorer of each requester, in the same order as {@code criteria}.
+     * @param limit    The maximum number of candidates to return per requester.
+     * @param pool     The pool the per-requester tasks run on.
+     * @return One selection per requester, in the same order as {@code criteria}.
+     */
+    public List<CandidateSelection> selectTopCandidatesForAll(List<MatchCriteria> criteria,
+                                                              List<ToDoubleFunction<MatchAttributes>> scorers,
+                                                              int limit, ForkJoinPool pool) {
+        Map<Byte, int[]> candidateSlotsByGender = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (MatchCriteria requesterCriteria : criteria) {
+                candidateSlotsByGender.computeIfAbsent(genderCode(requesterCriteria), this::activeSlotsOf);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Callable<CandidateSelection>> tasks = new ArrayList<>(criteria.size());
+        for (int i = 0; i < criteria.size(); i++) {
+            MatchCriteria requesterCriteria = criteria.get(i);
+            int[] candidateSlots = candidateSlotsByGender.get(genderCode(requesterCriteria));
+            ToDoubleFunction<MatchAttributes> scorer = scorers.get(i);
+            tasks.add(() -> {
+                lock.readLock().lock();
+                try {
+                    SlotFilter filter = new SlotFilter(requesterCriteria);
+                    TopK top = new TopK(limit);
+                    for (int slot : candidateSlots) {
+                        if (slot < slotCount && filter.test(slot)) {
+                            top.offer(ids[slot], scorer.applyAsDouble(attributes[slot]));
+                        }
+                    }
+                    return top.toSelection();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            });
+        }
+
+        try {
+            List<CandidateSelection> selections = new ArrayList<>(tasks.size());
+            for (Future<CandidateSelection> result : pool.invokeAll(tasks)) {
+                selections.add(result.get());
+            }
+            return selections;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while selecting match candidates", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to select match candidates", e.getCause());
+        }
+    }
+
+    private static byte genderCode(MatchCriteria criteria) {
+        return criteria.gender() != null ? (byte) criteria.gender().ordinal() : NO_ENUM;
+    }
+
+    /**
+     * Collects the slots of active profiles with the given gender (any gender for {@link #NO_ENUM}).
+     * Must be called with the read lock held.
+     */
+    private int[] activeSlotsOf(byte gender) {
+        return IntStream.range(0, slotCount)
+                .filter(slot -> active[slot] && (gender == NO_ENUM || genders[slot] == gender))
+                .toArray();
+    }
+
+    /**
+     * Reverse lookup: finds every profile whose one-way match criteria the given candidate satisfies,
+     * i.e. the profiles in whose match lists the candidate belongs.
+     *
+     * @param candidateId    The ID of the candidate profile.
+     * @param requiredStatus The marital status every candidate must have, as in the forward match query.
+     * @return The IDs of the accepting profiles; empty if the candidate is unknown, inactive or has another status.
+     */
+    public long[] findProfilesAccepting(Long candidateId, MaritalStatus requiredStatus) {
+        lock.readLock().lock();
+        try {
+            Integer candidateSlot = slotsById.get(candidateId);
+            if (candidateSlot == null || !active[candidateSlot]
+                    || maritalStatuses[candidateSlot] != (byte) requiredStatus.ordinal()) {
+                return new long[0];
+            }
+            byte candidateGender = genders[candidateSlot];
+            int birth = birthEpochDays[candidateSlot];
+            int age = birth != NO_INT ? Period.between(LocalDate.ofEpochDay(birth), LocalDate.now()).getYears() : NO_INT;
+            int height = heightsCm[candidateSlot];
+            int religion = religionCodes[candidateSlot];
+            int caste = casteCodes[candidateSlot];
+            int city = cityCodes[candidateSlot];
+            int state = stateCodes[candidateSlot];
+            int cell = cityCells[candidateSlot];
+            byte male = (byte) Gender.MALE.ordinal();
+            byte female = (byte) Gender.FEMALE.ordinal();
+
+            return IntStream.range(0, slotCount)
+                    .parallel()
+                    .filter(slot -> ids[slot] != 0 && slot != candidateSlot)
+                    // A male requester looks for women; everyone else looks for men (see MatchService).
+                    .filter(slot -> (genders[slot] == male ? female : male) == candidateGender)
+                    .filter(slot -> prefers(slot, age, height, religion, caste, city, state, cell))
+                    .mapToLong(slot -> ids[slot])
+                    .toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the scoring attributes of an indexed profile, or null if it is not in the index.
+     */
+    public MatchAttributes attributesOf(Long profileId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(profileId);
+            return slot != null ? attributes[slot] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The hard filters of a {@link MatchCriteria}, compiled into primitive comparisons.
+     * Only valid while the read lock is held.
+     */
+    private final class SlotFilter {
+        private final long excludeId;
+        private final byte gender;
+        private final byte maritalStatus;
+        private final int religion;
+        private final int caste;
+        private final boolean ageBounded;
+        private final long minBirth;
+        private final long maxBirth;
+        private final boolean heightBounded;
+        private final int minHeight;
+        private final int maxHeight;
+        private final byte location;
+        private final int maxDistanceKm;
+        private final int requesterCity;
+        private final int requesterState;
+        private final int requesterCell;
+        private final boolean reciprocal;
+        private final int requesterAge;
+        private final int requesterHeight;
+        private final int requesterReligion;
+        private final int requesterCaste;
+
+        private SlotFilter(MatchCriteria criteria) {
+            excludeId = criteria.excludeProfileId() != null ? criteria.excludeProfileId() : 0;
+            gender = criteria.gender() != null ? (byte) criteria.gender().ordinal() : NO_ENUM;
+            maritalStatus = criteria.maritalStatus() != null ? (byte) criteria.maritalStatus().ordinal() : NO_ENUM;
+            religion = termCode(criteria.religionId());
+            caste = termCode(criteria.casteId());
+            ageBounded = criteria.minBirthEpochDay() != null || criteria.maxBirthEpochDay() != null;
+            minBirth = criteria.minBirthEpochDay() != null ? criteria.minBirthEpochDay() : Long.MIN_VALUE;
+            maxBirth = criteria.maxBirthEpochDay() != null ? criteria.maxBirthEpochDay() : Long.MAX_VALUE;
+            heightBounded = criteria.minHeightCm() != null || criteria.maxHeightCm() != null;
+            minHeight = criteria.minHeightCm() != null ? criteria.minHeightCm() : Integer.MIN_VALUE;
+            maxHeight = criteria.maxHeightCm() != null ? criteria.maxHeightCm() : Integer.MAX_VALUE;
+            location = locationCode(criteria.location(), criteria.maxDistanceKm());
+            maxDistanceKm = criteria.maxDistanceKm() != null ? criteria.maxDistanceKm() : NO_INT;
+            requesterCity = termCode(criteria.cityId());
+            requesterState = states.lookup(normalizeState(criteria.state()));
+            requesterCell = cityDistances.cellOf(criteria.cityId());
+
+            MatchCriteria.Reciprocal requester = criteria.reciprocal();
+            reciprocal = requester != null;
+            requesterAge = reciprocal && requester.age() != null ? requester.age() : NO_INT;
+            requesterHeight = reciprocal && requester.heightCm() != null ? requester.heightCm() : NO_INT;
+            requesterReligion = reciprocal ? termCode(requester.religionId()) : NO_TERM;
+            requesterCaste = reciprocal ? termCode(requester.casteId()) : NO_TERM;
+        }
+
+        private boolean test(int slot) {
+            if (!active[slot] || ids[slot] == excludeId) return false;
+            if (gender != NO_ENUM && genders[slot] != gender) return false;
+            if (maritalStatus != NO_ENUM && maritalStatuses[slot] != maritalStatus) return false;
+            if (religion != NO_TERM && religionCodes[slot] != religion) return false;
+            if (caste != NO_TERM && casteCodes[slot] != caste) return false;
+            if (ageBounded) {
+                int birth = birthEpochDays[slot];
+                if (birth == NO_INT || birth < minBirth || birth > maxBirth) return false;
+            }
+            if (heightBounded) {
+                int height = heightsCm[slot];
+                if (height == NO_INT || height < minHeight || height > maxHeight) return false;
+            }
+            if (location != NO_ENUM && !isWithinPreference(location, maxDistanceKm, requesterCity, requesterState,
+                    requesterCell, cityCodes[slot], stateCodes[slot], cityCells[slot])) return false;
+            return !reciprocal || acceptsRequester(slot);
+        }
+
+        /**
+         * Applies the candidate's own preferred partner criteria to the requester.
+         */
+        private boolean acceptsRequester(int slot) {
+            return prefers(slot, requesterAge, requesterHeight, requesterReligion, requesterCaste,
+                    requesterCity, requesterState, requesterCell);
+        }
+    }
+
+    /**
+     * Applies the preferred partner criteria stored in a slot to another profile's values, with the same
+     * null semantics as the one-way filters: a missing value fails any constraint the slot sets.
+     * Caller must hold the read lock.
+     */
+    private boolean prefers(int slot, int age, int heightCm, int religionCode, int casteCode,
+                            int cityCode, int stateCode, int cityCell) {
+        int minAge = preferredMinAges[slot];
+        int maxAge = preferredMaxAges[slot];
+        if (minAge != NO_INT || maxAge != NO_INT) {
+            if (age == NO_INT) return false;
+            if (minAge != NO_INT && age < minAge) return false;
+            if (maxAge != NO_INT && age > maxAge) return false;
+        }
+        int minHeightCm = preferredMinHeightsCm[slot];
+        int maxHeightCm = preferredMaxHeightsCm[slot];
+        if (minHeightCm != NO_INT || maxHeightCm != NO_INT) {
+            if (heightCm == NO_INT) return false;
+            if (minHeightCm != NO_INT && heightCm < minHeightCm) return false;
+            if (maxHeightCm != NO_INT && heightCm > maxHeightCm) return false;
+        }
+        int preferredReligion = preferredReligionCodes[slot];
+        if (preferredReligion != NO_TERM && preferredReligion != religionCode) return false;
+        int preferredCaste = preferredCasteCodes[slot];
+        if (preferredCaste != NO_TERM && preferredCaste != casteCode) return false;
+        byte preferredLocation = preferredLocations[slot];
+        return preferredLocation == NO_ENUM || isWithinPreference(preferredLocation, preferredMaxDistancesKm[slot],
+                cityCodes[slot], stateCodes[slot], cityCells[slot], cityCode, stateCode, cityCell);
+    }
+
+    /**
+     * Checks another profile's location against a location preference measured from the preferring
+     * profile's own city and state. A missing location on either side fails the constraint.
+     */
+    private boolean isWithinPreference(byte preference, int maxDistanceKm, int fromCity, int fromState, int fromCell,
+                                       int city, int state, int cell) {
+        if (preference == SAME_CITY) return fromCity != NO_TERM && city == fromCity;
+        if (preference == SAME_STATE) return fromState >= 0 && state == fromState;
+        if (preference == WITHIN_DISTANCE) return cityDistances.isWithin(fromCell, cell, maxDistanceKm);
+        return true;
+    }
+
+    // --- Internal helpers; callers must hold the write lock ---
+
+    private void put(ProfileIndexRow row) {
+        Long profileId = row.id();
+        Integer slot = slotsById.get(profileId);
+        if (slot == null) {
+            slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+            ensureCapacity(slotCount);
+            slotsById.put(profileId, slot);
+        }
+        int birthEpochDay = row.dateOfBirth() != null ? (int) row.dateOfBirth().toEpochDay() : NO_INT;
+        int heightCm = row.heightCm() != null ? row.heightCm() : NO_INT;
+
+        ids[slot] = profileId;
+        genders[slot] = row.gender() != null ? (byte) row.gender().ordinal() : NO_ENUM;
+        birthEpochDays[slot] = birthEpochDay;
+        heightsCm[slot] = heightCm;
+        religionCodes[slot] = termCode(row.religionId());
+        casteCodes[slot] = termCode(row.casteId());
+        maritalStatuses[slot] = row.maritalStatus() != null ? (byte) row.maritalStatus().ordinal() : NO_ENUM;
+        active[slot] = row.isActive();
+        int stateCode = states.encode(normalizeState(row.state()));
+        cityCodes[slot] = termCode(row.cityId());
+        stateCodes[slot] = stateCode;
+        cityCells[slot] = cityDistances.cellOf(row.cityId());
+        preferredMinAges[slot] = row.preferredPartnerMinAge() != null ? row.preferredPartnerMinAge() : NO_INT;
+        preferredMaxAges[slot] = row.preferredPartnerMaxAge() != null ? row.preferredPartnerMaxAge() : NO_INT;
+        preferredMinHeightsCm[slot] = row.preferredPartnerMinHeightCm() != null ? row.preferredPartnerMinHeightCm() : NO_INT;
+        preferredMaxHeightsCm[slot] = row.preferredPartnerMaxHeightCm() != null ? row.preferredPartnerMaxHeightCm() : NO_INT;
+        preferredReligionCodes[slot] = termCode(row.preferredPartnerReligionId());
+        preferredCasteCodes[slot] = termCode(row.preferredPartnerCasteId());
+        preferredLocations[slot] = locationCode(row.preferredPartnerLocation(), row.preferredPartnerMaxDistanceKm());
+        preferredMaxDistancesKm[slot] = row.preferredPartnerMaxDistanceKm() != null ? row.preferredPartnerMaxDistanceKm() : NO_INT;
+        attributes[slot] = attributesOf(row, stateCode);
+    }
+
+    private static MatchAttributes attributesOf(ProfileIndexRow row, int stateCode) {
+        return new MatchAttributes(
+                row.id(), row.gender(),
+                row.dateOfBirth() != null ? (int) row.dateOfBirth().toEpochDay() : NO_INT,
+                row.heightCm() != null ? row.heightCm() : NO_INT,
+                row.motherTongue(), row.diet(), row.smokingHabit(), row.drinkingHabit(),
+                EducationLevel.classify(row.education()), row.annualIncome(),
+                row.cityId() != null ? termCode(row.cityId()) : NO_INT,
+                stateCode != StringDictionary.NO_VALUE ? stateCode : NO_INT);
+    }
+
+    /**
+     * Dictionary term IDs are small positive numbers, so they are stored as ints.
+     */
+    private static int termCode(Long termId) {
+        return termId != null ? Math.toIntExact(termId) : NO_TERM;
+    }
+
+    /**
+     * @return The preference as a byte, or NO_ENUM when it sets no constraint (including WITHIN_DISTANCE without a distance).
+     */
+    private static byte locationCode(LocationPreference preference, Integer maxDistanceKm) {
+        if (preference == null || preference == LocationPreference.ANY
+                || (preference == LocationPreference.WITHIN_DISTANCE && maxDistanceKm == null)) {
+            return NO_ENUM;
+        }
+        return (byte) preference.ordinal();
+    }
+
+    private static String normalizeState(String state) {
+        return StringUtils.hasText(state) ? state.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        genders = Arrays.copyOf(genders, capacity);
+        birthEpochDays = Arrays.copyOf(birthEpochDays, capacity);
+        heightsCm = Arrays.copyOf(heightsCm, capacity);
+        religionCodes = Arrays.copyOf(religionCodes, capacity);
+        casteCodes = Arrays.copyOf(casteCodes, capacity);
+        maritalStatuses = Arrays.copyOf(maritalStatuses, capacity);
+        active = Arrays.copyOf(active, capacity);
+        cityCodes = Arrays.copyOf(cityCodes, capacity);
+        stateCodes = Arrays.copyOf(stateCodes, capacity);
+        cityCells = Arrays.copyOf(cityCells, capacity);
+        preferredMinAges = Arrays.copyOf(preferredMinAges, capacity);
+        preferredMaxAges = Arrays.copyOf(preferredMaxAges, capacity);
+        preferredMinHeightsCm = Arrays.copyOf(preferredMinHeightsCm, capacity);
+        preferredMaxHeightsCm = Arrays.copyOf(preferredMaxHeightsCm, capacity);
+        preferredReligionCodes = Arrays.copyOf(preferredReligionCodes, capacity);
+        preferredCasteCodes = Arrays.copyOf(preferredCasteCodes, capacity);
+        preferredLocations = Arrays.copyOf(preferredLocations, capacity);
+        preferredMaxDistancesKm = Arrays.copyOf(preferredMaxDistancesKm, capacity);
+        attributes = Arrays.copyOf(attributes, capacity);
+    }
+
+    private void clear() {
+        slotsById.clear();
+        freeSlots.clear();
+        states.clear();
+        Arrays.fill(active, 0, slotCount, false);
+        Arrays.fill(attributes, 0, slotCount, null);
+        slotCount = 0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.marriagebureau.matches.index;
+
+import java.util.Comparator;
+
+/**
+ * A candidate profile ID together with its compatibility score.
+ */
+public record ScoredCandidate(long profileId, double score) {
+
+    /**
+     * Best candidates first: highest score, then lowest profile ID as a stable tie-breaker.
+     */
+    public static final Comparator<ScoredCandidate> BEST_FIRST = Comparator
+            .comparingDouble(ScoredCandidate::score).reversed()
+            .thenComparingLong(ScoredCandidate::profileId);
+
+    /**
+     * Whether this candidate ranks ahead of the given one in {@link #BEST_FIRST} order.
+     */
+    public boolean ranksBefore(long otherProfileId, double otherScore) {
+        return score > otherScore || (score == otherScore && profileId < otherProfileId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.marriagebureau.matches.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns a compact integer code to each distinct string value so the match index
+ * can compare free-text values that have no dictionary table (such as state) with an int comparison.
+ * Not thread-safe on its own; ProfileMatchIndex guards it with its lock.
+ */
+class StringDictionary {
+
+    static final int NO_VALUE = -1;
+    static final int UNKNOWN = -2;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    /**
+     * Returns the code for the value, assigning a new one if it has not been seen yet.
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        return codes.computeIfAbsent(value, v -> codes.size());
+    }
+
+    /**
+     * Returns the code for the value without assigning one.
+     * Values never stored in the index get UNKNOWN, which no slot can match.
+     */
+    int lookup(String value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        return codes.getOrDefault(value, UNKNOWN);
+    }
+
+    void clear() {
+        codes.clear();
+    }
+}
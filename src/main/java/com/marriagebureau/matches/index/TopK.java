@@ -0,0 +1,58 @@
+package com.marriagebureau.matches.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the K best scored candidates seen so far in a bounded min-heap, so selecting the top K
+ * out of N candidates costs O(N log K) instead of sorting all N.
+ * Each parallel stream segment fills its own instance; segments are combined with {@link #merge}.
+ */
+final class TopK {
+
+    private final int capacity;
+    private final PriorityQueue<ScoredCandidate> heap;
+    private long offered;
+
+    TopK(int capacity) {
+        this.capacity = capacity;
+        // Worst candidate at the head, so it is the one evicted when a better one arrives.
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(capacity, 1024)), ScoredCandidate.BEST_FIRST.reversed());
+    }
+
+    void offer(long profileId, double score) {
+        offered++;
+        if (heap.size() < capacity) {
+            heap.add(new ScoredCandidate(profileId, score));
+            return;
+        }
+        ScoredCandidate worst = heap.peek();
+        if (worst != null && (score > worst.score() || (score == worst.score() && profileId < worst.profileId()))) {
+            heap.poll();
+            heap.add(new ScoredCandidate(profileId, score));
+        }
+    }
+
+    /**
+     * Counts a candidate that passed the filters but lies before the requested page.
+     */
+    void skip() {
+        offered++;
+    }
+
+    TopK merge(TopK other) {
+        long total = offered + other.offered;
+        for (ScoredCandidate candidate : other.heap) {
+            offer(candidate.profileId(), candidate.score());
+        }
+        offered = total;
+        return this;
+    }
+
+    CandidateSelection toSelection() {
+        List<ScoredCandidate> sorted = new ArrayList<>(heap);
+        sorted.sort(ScoredCandidate.BEST_FIRST);
+        return new CandidateSelection(sorted, offered);
+    }
+}
@@ -0,0 +1,37 @@
+package com.marriagebureau.matches.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One precomputed entry of a profile's match list: a candidate and its compatibility score.
+ * Profile IDs are stored as plain columns so reading a list never touches the client_profiles table.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "profile_matches")
+@IdClass(ProfileMatchId.class)
+public class ProfileMatch {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    @Id
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,18 @@
+package com.marriagebureau.matches.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link ProfileMatch}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileMatchId implements Serializable {
+    private Long profileId;
+    private Long candidateId;
+}
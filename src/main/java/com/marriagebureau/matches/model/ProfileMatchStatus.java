@@ -0,0 +1,36 @@
+package com.marriagebureau.matches.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a profile whose match list has been materialized, so an empty list can be told apart
+ * from one that has not been computed yet.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "profile_match_status")
+public class ProfileMatchStatus {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+
+    /**
+     * Number of profiles that passed the hard filters when the list was last computed.
+     * Not maintained by incremental updates, so it is an estimate until the next full recompute.
+     */
+    @Column(nullable = false)
+    private long totalMatches;
+}
@@ -0,0 +1,56 @@
+package com.marriagebureau.matches.repository;
+
+import com.marriagebureau.matches.model.ProfileMatch;
+import com.marriagebureau.matches.model.ProfileMatchId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProfileMatchRepository extends JpaRepository<ProfileMatch, ProfileMatchId> {
+
+    /**
+     * Reads a materialized match list in ranking order: highest score first, then lowest candidate ID.
+     */
+    @Query("SELECT m FROM ProfileMatch m WHERE m.profileId = :profileId ORDER BY m.score DESC, m.candidateId ASC")
+    List<ProfileMatch> findRanked(Long profileId, Pageable pageable);
+
+    /**
+     * Keyset read: the entries ranked after the given (score, candidate ID), in ranking order.
+     */
+    @Query("SELECT m FROM ProfileMatch m WHERE m.profileId = :profileId"
+            + " AND (m.score < :score OR (m.score = :score AND m.candidateId > :candidateId))"
+            + " ORDER BY m.score DESC, m.candidateId ASC")
+    List<ProfileMatch> findRankedAfter(Long profileId, double score, Long candidateId, Pageable pageable);
+
+    /**
+     * Reads a materialized match list from the bottom: lowest score first.
+     */
+    @Query("SELECT m FROM ProfileMatch m WHERE m.profileId = :profileId ORDER BY m.score ASC, m.candidateId DESC")
+    List<ProfileMatch> findLowestRanked(Long profileId, Pageable pageable);
+
+    /**
+     * Finds the profiles whose match lists contain the given candidate.
+     */
+    @Query("SELECT m.profileId FROM ProfileMatch m WHERE m.candidateId = :candidateId")
+    List<Long> findProfileIdsByCandidateId(Long candidateId);
+
+    /**
+     * Returns [profileId, entry count] for each of the given profiles that has a materialized list.
+     */
+    @Query("SELECT m.profileId, COUNT(m) FROM ProfileMatch m WHERE m.profileId IN :profileIds GROUP BY m.profileId")
+    List<Object[]> countByProfileIds(Collection<Long> profileIds);
+
+    @Modifying
+    @Query("DELETE FROM ProfileMatch m WHERE m.profileId = :profileId")
+    int deleteByProfileId(Long profileId);
+
+    @Modifying
+    @Query("DELETE FROM ProfileMatch m WHERE m.candidateId = :candidateId")
+    int deleteByCandidateId(Long candidateId);
+}
@@ -0,0 +1,25 @@
+package com.marriagebureau.matches.repository;
+
+import com.marriagebureau.matches.model.ProfileMatchStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProfileMatchStatusRepository extends JpaRepository<ProfileMatchStatus, Long> {
+
+    /**
+     * Finds the profiles that have never had their match list materialized.
+     */
+    @Query("SELECT p.id FROM Profile p WHERE NOT EXISTS (SELECT s FROM ProfileMatchStatus s WHERE s.profileId = p.id)")
+    List<Long> findProfileIdsWithoutStatus();
+
+    /**
+     * Of the given profiles, returns those that have a materialized match list.
+     */
+    @Query("SELECT s.profileId FROM ProfileMatchStatus s WHERE s.profileId IN :profileIds")
+    List<Long> findMaterializedProfileIds(Collection<Long> profileIds);
+}
@@ -0,0 +1,26 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prefers candidates close in age: full score for the same age, zero at a 10-year gap.
+ */
+@Component
+public class AgeGapCriterion implements ScoringCriterion {
+
+    private static final double MAX_GAP_DAYS = 10 * 365.25;
+
+    @Override
+    public String name() {
+        return "age-gap";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        if (requester.birthEpochDay() == MatchAttributes.UNKNOWN || candidate.birthEpochDay() == MatchAttributes.UNKNOWN) {
+            return Double.NaN;
+        }
+        return Similarity.linear(requester.birthEpochDay(), candidate.birthEpochDay(), MAX_GAP_DAYS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Combines all registered {@link ScoringCriterion}s into a single weighted compatibility score
+ * between 0 and 100. Criteria that cannot be evaluated for a pair are left out of the average
+ * rather than counted as a mismatch.
+ */
+@Component
+public class CompatibilityScorer {
+
+    private final ScoringCriterion[] criteria;
+    private final double[] weights;
+
+    public CompatibilityScorer(List<ScoringCriterion> criteria, MatchScoringProperties properties) {
+        this.criteria = criteria.stream()
+                .filter(criterion -> properties.getWeights().getOrDefault(criterion.name(), 1.0) > 0)
+                .toArray(ScoringCriterion[]::new);
+        this.weights = new double[this.criteria.length];
+        for (int i = 0; i < this.criteria.length; i++) {
+            weights[i] = properties.getWeights().getOrDefault(this.criteria[i].name(), 1.0);
+        }
+    }
+
+    /**
+     * Scores the candidate against the requester. Safe to call concurrently.
+     * @return The weighted score between 0.0 and 100.0, rounded to one decimal place.
+     */
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        double weightedSum = 0;
+        double totalWeight = 0;
+        for (int i = 0; i < criteria.length; i++) {
+            double value = criteria[i].score(requester, candidate);
+            if (!Double.isNaN(value)) {
+                weightedSum += weights[i] * value;
+                totalWeight += weights[i];
+            }
+        }
+        if (totalWeight == 0) {
+            return 100.0; // Nothing to compare on: everyone who passes the hard filters is equally compatible.
+        }
+        return Math.round(weightedSum / totalWeight * 1000) / 10.0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.clientmanagement.model.enums.Diet;
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Full score for the same diet, half score when both are meat-free (vegetarian, vegan or eggetarian).
+ */
+@Component
+public class DietCriterion implements ScoringCriterion {
+
+    @Override
+    public String name() {
+        return "diet";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        Diet a = requester.diet();
+        Diet b = candidate.diet();
+        if (a == null || b == null) {
+            return Double.NaN;
+        }
+        if (a == b) {
+            return 1.0;
+        }
+        return (a != Diet.NON_VEGETARIAN && b != Diet.NON_VEGETARIAN) ? 0.5 : 0.0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prefers candidates with similar drinking habits (non-drinker, social, regular).
+ */
+@Component
+public class DrinkingHabitCriterion implements ScoringCriterion {
+
+    @Override
+    public String name() {
+        return "drinking";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        return Similarity.ordinal(requester.drinkingHabit(), candidate.drinkingHabit());
+    }
+}
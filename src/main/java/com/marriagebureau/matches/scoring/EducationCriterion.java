@@ -0,0 +1,21 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prefers candidates with a similar level of education, as classified from the free-text field.
+ */
+@Component
+public class EducationCriterion implements ScoringCriterion {
+
+    @Override
+    public String name() {
+        return "education";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        return Similarity.ordinal(requester.educationLevel(), candidate.educationLevel());
+    }
+}
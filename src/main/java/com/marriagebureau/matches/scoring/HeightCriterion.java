@@ -0,0 +1,26 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prefers candidates of similar height: full score for the same height, zero at 30 cm apart.
+ */
+@Component
+public class HeightCriterion implements ScoringCriterion {
+
+    private static final double MAX_DIFFERENCE_CM = 30;
+
+    @Override
+    public String name() {
+        return "height";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        if (requester.heightCm() == MatchAttributes.UNKNOWN || candidate.heightCm() == MatchAttributes.UNKNOWN) {
+            return Double.NaN;
+        }
+        return Similarity.linear(requester.heightCm(), candidate.heightCm(), MAX_DIFFERENCE_CM);
+    }
+}
@@ -0,0 +1,35 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prefers candidates in a similar annual income band. Bands are in rupees:
+ * under 3L, 3-6L, 6-10L, 10-20L, 20-50L and 50L or more.
+ */
+@Component
+public class IncomeBandCriterion implements ScoringCriterion {
+
+    private static final double[] BAND_LOWER_BOUNDS = {0, 300_000, 600_000, 1_000_000, 2_000_000, 5_000_000};
+
+    @Override
+    public String name() {
+        return "income";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        if (requester.annualIncome() == null || candidate.annualIncome() == null) {
+            return Double.NaN;
+        }
+        return Similarity.linear(band(requester.annualIncome()), band(candidate.annualIncome()), BAND_LOWER_BOUNDS.length - 1);
+    }
+
+    private static int band(double annualIncome) {
+        int band = 0;
+        while (band + 1 < BAND_LOWER_BOUNDS.length && annualIncome >= BAND_LOWER_BOUNDS[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+}
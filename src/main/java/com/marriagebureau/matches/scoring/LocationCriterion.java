@@ -0,0 +1,29 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Full score for the same city, partial score for the same state.
+ */
+@Component
+public class LocationCriterion implements ScoringCriterion {
+
+    private static final double SAME_STATE_SCORE = 0.6;
+
+    @Override
+    public String name() {
+        return "location";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        if (requester.cityCode() != MatchAttributes.UNKNOWN && requester.cityCode() == candidate.cityCode()) {
+            return 1.0;
+        }
+        if (requester.stateCode() == MatchAttributes.UNKNOWN || candidate.stateCode() == MatchAttributes.UNKNOWN) {
+            return Double.NaN;
+        }
+        return requester.stateCode() == candidate.stateCode() ? SAME_STATE_SCORE : 0.0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.marriagebureau.matches.scoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Match scoring and paging configuration bound from {@code app.matching.*} in application.properties.
+ * The cache, batch and materialized-list settings under the same prefix are bound by MatchCacheProperties,
+ * MatchBatchProperties and MaterializedMatchProperties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.matching")
+public class MatchScoringProperties {
+
+    /**
+     * Relative weight per scoring criterion name. Criteria without an entry get a weight of 1.0;
+     * a weight of 0 disables the criterion.
+     */
+    private Map<String, Double> weights = new HashMap<>();
+
+    /**
+     * Page size used when the caller does not ask for a specific size.
+     */
+    private int defaultLimit = 50;
+
+    /**
+     * Upper bound on the page size a caller may request.
+     */
+    private int maxLimit = 500;
+
+    /**
+     * Deepest rank reachable with page numbers; beyond it callers must page with the keyset cursor,
+     * which costs the same at any depth.
+     */
+    private int maxPageDepth = 5000;
+}
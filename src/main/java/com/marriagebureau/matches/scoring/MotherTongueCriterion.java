@@ -0,0 +1,21 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Full score when both profiles share a mother tongue.
+ */
+@Component
+public class MotherTongueCriterion implements ScoringCriterion {
+
+    @Override
+    public String name() {
+        return "mother-tongue";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        return Similarity.exact(requester.motherTongue(), candidate.motherTongue());
+    }
+}
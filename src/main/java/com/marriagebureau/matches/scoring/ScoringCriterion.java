@@ -0,0 +1,24 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+
+/**
+ * One soft-compatibility criterion. Implementations are Spring components and are picked up
+ * automatically by {@link CompatibilityScorer}; their weight is configured under
+ * {@code app.matching.weights.<name>}.
+ */
+public interface ScoringCriterion {
+
+    /**
+     * @return The key used to look up this criterion's weight, e.g. "age-gap".
+     */
+    String name();
+
+    /**
+     * Scores how compatible the candidate is with the requester on this criterion.
+     *
+     * @return A value between 0.0 (incompatible) and 1.0 (ideal), or NaN when either profile
+     *         lacks the data, in which case the criterion is left out of the weighted average.
+     */
+    double score(MatchAttributes requester, MatchAttributes candidate);
+}
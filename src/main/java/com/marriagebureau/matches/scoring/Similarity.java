@@ -0,0 +1,39 @@
+package com.marriagebureau.matches.scoring;
+
+/**
+ * Small helpers shared by the scoring criteria.
+ */
+final class Similarity {
+
+    private Similarity() {
+    }
+
+    /**
+     * Linear similarity of two numbers: 1.0 when equal, falling to 0.0 at {@code tolerance} apart.
+     */
+    static double linear(double a, double b, double tolerance) {
+        return Math.max(0.0, 1.0 - Math.abs(a - b) / tolerance);
+    }
+
+    /**
+     * Similarity of two values of an ordered enum, by distance between their ordinals.
+     * Returns NaN when either value is missing.
+     */
+    static double ordinal(Enum<?> a, Enum<?> b) {
+        if (a == null || b == null) {
+            return Double.NaN;
+        }
+        int steps = a.getDeclaringClass().getEnumConstants().length - 1;
+        return steps == 0 ? 1.0 : linear(a.ordinal(), b.ordinal(), steps);
+    }
+
+    /**
+     * 1.0 when both values are equal, 0.0 when they differ, NaN when either is missing.
+     */
+    static double exact(Object a, Object b) {
+        if (a == null || b == null) {
+            return Double.NaN;
+        }
+        return a.equals(b) ? 1.0 : 0.0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prefers candidates with similar smoking habits (non-smoker, occasional, smoker).
+ */
+@Component
+public class SmokingHabitCriterion implements ScoringCriterion {
+
+    @Override
+    public String name() {
+        return "smoking";
+    }
+
+    @Override
+    public double score(MatchAttributes requester, MatchAttributes candidate) {
+        return Similarity.ordinal(requester.smokingHabit(), candidate.smokingHabit());
+    }
+}
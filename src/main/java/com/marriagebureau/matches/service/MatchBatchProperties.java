@@ -0,0 +1,31 @@
+package com.marriagebureau.matches.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batch matching (POST /api/matches/batch) configuration bound from {@code app.matching.batch-*} in
+ * application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.matching")
+public class MatchBatchProperties {
+
+    /**
+     * Threads in the fork-join pool used by batch requests; 0 means one per available processor.
+     */
+    private int batchParallelism = 0;
+
+    /**
+     * Upper bound on the number of client profiles matched by a single batch request.
+     */
+    private int batchMaxProfiles = 1000;
+
+    /**
+     * Number of client profiles a batch request selects, loads and writes out at a time; bounds the
+     * matches held in memory by one request.
+     */
+    private int batchChunkSize = 50;
+}
@@ -0,0 +1,199 @@
+package com.marriagebureau.matches.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
+import com.marriagebureau.clientmanagement.mapper.ProfileMapper;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileListRow;
+import com.marriagebureau.clientmanagement.repository.projection.ProfileSummaryRow;
+import com.marriagebureau.matches.dto.MatchBatchResultDto;
+import com.marriagebureau.matches.dto.MatchCursor;
+import com.marriagebureau.matches.dto.MatchMode;
+import com.marriagebureau.matches.dto.MatchResultDto;
+import com.marriagebureau.matches.index.CandidateSelection;
+import com.marriagebureau.matches.index.ScoredCandidate;
+import com.marriagebureau.matches.scoring.MatchScoringProperties;
+import com.marriagebureau.security.SecurityService;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Matches many client profiles of one broker in a single request.
+ * Requesters are processed in chunks of {@code app.matching.batch-chunk-size}: candidate selection for a
+ * chunk shares one index scan per target gender and runs on a bounded fork-join pool, and the chunk's
+ * results are then written out one client at a time as NDJSON before the next chunk is selected. The
+ * response therefore never holds more than one chunk's selections and hydrated matches.
+ */
+@Service
+@RequiredArgsConstructor
+public class MatchBatchService {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final ProfileRepository profileRepository;
+    private final MatchCandidateSelector candidateSelector;
+    private final MatchScoringProperties scoringProperties;
+    private final MatchBatchProperties batchProperties;
+    private final SecurityService securityService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void startPool() {
+        int parallelism = batchProperties.getBatchParallelism() > 0
+                ? batchProperties.getBatchParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    void stopPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Resolves which profiles a batch request matches, checking that they belong to the authenticated broker.
+     * Must be called on the request thread, before the response starts streaming.
+     *
+     * @param profileIds The requested profile IDs; null or empty means all of the broker's clients.
+     * @return The distinct profile IDs, in request order.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> resolveRequesterIds(List<Long> profileIds) {
+        Long currentBrokerId = securityService.getCurrentUserId();
+        if (currentBrokerId == null) {
+            throw new AccessDeniedException("No authenticated user found.");
+        }
+        List<Long> requesterIds;
+        if (profileIds == null || profileIds.isEmpty()) {
+            requesterIds = profileRepository.findIdsByBrokerId(currentBrokerId);
+        } else {
+            requesterIds = new ArrayList<>(new LinkedHashSet<>(profileIds));
+            requesterIds.removeIf(Objects::isNull);
+        }
+        if (requesterIds.size() > batchProperties.getBatchMaxProfiles()) {
+            throw new BadRequestException("A batch may match at most " + batchProperties.getBatchMaxProfiles() + " profiles.");
+        }
+        if (profileIds != null && !profileIds.isEmpty()
+                && profileRepository.findIdsByBrokerIdAndIdIn(currentBrokerId, requesterIds).size() != requesterIds.size()) {
+            throw new AccessDeniedException("You do not have permission to access one or more of these profiles.");
+        }
+        return requesterIds;
+    }
+
+    /**
+     * Selects matches for every requester, chunk by chunk, and writes one {@link MatchBatchResultDto} line per
+     * requester, flushing after each. Within a chunk, profiles that appear in several clients' results are
+     * loaded and mapped once, from summary rows when {@code fields} fits them.
+     *
+     * @param fields The matched profiles' properties to return; null returns them all.
+     */
+    @Transactional(readOnly = true)
+    public void streamMatches(List<Long> requesterIds, MatchMode mode, Integer size, ProfileFields fields,
+                              OutputStream out) throws IOException {
+        int pageSize = resolvePageSize(size);
+        int chunkSize = Math.max(1, batchProperties.getBatchChunkSize());
+        for (int start = 0; start < requesterIds.size(); start += chunkSize) {
+            streamChunk(requesterIds.subList(start, Math.min(start + chunkSize, requesterIds.size())), mode, pageSize,
+                    fields, out);
+            entityManager.clear(); // Nothing loaded for this chunk is needed again.
+        }
+    }
+
+    private void streamChunk(List<Long> requesterIds, MatchMode mode, int pageSize, ProfileFields fields,
+                             OutputStream out) throws IOException {
+        Map<Long, Profile> requestersById = profileRepository.findAllById(requesterIds).stream()
+                .collect(Collectors.toMap(Profile::getId, Function.identity()));
+        List<Profile> requesters = requesterIds.stream()
+                .map(requestersById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        // One extra candidate per requester tells whether a next page exists.
+        List<CandidateSelection> selections = candidateSelector.selectForAll(requesters, mode, pageSize + 1, pool);
+
+        Map<Long, ProfileResponse> mappedProfiles = new HashMap<>();
+        for (int i = 0; i < requesters.size(); i++) {
+            List<ScoredCandidate> candidates = selections.get(i).candidates();
+            boolean hasNext = candidates.size() > pageSize;
+            if (hasNext) {
+                candidates = candidates.subList(0, pageSize);
+            }
+            loadMissing(candidates, fields, mappedProfiles);
+
+            List<MatchResultDto> matches = candidates.stream()
+                    .filter(candidate -> mappedProfiles.get(candidate.profileId()) != null) // Skip profiles deleted meanwhile.
+                    .map(candidate -> MatchResultDto.builder()
+                            .matchedProfile(mappedProfiles.get(candidate.profileId()))
+                            .compatibilityScore(candidate.score())
+                            .build())
+                    .collect(Collectors.toList());
+            MatchBatchResultDto result = MatchBatchResultDto.builder()
+                    .profileId(requesters.get(i).getId())
+                    .matches(matches)
+                    .totalMatches(selections.get(i).totalMatches())
+                    .nextCursor(hasNext ? MatchCursor.encode(candidates.get(candidates.size() - 1)) : null)
+                    .build();
+
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write(NEWLINE);
+            out.flush();
+        }
+    }
+
+    /**
+     * Loads and maps, in one query that includes the broker emails, the candidates not already mapped for an earlier client.
+     */
+    private void loadMissing(List<ScoredCandidate> candidates, ProfileFields fields, Map<Long, ProfileResponse> mappedProfiles) {
+        Set<Long> missing = new HashSet<>();
+        for (ScoredCandidate candidate : candidates) {
+            if (!mappedProfiles.containsKey(candidate.profileId())) {
+                missing.add(candidate.profileId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        if (ProfileMapper.fitsSummaryRow(fields)) {
+            for (ProfileSummaryRow row : profileRepository.findSummaryRowsByIdIn(missing)) {
+                mappedProfiles.put(row.id(), ProfileMapper.toProfileResponse(row, fields));
+            }
+        } else {
+            for (ProfileListRow row : profileRepository.findListRowsByIdIn(missing)) {
+                mappedProfiles.put(row.id(), ProfileMapper.toProfileResponse(row, fields));
+            }
+        }
+        missing.forEach(id -> mappedProfiles.putIfAbsent(id, null));
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return scoringProperties.getDefaultLimit();
+        }
+        return Math.min(size, scoringProperties.getMaxLimit());
+    }
+}
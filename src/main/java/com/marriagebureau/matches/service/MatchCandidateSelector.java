@@ -0,0 +1,90 @@
+package com.marriagebureau.matches.service;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.matches.dto.MatchMode;
+import com.marriagebureau.matches.index.CandidateSelection;
+import com.marriagebureau.matches.index.MatchAttributes;
+import com.marriagebureau.matches.index.MatchCriteria;
+import com.marriagebureau.matches.index.ProfileMatchIndex;
+import com.marriagebureau.matches.index.ScoredCandidate;
+import com.marriagebureau.matches.scoring.CompatibilityScorer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Computes ranked match candidates live from the in-memory match index.
+ * Shared by MatchService (for requests that cannot be served from the materialized lists)
+ * and by the worker that fills those lists.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchCandidateSelector {
+
+    /** Only profiles with this marital status are offered as matches. */
+    public static final MaritalStatus CANDIDATE_MARITAL_STATUS = MaritalStatus.NEVER_MARRIED;
+
+    private final ProfileMatchIndex profileMatchIndex;
+    private final CompatibilityScorer compatibilityScorer;
+
+    /**
+     * Hard-filters and scores candidates for the requester in memory, keeping only the best {@code limit}.
+     */
+    public CandidateSelection select(Profile requestingProfile, MatchMode mode, int limit) {
+        return select(requestingProfile, mode, null, limit);
+    }
+
+    /**
+     * Like {@link #select(Profile, MatchMode, int)}, but only returns candidates ranked after {@code after}.
+     */
+    public CandidateSelection select(Profile requestingProfile, MatchMode mode, ScoredCandidate after, int limit) {
+        MatchCriteria criteria = MatchCriteria.forRequester(
+                requestingProfile, targetGender(requestingProfile), CANDIDATE_MARITAL_STATUS, mode == MatchMode.MUTUAL);
+        MatchAttributes requester = profileMatchIndex.attributesOf(requestingProfile);
+        return profileMatchIndex.selectTopCandidates(
+                criteria, candidate -> compatibilityScorer.score(requester, candidate), after, limit);
+    }
+
+    /**
+     * Selects candidates for many requesters in one shared pass over the index, running the
+     * per-requester filtering and scoring on the given pool.
+     * @return One selection per requester, in the same order.
+     */
+    public List<CandidateSelection> selectForAll(List<Profile> requestingProfiles, MatchMode mode, int limit, ForkJoinPool pool) {
+        List<MatchCriteria> criteria = new ArrayList<>(requestingProfiles.size());
+        List<ToDoubleFunction<MatchAttributes>> scorers = new ArrayList<>(requestingProfiles.size());
+        for (Profile requestingProfile : requestingProfiles) {
+            criteria.add(MatchCriteria.forRequester(
+                    requestingProfile, targetGender(requestingProfile), CANDIDATE_MARITAL_STATUS, mode == MatchMode.MUTUAL));
+            MatchAttributes requester = profileMatchIndex.attributesOf(requestingProfile);
+            scorers.add(candidate -> compatibilityScorer.score(requester, candidate));
+        }
+        return profileMatchIndex.selectTopCandidatesForAll(criteria, scorers, limit, pool);
+    }
+
+    /**
+     * Scores one candidate for one requester, using their indexed attributes.
+     * @return The score, or NaN if either profile is not in the index.
+     */
+    public double score(Long requestingProfileId, Long candidateId) {
+        MatchAttributes requester = profileMatchIndex.attributesOf(requestingProfileId);
+        MatchAttributes candidate = profileMatchIndex.attributesOf(candidateId);
+        if (requester == null || candidate == null) {
+            return Double.NaN;
+        }
+        return compatibilityScorer.score(requester, candidate);
+    }
+
+    /**
+     * Men are matched with women; everyone else is matched with men.
+     */
+    public static Gender targetGender(Profile requestingProfile) {
+        return (requestingProfile.getGender() == Gender.MALE) ? Gender.FEMALE : Gender.MALE;
+    }
+}
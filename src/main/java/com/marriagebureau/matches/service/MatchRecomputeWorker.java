@@ -0,0 +1,175 @@
+package com.marriagebureau.matches.service;
+
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.matches.repository.ProfileMatchStatusRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background worker that keeps the materialized match lists current.
+ * Profile changes are queued (deduplicated per profile) and drained on a fixed delay, so a burst of
+ * edits to one profile costs a single recomputation. Only the affected rows are recomputed:
+ * the changed profile's own list, and its entries in the lists of profiles that could match it.
+ * A recomputation that fails stays queued and is retried with exponential backoff; until it succeeds the
+ * profile counts as pending, so its stale list is not served. One that violates a database constraint would
+ * fail the same way every time, so it is not retried: the profile's list is dropped and its matches are
+ * computed live until the next recomputation.
+ */
+@Component
+public class MatchRecomputeWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchRecomputeWorker.class);
+
+    /** Kinds of pending work, in increasing order of precedence when merged. */
+    private enum Kind { REFILL, CHANGED, DELETED }
+
+    private static final long INITIAL_RETRY_DELAY_MS = 5_000;
+    private static final long MAX_RETRY_DELAY_MS = 10 * 60_000;
+
+    /**
+     * A new instance per scheduling, so a task re-queued while it was running is not lost; tasks are
+     * compared by identity for that reason.
+     */
+    private static final class Task {
+
+        private final Kind kind;
+        private final int failures;
+        private final long notBefore; // When a failed task may be retried, in epoch milliseconds
+
+        Task(Kind kind) {
+            this(kind, 0, 0);
+        }
+
+        private Task(Kind kind, int failures, long notBefore) {
+            this.kind = kind;
+            this.failures = failures;
+            this.notBefore = notBefore;
+        }
+
+        Task retryLater() {
+            long delay = Math.min(MAX_RETRY_DELAY_MS, INITIAL_RETRY_DELAY_MS << Math.min(failures, 16));
+            return new Task(kind, failures + 1, System.currentTimeMillis() + delay);
+        }
+    }
+
+    private final Map<Long, Task> pending = new ConcurrentHashMap<>();
+    private final MaterializedMatchService materializedMatchService;
+    private final ProfileRepository profileRepository;
+    private final ProfileMatchStatusRepository profileMatchStatusRepository;
+    private final MaterializedMatchProperties properties;
+
+    public MatchRecomputeWorker(MaterializedMatchService materializedMatchService,
+                                ProfileRepository profileRepository,
+                                ProfileMatchStatusRepository profileMatchStatusRepository,
+                                MaterializedMatchProperties properties) {
+        this.materializedMatchService = materializedMatchService;
+        this.profileRepository = profileRepository;
+        this.profileMatchStatusRepository = profileMatchStatusRepository;
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        if (event.matchAttributesChanged()) {
+            schedule(event.profileId(), event.isDeletion() ? Kind.DELETED : Kind.CHANGED);
+        }
+    }
+
+    /**
+     * Materializes the lists of any profiles that do not have one yet, e.g. after the table was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (properties.isMaterializedEnabled()) {
+            profileMatchStatusRepository.findProfileIdsWithoutStatus().forEach(id -> schedule(id, Kind.REFILL));
+        }
+    }
+
+    /**
+     * Ages change daily, so every list is recomputed periodically (nightly by default).
+     */
+    @Scheduled(cron = "${app.matching.materialized-refresh-cron:0 30 2 * * *}")
+    public void refreshAll() {
+        if (properties.isMaterializedEnabled()) {
+            profileRepository.findAllIds().forEach(id -> schedule(id, Kind.REFILL));
+        }
+    }
+
+    /**
+     * @return true if the profile's materialized list is known to be stale and must not be served.
+     */
+    public boolean isPending(Long profileId) {
+        Task task = pending.get(profileId);
+        return task != null && (task.kind != Kind.REFILL || task.failures > 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.matching.recompute-delay-ms:2000}")
+    public void drain() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, Task> entry : new ArrayList<>(pending.entrySet())) {
+            Long profileId = entry.getKey();
+            Task task = entry.getValue();
+            if (task.notBefore > now) {
+                continue;
+            }
+            try {
+                process(profileId, task.kind);
+                pending.remove(profileId, task);
+            } catch (DataIntegrityViolationException e) {
+                // Retrying would violate the same constraint again; serve the profile's matches live instead.
+                logger.error("Recomputing matches for profile {} violates a database constraint; dropping its "
+                        + "materialized list", profileId, e);
+                discard(profileId);
+                pending.remove(profileId, task);
+            } catch (RuntimeException e) {
+                Task retry = task.retryLater();
+                logger.warn("Failed to recompute matches for profile {} (attempt {}); retrying in {} ms",
+                        profileId, retry.failures, retry.notBefore - now, e);
+                pending.replace(profileId, task, retry); // Unless it was re-queued meanwhile, which retries at once.
+            }
+        }
+    }
+
+    private void discard(Long profileId) {
+        try {
+            materializedMatchService.discardMatchList(profileId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not drop the materialized match list of profile {}", profileId, e);
+        }
+    }
+
+    private void process(Long profileId, Kind kind) {
+        List<Long> shortened = switch (kind) {
+            case DELETED -> materializedMatchService.removeProfile(profileId);
+            case CHANGED -> {
+                materializedMatchService.recomputeMatchList(profileId);
+                yield materializedMatchService.updateAppearances(profileId);
+            }
+            case REFILL -> {
+                materializedMatchService.recomputeMatchList(profileId);
+                yield List.of();
+            }
+        };
+        shortened.forEach(id -> schedule(id, Kind.REFILL));
+    }
+
+    private void schedule(Long profileId, Kind kind) {
+        if (!properties.isMaterializedEnabled()) {
+            return;
+        }
+        pending.merge(profileId, new Task(kind),
+                (current, requested) -> new Task(current.kind.compareTo(requested.kind) >= 0 ? current.kind : requested.kind));
+    }
+}
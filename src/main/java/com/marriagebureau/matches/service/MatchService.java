@@ -1,57 +1,210 @@
 package com.marriagebureau.matches.service;
 
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.mapper.ProfileFields;
 import com.marriagebureau.clientmanagement.mapper.ProfileMapper;
 import com.marriagebureau.clientmanagement.model.Profile;
-import com.marriagebureau.clientmanagement.model.enums.Gender;
-import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
 import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.matches.cache.MatchResultCache;
+import com.marriagebureau.matches.dto.MatchCursor;
+import com.marriagebureau.matches.dto.MatchMode;
+import com.marriagebureau.matches.dto.MatchPageDto;
 import com.marriagebureau.matches.dto.MatchResultDto;
+import com.marriagebureau.matches.index.CandidateSelection;
+import com.marriagebureau.matches.index.ScoredCandidate;
+import com.marriagebureau.matches.scoring.MatchScoringProperties;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
 import com.marriagebureau.usermanagement.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
-import static com.marriagebureau.clientmanagement.service.ProfileSpecifications.*;
-
 @Service
 @RequiredArgsConstructor
 public class MatchService {
 
     private final ProfileRepository profileRepository;
+    private final MatchCandidateSelector candidateSelector;
+    private final MaterializedMatchService materializedMatchService;
+    private final MatchRecomputeWorker recomputeWorker;
+    private final MatchScoringProperties scoringProperties;
+    private final MatchResultCache matchResultCache;
 
     @Transactional(readOnly = true)
     public List<MatchResultDto> findMatchesForProfile(Long requestingProfileId) {
-        // 1. Get the profile of the person we are finding matches for.
+        return findMatchesForProfile(requestingProfileId, MatchMode.ONE_WAY, null, null, null).getMatches();
+    }
+
+    /**
+     * Finds one page of matches as {@link #findMatchesForProfile(Long, MatchMode, Integer, Integer, String)} does,
+     * returning only the given profile fields. A fieldset that fits the summary columns (such as "summary") is
+     * served from a page built from summary rows; any other is applied to a page with every field. Either way
+     * the restriction is applied to the cached profiles and only changes what is serialized.
+     *
+     * @param fields The profile properties to return; null returns them all.
+     */
+    @Transactional(readOnly = true)
+    public MatchPageDto findMatchesForProfile(Long requestingProfileId, MatchMode mode,
+                                              Integer page, Integer size, String cursor, ProfileFields fields) {
+        MatchPageDto matchPage = findPage(requestingProfileId, mode, page, size, cursor, ProfileMapper.fitsSummaryRow(fields));
+        if (fields == null) {
+            return matchPage;
+        }
+        return matchPage.toBuilder()
+                .matches(matchPage.getMatches().stream()
+                        .map(match -> MatchResultDto.builder()
+                                .matchedProfile(ProfileMapper.withFields(match.getMatchedProfile(), fields))
+                                .compatibilityScore(match.getCompatibilityScore())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Finds one page of the best-scoring matches for a profile, ordered by score and then profile ID.
+     * One-way results are read from the materialized match list when it is current; everything else
+     * is computed live from the in-memory match index. Either way only the profiles on the requested
+     * page are loaded from the database. Pages are cached per profile version (see MatchResultCache).
+     *
+     * @param requestingProfileId The ID of the profile to find matches for.
+     * @param mode ONE_WAY applies only the requester's preferences; MUTUAL also requires each candidate's
+     *             preferences to accept the requester.
+     * @param page Zero-based page number; ignored when a cursor is given.
+     * @param size The page size; null uses the configured default.
+     * @param cursor The nextCursor of the previous page, or null to start from the best match.
+     * @return The page of matches, highest compatibility score first.
+     */
+    @Transactional(readOnly = true)
+    public MatchPageDto findMatchesForProfile(Long requestingProfileId, MatchMode mode,
+                                              Integer page, Integer size, String cursor) {
+        return findPage(requestingProfileId, mode, page, size, cursor, false);
+    }
+
+    /**
+     * @param summary Whether to read only the summary columns of the matched profiles.
+     */
+    private MatchPageDto findPage(Long requestingProfileId, MatchMode mode, Integer page, Integer size, String cursor,
+                                  boolean summary) {
+        int pageSize = resolvePageSize(size);
+        ScoredCandidate after = (cursor != null && !cursor.isBlank()) ? MatchCursor.decode(cursor) : null;
+        int pageNumber = (after == null && page != null) ? page : 0;
+        if (pageNumber < 0) {
+            throw new BadRequestException("Page number must not be negative.");
+        }
+        if ((long) pageNumber * pageSize + pageSize > scoringProperties.getMaxPageDepth()) {
+            throw new BadRequestException("Page is deeper than " + scoringProperties.getMaxPageDepth()
+                    + " matches. Use the cursor to page further.");
+        }
+        int offset = pageNumber * pageSize;
+        Integer keyPage = after == null ? pageNumber : null;
+
+        // 1. Serve a cached page if one exists for the profile's current version.
+        Long cachedVersion = matchResultCache.versionOf(requestingProfileId);
+        if (cachedVersion != null) {
+            MatchPageDto cached = matchResultCache.get(
+                    new MatchResultCache.Key(requestingProfileId, cachedVersion, mode, keyPage, pageSize, after, summary));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long cacheGeneration = matchResultCache.generation();
+
+        // 2. Get the profile of the person we are finding matches for.
         Profile requestingProfile = profileRepository.findById(requestingProfileId)
                 .orElseThrow(() -> new ResourceNotFoundException("Profile not found with ID: " + requestingProfileId));
 
-        // 2. Determine the target gender for the search.
-        Gender targetGender = (requestingProfile.getGender() == Gender.MALE) ? Gender.FEMALE : Gender.MALE;
-
-        // 3. Build a dynamic query using specifications based on the client's preferences.
-        Specification<Profile> spec = Specification.where(isActive())
-                .and(isNotProfile(requestingProfileId)) // Don't match with self
-                .and(hasGender(targetGender))
-                .and(isWithinAgeRange(requestingProfile.getPreferredPartnerMinAge(), requestingProfile.getPreferredPartnerMaxAge()))
-                .and(isWithinHeightRange(requestingProfile.getPreferredPartnerMinHeightCm(), requestingProfile.getPreferredPartnerMaxHeightCm()))
-                .and(hasReligion(requestingProfile.getPreferredPartnerReligion()))
-                .and(hasCaste(requestingProfile.getPreferredPartnerCaste()))
-                .and(hasMaritalStatus(MaritalStatus.NEVER_MARRIED)); // Example: only find single people
-
-        // 4. Execute the efficient database query.
-        List<Profile> potentialMatches = profileRepository.findAll(spec);
-
-        // 5. Convert the results into MatchResultDto objects.
-        // (Here we can add more complex "soft" scoring logic in the future).
-        return potentialMatches.stream()
-                .map(matchedProfile -> MatchResultDto.builder()
-                        .matchedProfile(ProfileMapper.toProfileResponse(matchedProfile))
-                        .compatibilityScore(100.0) // For now, anyone who passes the hard filters is a 100% match.
-                        .build())
+        // 3. Select one extra candidate to learn whether another page follows. Serve from the precomputed
+        //    list if possible, otherwise filter and score in memory.
+        CandidateSelection selection = null;
+        boolean totalEstimated = false;
+        if (mode == MatchMode.ONE_WAY && !recomputeWorker.isPending(requestingProfileId)) {
+            selection = materializedMatchService.readMatches(requestingProfileId, after, offset, pageSize + 1).orElse(null);
+            totalEstimated = selection != null;
+        }
+        if (selection == null) {
+            CandidateSelection top = candidateSelector.select(requestingProfile, mode, after, offset + pageSize + 1);
+            List<ScoredCandidate> ranked = top.candidates();
+            selection = new CandidateSelection(ranked.subList(Math.min(offset, ranked.size()), ranked.size()), top.totalMatches());
+        }
+        List<ScoredCandidate> candidates = selection.candidates();
+        boolean hasNext = candidates.size() > pageSize;
+        if (hasNext) {
+            candidates = candidates.subList(0, pageSize);
+        }
+
+        // 4. Load list or summary rows (with the broker email, in one statement) only for this page's candidates
+        //    and convert them, keeping the ranking.
+        List<Long> pageIds = candidates.stream().map(ScoredCandidate::profileId).collect(Collectors.toList());
+        Map<Long, ProfileResponse> profilesById = new HashMap<>();
+        if (summary) {
+            profileRepository.findSummaryRowsByIdIn(pageIds)
+                    .forEach(row -> profilesById.put(row.id(), ProfileMapper.toProfileResponse(row, null)));
+        } else {
+            profileRepository.findListRowsByIdIn(pageIds)
+                    .forEach(row -> profilesById.put(row.id(), ProfileMapper.toProfileResponse(row)));
+        }
+
+        List<MatchResultDto> matches = candidates.stream()
+                .map(candidate -> {
+                    ProfileResponse matchedProfile = profilesById.get(candidate.profileId());
+                    if (matchedProfile == null) {
+                        return null; // Deleted since the candidates were selected.
+                    }
+                    return MatchResultDto.builder()
+                            .matchedProfile(matchedProfile)
+                            .compatibilityScore(candidate.score())
+                            .build();
+                })
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+
+        MatchPageDto matchPage = MatchPageDto.builder()
+                .matches(matches)
+                .page(keyPage)
+                .size(pageSize)
+                .totalMatches(selection.totalMatches())
+                .totalEstimated(totalEstimated)
+                .nextCursor(hasNext ? MatchCursor.encode(candidates.get(candidates.size() - 1)) : null)
+                .build();
+        matchResultCache.put(new MatchResultCache.Key(requestingProfileId, requestingProfile.getVersion(), mode, keyPage, pageSize, after, summary),
+                matchPage, cacheGeneration);
+        return matchPage;
+    }
+
+    /**
+     * Returns an entity tag for a match page that is currently cached, without computing or loading anything,
+     * so an unchanged page can be answered with 304 Not Modified. Takes the same arguments as
+     * {@link #findMatchesForProfile(Long, MatchMode, Integer, Integer, String, ProfileFields)}.
+     *
+     * @return The tag, or null if the page is not cached (e.g. right after a relevant profile change).
+     */
+    public String cachedPageETag(Long requestingProfileId, MatchMode mode, Integer page, Integer size, String cursor,
+                                 ProfileFields fields) {
+        Long cachedVersion = matchResultCache.versionOf(requestingProfileId);
+        if (cachedVersion == null) {
+            return null;
+        }
+        ScoredCandidate after = (cursor != null && !cursor.isBlank()) ? MatchCursor.decode(cursor) : null;
+        Integer keyPage = after == null ? (page != null ? page : 0) : null;
+        String tag = matchResultCache.tagOf(
+                new MatchResultCache.Key(requestingProfileId, cachedVersion, mode, keyPage, resolvePageSize(size), after,
+                        ProfileMapper.fitsSummaryRow(fields)));
+        if (tag == null) {
+            return null;
+        }
+        return "\"m" + requestingProfileId + "-" + tag + (fields != null ? "-" + Integer.toHexString(fields.toString().hashCode()) : "") + "\"";
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return scoringProperties.getDefaultLimit();
+        }
+        return Math.min(size, scoringProperties.getMaxLimit());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.marriagebureau.matches.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialized match list configuration bound from {@code app.matching.materialized-*} in application.properties.
+ * The recompute worker's schedule is read directly from {@code app.matching.recompute-delay-ms} and
+ * {@code app.matching.materialized-refresh-cron}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.matching")
+public class MaterializedMatchProperties {
+
+    /**
+     * Whether match lists are precomputed into the profile_matches table by the background worker.
+     */
+    private boolean materializedEnabled = true;
+
+    /**
+     * Number of ranked matches stored per profile in the profile_matches table.
+     * Requests for more than this many matches are computed live.
+     */
+    private int materializedLimit = 200;
+}
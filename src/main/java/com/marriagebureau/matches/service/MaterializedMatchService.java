@@ -0,0 +1,200 @@
+package com.marriagebureau.matches.service;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.matches.dto.MatchMode;
+import com.marriagebureau.matches.index.CandidateSelection;
+import com.marriagebureau.matches.index.ProfileMatchIndex;
+import com.marriagebureau.matches.index.ScoredCandidate;
+import com.marriagebureau.matches.model.ProfileMatch;
+import com.marriagebureau.matches.model.ProfileMatchId;
+import com.marriagebureau.matches.model.ProfileMatchStatus;
+import com.marriagebureau.matches.repository.ProfileMatchRepository;
+import com.marriagebureau.matches.repository.ProfileMatchStatusRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Reads and maintains the materialized match lists in the profile_matches table.
+ * Each profile's list holds its best {@code app.matching.materialized-limit} one-way matches.
+ */
+@Service
+@RequiredArgsConstructor
+public class MaterializedMatchService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProfileRepository profileRepository;
+    private final ProfileMatchRepository profileMatchRepository;
+    private final ProfileMatchStatusRepository profileMatchStatusRepository;
+    private final ProfileMatchIndex profileMatchIndex;
+    private final MatchCandidateSelector candidateSelector;
+    private final MaterializedMatchProperties properties;
+    private final EntityManager entityManager;
+
+    /**
+     * Reads one page of a materialized match list with a single range scan, starting either after a keyset
+     * position or at an offset.
+     *
+     * @param after  The last candidate of the previous page, or null to use {@code offset}.
+     * @param offset The number of entries to skip when {@code after} is null.
+     * @param limit  The maximum number of entries to return.
+     * @return The page, with the total from the last recompute, or empty if the list has not been materialized
+     *         or does not reach deep enough to answer the request.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CandidateSelection> readMatches(Long profileId, ScoredCandidate after, int offset, int limit) {
+        int storedLimit = properties.getMaterializedLimit();
+        if (!properties.isMaterializedEnabled() || (after == null && offset + limit > storedLimit)) {
+            return Optional.empty();
+        }
+        Optional<ProfileMatchStatus> status = profileMatchStatusRepository.findById(profileId);
+        if (status.isEmpty()) {
+            return Optional.empty();
+        }
+        long totalMatches = status.get().getTotalMatches();
+        List<ProfileMatch> page = (after == null)
+                ? skip(profileMatchRepository.findRanked(profileId, PageRequest.of(0, offset + limit)), offset)
+                : profileMatchRepository.findRankedAfter(profileId, after.score(), after.profileId(), PageRequest.of(0, limit));
+        if (page.size() < limit && after != null && totalMatches > storedLimit) {
+            return Optional.empty(); // The cursor ran off the end of the stored list but more matches exist.
+        }
+        return Optional.of(new CandidateSelection(page.stream()
+                .map(match -> new ScoredCandidate(match.getCandidateId(), match.getScore()))
+                .collect(Collectors.toList()), totalMatches));
+    }
+
+    /**
+     * Replaces the profile's own match list with a freshly computed one. Candidates the index still holds but
+     * whose profiles no longer exist (deleted without an event reaching the index) are left out of the list
+     * and removed from the index.
+     */
+    @Transactional
+    public void recomputeMatchList(Long profileId) {
+        Optional<Profile> profile = profileRepository.findById(profileId);
+        if (profile.isEmpty()) {
+            return;
+        }
+        profileMatchRepository.deleteByProfileId(profileId);
+        CandidateSelection selection = candidateSelector.select(profile.get(), MatchMode.ONE_WAY, properties.getMaterializedLimit());
+        Set<Long> existing = selection.candidates().isEmpty() ? Set.of()
+                : new HashSet<>(profileRepository.findIdsByIdIn(selection.candidates().stream()
+                        .map(ScoredCandidate::profileId).toList()));
+        LocalDateTime now = LocalDateTime.now();
+        long missing = 0;
+        for (ScoredCandidate candidate : selection.candidates()) {
+            if (existing.contains(candidate.profileId())) {
+                entityManager.persist(new ProfileMatch(profileId, candidate.profileId(), candidate.score(), now));
+            } else {
+                profileMatchIndex.remove(candidate.profileId());
+                missing++;
+            }
+        }
+        profileMatchStatusRepository.save(new ProfileMatchStatus(profileId, now, selection.totalMatches() - missing));
+    }
+
+    /**
+     * Drops the profile's own list, so its matches are computed live until the list is recomputed.
+     */
+    @Transactional
+    public void discardMatchList(Long profileId) {
+        profileMatchRepository.deleteByProfileId(profileId);
+        profileMatchStatusRepository.deleteById(profileId);
+    }
+
+    /**
+     * Updates the changed profile's entries in other profiles' match lists: it is removed from lists whose
+     * criteria it no longer meets, rescored where it stays, and inserted where it now ranks in the top K.
+     *
+     * @return The IDs of the lists it was removed from; these are one entry short and should be refilled.
+     */
+    @Transactional
+    public List<Long> updateAppearances(Long candidateId) {
+        if (!profileRepository.existsById(candidateId)) {
+            return List.of(); // Deleted meanwhile; its deletion event removes its appearances.
+        }
+        Set<Long> accepting = LongStream.of(profileMatchIndex.findProfilesAccepting(candidateId, MatchCandidateSelector.CANDIDATE_MARITAL_STATUS))
+                .boxed()
+                .collect(Collectors.toSet());
+        Set<Long> holding = new HashSet<>(profileMatchRepository.findProfileIdsByCandidateId(candidateId));
+
+        List<Long> shortened = new ArrayList<>();
+        for (Long profileId : holding) {
+            if (!accepting.contains(profileId)) {
+                profileMatchRepository.deleteById(new ProfileMatchId(profileId, candidateId));
+                shortened.add(profileId);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> acceptingIds = new ArrayList<>(accepting);
+        for (int from = 0; from < acceptingIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = acceptingIds.subList(from, Math.min(from + CHUNK_SIZE, acceptingIds.size()));
+            Set<Long> materialized = new HashSet<>(profileMatchStatusRepository.findMaterializedProfileIds(chunk));
+            Map<Long, Long> listSizes = new HashMap<>();
+            for (Object[] row : profileMatchRepository.countByProfileIds(chunk)) {
+                listSizes.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long profileId : chunk) {
+                if (materialized.contains(profileId)) {
+                    placeCandidate(profileId, candidateId, holding.contains(profileId), listSizes.getOrDefault(profileId, 0L), now);
+                }
+            }
+        }
+        return shortened;
+    }
+
+    /**
+     * Removes a deleted profile's own list and its entries in other lists.
+     * @return The IDs of the lists it was removed from.
+     */
+    @Transactional
+    public List<Long> removeProfile(Long profileId) {
+        List<Long> holders = profileMatchRepository.findProfileIdsByCandidateId(profileId);
+        profileMatchRepository.deleteByCandidateId(profileId);
+        profileMatchRepository.deleteByProfileId(profileId);
+        profileMatchStatusRepository.deleteById(profileId);
+        return holders;
+    }
+
+    private static <T> List<T> skip(List<T> list, int offset) {
+        return list.subList(Math.min(offset, list.size()), list.size());
+    }
+
+    private void placeCandidate(Long profileId, Long candidateId, boolean alreadyListed, long listSize, LocalDateTime now) {
+        double score = candidateSelector.score(profileId, candidateId);
+        if (Double.isNaN(score)) {
+            return;
+        }
+        if (alreadyListed) {
+            ProfileMatch existing = entityManager.find(ProfileMatch.class, new ProfileMatchId(profileId, candidateId));
+            existing.setScore(score);
+            existing.setComputedAt(now);
+            return;
+        }
+        if (listSize >= properties.getMaterializedLimit()) {
+            ProfileMatch lowest = profileMatchRepository.findLowestRanked(profileId, PageRequest.of(0, 1)).get(0);
+            boolean ranksHigher = score > lowest.getScore()
+                    || (score == lowest.getScore() && candidateId < lowest.getCandidateId());
+            if (!ranksHigher) {
+                return;
+            }
+            profileMatchRepository.delete(lowest);
+        }
+        entityManager.persist(new ProfileMatch(profileId, candidateId, score, now));
+    }
+}
@@ -0,0 +1,21 @@
+-- Version 10: Saved searches, re-run incrementally from a high-water mark on client_profiles.last_updated_date.
+
+-- last_updated_date is now written on insert as well, so "changed since" is a single range on one column.
+UPDATE client_profiles SET last_updated_date = created_date WHERE last_updated_date IS NULL;
+
+-- Serves a saved-search run as a range scan over the rows changed after the mark, in keyset order.
+CREATE INDEX idx_client_profiles_last_updated ON client_profiles (last_updated_date, id);
+
+CREATE TABLE saved_searches (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    broker_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    criteria VARCHAR(4000) NOT NULL,
+    last_seen_updated_date TIMESTAMP NOT NULL,
+    last_seen_profile_id BIGINT NOT NULL,
+    last_run_date TIMESTAMP,
+    created_date TIMESTAMP NOT NULL,
+    FOREIGN KEY (broker_id) REFERENCES app_users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_saved_searches_broker ON saved_searches (broker_id, id);
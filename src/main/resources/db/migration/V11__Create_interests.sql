@@ -0,0 +1,17 @@
+-- Version 11: Interests sent between client profiles of different brokers.
+-- The Interest entity was mapped without a table, so the interest endpoints failed on first use.
+
+CREATE TABLE interests (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sender_profile_id BIGINT NOT NULL,
+    receiver_profile_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    sent_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (sender_profile_id) REFERENCES client_profiles(id) ON DELETE CASCADE,
+    FOREIGN KEY (receiver_profile_id) REFERENCES client_profiles(id) ON DELETE CASCADE
+);
+
+-- Serve GET /api/interests/sent/{profileId} and /received/{profileId}; the sender index also backs
+-- the duplicate check, (sender, receiver) being unique.
+CREATE UNIQUE INDEX idx_interests_sender_receiver ON interests (sender_profile_id, receiver_profile_id);
+CREATE INDEX idx_interests_receiver ON interests (receiver_profile_id);
@@ -0,0 +1,11 @@
+-- Version 12: Pooled ID generators, so client profile inserts can be sent as JDBC batches.
+-- Pooled ID allocation for entities whose inserts are JDBC-batched (identity columns prevent batching).
+-- Each row holds the lowest ID of the next block (pooled-lo); Hibernate reserves a block by adding its
+-- allocation size under a row lock. The application no longer relies on AUTO_INCREMENT for client_profiles.id.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'client_profiles', COALESCE(MAX(id), 0) + 1 FROM client_profiles;
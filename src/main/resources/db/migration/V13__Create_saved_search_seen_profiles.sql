@@ -0,0 +1,11 @@
+-- Version 13: The profile versions each saved search returned recently. A run re-reads a safety window before
+-- its high-water mark, since last_updated_date is stamped when a change is written rather than when it commits;
+-- these rows let it skip what it already returned.
+CREATE TABLE saved_search_seen_profiles (
+    saved_search_id BIGINT NOT NULL,
+    profile_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    last_updated_date TIMESTAMP NOT NULL,
+    PRIMARY KEY (saved_search_id, profile_id),
+    FOREIGN KEY (saved_search_id) REFERENCES saved_searches(id) ON DELETE CASCADE
+);
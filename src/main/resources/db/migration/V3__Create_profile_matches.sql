@@ -0,0 +1,24 @@
+-- Version 3: Materialized match lists, filled by the background match recompute worker.
+
+CREATE TABLE profile_matches (
+    profile_id BIGINT NOT NULL,
+    candidate_id BIGINT NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    computed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (profile_id, candidate_id),
+    FOREIGN KEY (profile_id) REFERENCES client_profiles(id) ON DELETE CASCADE,
+    FOREIGN KEY (candidate_id) REFERENCES client_profiles(id) ON DELETE CASCADE
+);
+
+-- Serves GET /api/matches/{profileId} as a single range scan in ranking order.
+CREATE INDEX idx_profile_matches_ranking ON profile_matches (profile_id, score, candidate_id);
+
+-- Finds the lists a changed profile appears in.
+CREATE INDEX idx_profile_matches_candidate ON profile_matches (candidate_id);
+
+-- One row per profile whose match list has been materialized.
+CREATE TABLE profile_match_status (
+    profile_id BIGINT PRIMARY KEY,
+    computed_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (profile_id) REFERENCES client_profiles(id) ON DELETE CASCADE
+);
@@ -0,0 +1,3 @@
+-- Version 4: Total match count per materialized list, returned as the estimate for paged match results.
+
+ALTER TABLE profile_match_status ADD COLUMN total_matches BIGINT NOT NULL DEFAULT 0;
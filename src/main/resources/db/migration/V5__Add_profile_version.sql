@@ -0,0 +1,3 @@
+-- Version 5: Optimistic-locking version for client profiles, also used to key cached match results.
+
+ALTER TABLE client_profiles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
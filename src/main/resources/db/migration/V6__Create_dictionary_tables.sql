@@ -0,0 +1,169 @@
+-- Version 6: Dictionary tables for religion, caste, sub-caste, city and occupation.
+-- Profiles keep the text they were entered with for display, and gain integer keys that matching and search filter on.
+-- Spelling variants resolve to one term through dictionary_aliases, whose keys are LOWER(TRIM(text)).
+
+CREATE TABLE dictionary_terms (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    category VARCHAR(30) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_dictionary_terms_category_name UNIQUE (category, name)
+);
+
+CREATE TABLE dictionary_aliases (
+    category VARCHAR(30) NOT NULL,
+    alias VARCHAR(255) NOT NULL,
+    term_id BIGINT NOT NULL,
+    PRIMARY KEY (category, alias),
+    FOREIGN KEY (term_id) REFERENCES dictionary_terms(id) ON DELETE CASCADE
+);
+
+-- Canonical terms
+INSERT INTO dictionary_terms (category, name) VALUES
+    ('RELIGION', 'Hindu'), ('RELIGION', 'Muslim'), ('RELIGION', 'Christian'), ('RELIGION', 'Sikh'),
+    ('RELIGION', 'Jain'), ('RELIGION', 'Buddhist'), ('RELIGION', 'Parsi'), ('RELIGION', 'Jewish'),
+    ('CASTE', 'Brahmin'), ('CASTE', 'Maratha'), ('CASTE', 'Kshatriya'), ('CASTE', 'Vaishya'),
+    ('CASTE', 'Agarwal'), ('CASTE', 'Rajput'), ('CASTE', 'Kayastha'), ('CASTE', 'Reddy'),
+    ('CASTE', 'Nair'), ('CASTE', 'Iyer'), ('CASTE', 'Iyengar'), ('CASTE', 'Yadav'), ('CASTE', 'Jat'),
+    ('CITY', 'Mumbai'), ('CITY', 'Delhi'), ('CITY', 'Bengaluru'), ('CITY', 'Chennai'), ('CITY', 'Kolkata'),
+    ('CITY', 'Pune'), ('CITY', 'Hyderabad'), ('CITY', 'Gurugram'), ('CITY', 'Thiruvananthapuram'),
+    ('CITY', 'Mysuru'), ('CITY', 'Kochi'), ('CITY', 'Vadodara'), ('CITY', 'Puducherry'), ('CITY', 'Varanasi'),
+    ('CITY', 'Prayagraj'),
+    ('OCCUPATION', 'Software Engineer'), ('OCCUPATION', 'Doctor'), ('OCCUPATION', 'Chartered Accountant'),
+    ('OCCUPATION', 'Teacher'), ('OCCUPATION', 'Lawyer'), ('OCCUPATION', 'Business Owner'),
+    ('OCCUPATION', 'Civil Servant');
+
+-- Known spelling variants and former names
+INSERT INTO dictionary_aliases (category, alias, term_id)
+SELECT t.category, v.alias, t.id
+FROM dictionary_terms t
+JOIN (
+    SELECT 'RELIGION' AS category, 'hinduism' AS alias, 'Hindu' AS name
+    UNION ALL SELECT 'RELIGION', 'hindhu', 'Hindu'
+    UNION ALL SELECT 'RELIGION', 'islam', 'Muslim'
+    UNION ALL SELECT 'RELIGION', 'muslim - sunni', 'Muslim'
+    UNION ALL SELECT 'RELIGION', 'muslim - shia', 'Muslim'
+    UNION ALL SELECT 'RELIGION', 'christianity', 'Christian'
+    UNION ALL SELECT 'RELIGION', 'sikhism', 'Sikh'
+    UNION ALL SELECT 'RELIGION', 'jainism', 'Jain'
+    UNION ALL SELECT 'RELIGION', 'buddhism', 'Buddhist'
+    UNION ALL SELECT 'RELIGION', 'zoroastrian', 'Parsi'
+    UNION ALL SELECT 'CASTE', 'brahman', 'Brahmin'
+    UNION ALL SELECT 'CASTE', 'bramhin', 'Brahmin'
+    UNION ALL SELECT 'CASTE', 'brahmins', 'Brahmin'
+    UNION ALL SELECT 'CASTE', 'marathas', 'Maratha'
+    UNION ALL SELECT 'CASTE', 'aggarwal', 'Agarwal'
+    UNION ALL SELECT 'CASTE', 'agrawal', 'Agarwal'
+    UNION ALL SELECT 'CASTE', 'kayasth', 'Kayastha'
+    UNION ALL SELECT 'CASTE', 'iyengar brahmin', 'Iyengar'
+    UNION ALL SELECT 'CASTE', 'iyer brahmin', 'Iyer'
+    UNION ALL SELECT 'CITY', 'bombay', 'Mumbai'
+    UNION ALL SELECT 'CITY', 'new delhi', 'Delhi'
+    UNION ALL SELECT 'CITY', 'bangalore', 'Bengaluru'
+    UNION ALL SELECT 'CITY', 'bengaluru (bangalore)', 'Bengaluru'
+    UNION ALL SELECT 'CITY', 'madras', 'Chennai'
+    UNION ALL SELECT 'CITY', 'calcutta', 'Kolkata'
+    UNION ALL SELECT 'CITY', 'poona', 'Pune'
+    UNION ALL SELECT 'CITY', 'gurgaon', 'Gurugram'
+    UNION ALL SELECT 'CITY', 'trivandrum', 'Thiruvananthapuram'
+    UNION ALL SELECT 'CITY', 'mysore', 'Mysuru'
+    UNION ALL SELECT 'CITY', 'cochin', 'Kochi'
+    UNION ALL SELECT 'CITY', 'baroda', 'Vadodara'
+    UNION ALL SELECT 'CITY', 'pondicherry', 'Puducherry'
+    UNION ALL SELECT 'CITY', 'benares', 'Varanasi'
+    UNION ALL SELECT 'CITY', 'banaras', 'Varanasi'
+    UNION ALL SELECT 'CITY', 'allahabad', 'Prayagraj'
+    UNION ALL SELECT 'OCCUPATION', 'software developer', 'Software Engineer'
+    UNION ALL SELECT 'OCCUPATION', 'software professional', 'Software Engineer'
+    UNION ALL SELECT 'OCCUPATION', 'it professional', 'Software Engineer'
+    UNION ALL SELECT 'OCCUPATION', 'physician', 'Doctor'
+    UNION ALL SELECT 'OCCUPATION', 'ca', 'Chartered Accountant'
+    UNION ALL SELECT 'OCCUPATION', 'advocate', 'Lawyer'
+    UNION ALL SELECT 'OCCUPATION', 'businessman', 'Business Owner'
+    UNION ALL SELECT 'OCCUPATION', 'business', 'Business Owner'
+    UNION ALL SELECT 'OCCUPATION', 'government employee', 'Civil Servant'
+) v ON v.category = t.category AND v.name = t.name;
+
+-- Backfill: every distinct existing value (including partner preferences) not covered by an alias becomes a term of its own.
+INSERT INTO dictionary_terms (category, name)
+SELECT 'RELIGION', MIN(TRIM(p.term_text)) FROM (
+    SELECT religion AS term_text FROM client_profiles
+    UNION ALL SELECT preferred_partner_religion FROM client_profiles
+) p
+WHERE TRIM(p.term_text) <> '' AND NOT EXISTS (
+    SELECT 1 FROM dictionary_aliases a WHERE a.category = 'RELIGION' AND a.alias = LOWER(TRIM(p.term_text)))
+  AND NOT EXISTS (
+    SELECT 1 FROM dictionary_terms t WHERE t.category = 'RELIGION' AND LOWER(t.name) = LOWER(TRIM(p.term_text)))
+GROUP BY LOWER(TRIM(p.term_text));
+
+INSERT INTO dictionary_terms (category, name)
+SELECT 'CASTE', MIN(TRIM(p.term_text)) FROM (
+    SELECT caste AS term_text FROM client_profiles
+    UNION ALL SELECT preferred_partner_caste FROM client_profiles
+) p
+WHERE TRIM(p.term_text) <> '' AND NOT EXISTS (
+    SELECT 1 FROM dictionary_aliases a WHERE a.category = 'CASTE' AND a.alias = LOWER(TRIM(p.term_text)))
+  AND NOT EXISTS (
+    SELECT 1 FROM dictionary_terms t WHERE t.category = 'CASTE' AND LOWER(t.name) = LOWER(TRIM(p.term_text)))
+GROUP BY LOWER(TRIM(p.term_text));
+
+INSERT INTO dictionary_terms (category, name)
+SELECT 'SUB_CASTE', MIN(TRIM(p.sub_caste)) FROM client_profiles p
+WHERE TRIM(p.sub_caste) <> ''
+GROUP BY LOWER(TRIM(p.sub_caste));
+
+INSERT INTO dictionary_terms (category, name)
+SELECT 'CITY', MIN(TRIM(p.city)) FROM client_profiles p
+WHERE TRIM(p.city) <> '' AND NOT EXISTS (
+    SELECT 1 FROM dictionary_aliases a WHERE a.category = 'CITY' AND a.alias = LOWER(TRIM(p.city)))
+  AND NOT EXISTS (
+    SELECT 1 FROM dictionary_terms t WHERE t.category = 'CITY' AND LOWER(t.name) = LOWER(TRIM(p.city)))
+GROUP BY LOWER(TRIM(p.city));
+
+INSERT INTO dictionary_terms (category, name)
+SELECT 'OCCUPATION', MIN(TRIM(p.occupation)) FROM client_profiles p
+WHERE TRIM(p.occupation) <> '' AND NOT EXISTS (
+    SELECT 1 FROM dictionary_aliases a WHERE a.category = 'OCCUPATION' AND a.alias = LOWER(TRIM(p.occupation)))
+  AND NOT EXISTS (
+    SELECT 1 FROM dictionary_terms t WHERE t.category = 'OCCUPATION' AND LOWER(t.name) = LOWER(TRIM(p.occupation)))
+GROUP BY LOWER(TRIM(p.occupation));
+
+-- Every term is also reachable by its own name. No variant above equals a term name, and backfilled
+-- names were only added where no alias matched, so these keys are new.
+INSERT INTO dictionary_aliases (category, alias, term_id)
+SELECT t.category, LOWER(t.name), t.id FROM dictionary_terms t;
+
+-- Integer keys on profiles
+ALTER TABLE client_profiles ADD COLUMN religion_id BIGINT;
+ALTER TABLE client_profiles ADD COLUMN caste_id BIGINT;
+ALTER TABLE client_profiles ADD COLUMN sub_caste_id BIGINT;
+ALTER TABLE client_profiles ADD COLUMN city_id BIGINT;
+ALTER TABLE client_profiles ADD COLUMN occupation_id BIGINT;
+ALTER TABLE client_profiles ADD COLUMN preferred_partner_religion_id BIGINT;
+ALTER TABLE client_profiles ADD COLUMN preferred_partner_caste_id BIGINT;
+
+UPDATE client_profiles SET
+    religion_id = (SELECT a.term_id FROM dictionary_aliases a
+                   WHERE a.category = 'RELIGION' AND a.alias = LOWER(TRIM(client_profiles.religion))),
+    caste_id = (SELECT a.term_id FROM dictionary_aliases a
+                WHERE a.category = 'CASTE' AND a.alias = LOWER(TRIM(client_profiles.caste))),
+    sub_caste_id = (SELECT a.term_id FROM dictionary_aliases a
+                    WHERE a.category = 'SUB_CASTE' AND a.alias = LOWER(TRIM(client_profiles.sub_caste))),
+    city_id = (SELECT a.term_id FROM dictionary_aliases a
+               WHERE a.category = 'CITY' AND a.alias = LOWER(TRIM(client_profiles.city))),
+    occupation_id = (SELECT a.term_id FROM dictionary_aliases a
+                     WHERE a.category = 'OCCUPATION' AND a.alias = LOWER(TRIM(client_profiles.occupation))),
+    preferred_partner_religion_id = (SELECT a.term_id FROM dictionary_aliases a
+                                     WHERE a.category = 'RELIGION' AND a.alias = LOWER(TRIM(client_profiles.preferred_partner_religion))),
+    preferred_partner_caste_id = (SELECT a.term_id FROM dictionary_aliases a
+                                  WHERE a.category = 'CASTE' AND a.alias = LOWER(TRIM(client_profiles.preferred_partner_caste)));
+
+ALTER TABLE client_profiles ADD CONSTRAINT fk_client_profiles_religion FOREIGN KEY (religion_id) REFERENCES dictionary_terms(id);
+ALTER TABLE client_profiles ADD CONSTRAINT fk_client_profiles_caste FOREIGN KEY (caste_id) REFERENCES dictionary_terms(id);
+ALTER TABLE client_profiles ADD CONSTRAINT fk_client_profiles_sub_caste FOREIGN KEY (sub_caste_id) REFERENCES dictionary_terms(id);
+ALTER TABLE client_profiles ADD CONSTRAINT fk_client_profiles_city FOREIGN KEY (city_id) REFERENCES dictionary_terms(id);
+ALTER TABLE client_profiles ADD CONSTRAINT fk_client_profiles_occupation FOREIGN KEY (occupation_id) REFERENCES dictionary_terms(id);
+
+CREATE INDEX idx_client_profiles_religion_id ON client_profiles (religion_id);
+CREATE INDEX idx_client_profiles_caste_id ON client_profiles (caste_id);
+CREATE INDEX idx_client_profiles_city_id ON client_profiles (city_id);
+CREATE INDEX idx_client_profiles_occupation_id ON client_profiles (occupation_id);
@@ -0,0 +1,104 @@
+-- Version 7: City coordinates and partner location preferences.
+-- Coordinates are loaded into memory at startup and turned into a precomputed city-to-city distance table,
+-- so "within N km" is an integer comparison in the match path.
+
+CREATE TABLE city_coordinates (
+    city_id BIGINT PRIMARY KEY,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    FOREIGN KEY (city_id) REFERENCES dictionary_terms(id) ON DELETE CASCADE
+);
+
+CREATE TABLE city_coordinates_seed (
+    name VARCHAR(255) NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL
+);
+
+INSERT INTO city_coordinates_seed (name, latitude, longitude)
+    SELECT 'Mumbai' AS name, 19.0760 AS latitude, 72.8777 AS longitude
+    UNION ALL SELECT 'Delhi', 28.7041, 77.1025
+    UNION ALL SELECT 'Bengaluru', 12.9716, 77.5946
+    UNION ALL SELECT 'Chennai', 13.0827, 80.2707
+    UNION ALL SELECT 'Kolkata', 22.5726, 88.3639
+    UNION ALL SELECT 'Pune', 18.5204, 73.8567
+    UNION ALL SELECT 'Hyderabad', 17.3850, 78.4867
+    UNION ALL SELECT 'Gurugram', 28.4595, 77.0266
+    UNION ALL SELECT 'Thiruvananthapuram', 8.5241, 76.9366
+    UNION ALL SELECT 'Mysuru', 12.2958, 76.6394
+    UNION ALL SELECT 'Kochi', 9.9312, 76.2673
+    UNION ALL SELECT 'Vadodara', 22.3072, 73.1812
+    UNION ALL SELECT 'Puducherry', 11.9416, 79.8083
+    UNION ALL SELECT 'Varanasi', 25.3176, 82.9739
+    UNION ALL SELECT 'Prayagraj', 25.4358, 81.8463
+    UNION ALL SELECT 'Nagpur', 21.1458, 79.0882
+    UNION ALL SELECT 'Ahmedabad', 23.0225, 72.5714
+    UNION ALL SELECT 'Jaipur', 26.9124, 75.7873
+    UNION ALL SELECT 'Lucknow', 26.8467, 80.9462
+    UNION ALL SELECT 'Chandigarh', 30.7333, 76.7794
+    UNION ALL SELECT 'Indore', 22.7196, 75.8577
+    UNION ALL SELECT 'Surat', 21.1702, 72.8311
+    UNION ALL SELECT 'Nashik', 19.9975, 73.7898
+    UNION ALL SELECT 'Thane', 19.2183, 72.9781
+    UNION ALL SELECT 'Navi Mumbai', 19.0330, 73.0297
+    UNION ALL SELECT 'Aurangabad', 19.8762, 75.3433
+    UNION ALL SELECT 'Kolhapur', 16.7050, 74.2433
+    UNION ALL SELECT 'Noida', 28.5355, 77.3910
+    UNION ALL SELECT 'Ghaziabad', 28.6692, 77.4538
+    UNION ALL SELECT 'Faridabad', 28.4089, 77.3178
+    UNION ALL SELECT 'Bhopal', 23.2599, 77.4126
+    UNION ALL SELECT 'Patna', 25.5941, 85.1376
+    UNION ALL SELECT 'Ranchi', 23.3441, 85.3096
+    UNION ALL SELECT 'Bhubaneswar', 20.2961, 85.8245
+    UNION ALL SELECT 'Guwahati', 26.1445, 91.7362
+    UNION ALL SELECT 'Coimbatore', 11.0168, 76.9558
+    UNION ALL SELECT 'Madurai', 9.9252, 78.1198
+    UNION ALL SELECT 'Visakhapatnam', 17.6868, 83.2185
+    UNION ALL SELECT 'Vijayawada', 16.5062, 80.6480
+    UNION ALL SELECT 'Mangaluru', 12.9141, 74.8560
+    UNION ALL SELECT 'Hubballi', 15.3647, 75.1240
+    UNION ALL SELECT 'Panaji', 15.4909, 73.8278
+    UNION ALL SELECT 'Amritsar', 31.6340, 74.8723
+    UNION ALL SELECT 'Ludhiana', 30.9010, 75.8573
+    UNION ALL SELECT 'Dehradun', 30.3165, 78.0322
+    UNION ALL SELECT 'Kanpur', 26.4499, 80.3319
+    UNION ALL SELECT 'Agra', 27.1767, 78.0081
+    UNION ALL SELECT 'Rajkot', 22.3039, 70.8022
+    UNION ALL SELECT 'Udaipur', 24.5854, 73.7125
+    UNION ALL SELECT 'Jodhpur', 26.2389, 73.0243
+    UNION ALL SELECT 'Raipur', 21.2514, 81.6296;
+
+-- Cities not yet in the dictionary become terms, reachable by their own name.
+INSERT INTO dictionary_terms (category, name)
+SELECT 'CITY', s.name FROM city_coordinates_seed s
+WHERE NOT EXISTS (
+    SELECT 1 FROM dictionary_aliases a WHERE a.category = 'CITY' AND a.alias = LOWER(s.name));
+
+INSERT INTO dictionary_aliases (category, alias, term_id)
+SELECT t.category, LOWER(t.name), t.id FROM dictionary_terms t
+WHERE t.category = 'CITY' AND NOT EXISTS (
+    SELECT 1 FROM dictionary_aliases a WHERE a.category = 'CITY' AND a.alias = LOWER(t.name));
+
+INSERT INTO dictionary_aliases (category, alias, term_id)
+SELECT t.category, v.alias, t.id
+FROM dictionary_terms t
+JOIN (
+    SELECT 'mangalore' AS alias, 'Mangaluru' AS name
+    UNION ALL SELECT 'hubli', 'Hubballi'
+    UNION ALL SELECT 'vizag', 'Visakhapatnam'
+    UNION ALL SELECT 'panjim', 'Panaji'
+    UNION ALL SELECT 'cawnpore', 'Kanpur'
+) v ON t.category = 'CITY' AND v.name = t.name
+WHERE NOT EXISTS (
+    SELECT 1 FROM dictionary_aliases a WHERE a.category = 'CITY' AND a.alias = v.alias);
+
+INSERT INTO city_coordinates (city_id, latitude, longitude)
+SELECT a.term_id, s.latitude, s.longitude
+FROM city_coordinates_seed s
+JOIN dictionary_aliases a ON a.category = 'CITY' AND a.alias = LOWER(s.name);
+
+DROP TABLE city_coordinates_seed;
+
+-- Partner location preference: ANY, SAME_CITY, SAME_STATE or WITHIN_DISTANCE (of preferred_partner_max_distance_km)
+ALTER TABLE client_profiles ADD COLUMN preferred_partner_location VARCHAR(20);
+ALTER TABLE client_profiles ADD COLUMN preferred_partner_max_distance_km INT;
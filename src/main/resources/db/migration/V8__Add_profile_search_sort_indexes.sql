@@ -0,0 +1,11 @@
+-- Version 8: Indexes behind the sortable columns of profile search.
+-- Each ends in id, the keyset tie-breaker, so a cursor page is a range scan in index order.
+-- The first set serves searches over all active profiles, the second a broker's own clients.
+
+CREATE INDEX idx_client_profiles_active_created ON client_profiles (is_active, created_date, id);
+CREATE INDEX idx_client_profiles_active_dob ON client_profiles (is_active, date_of_birth, id);
+CREATE INDEX idx_client_profiles_active_height ON client_profiles (is_active, height_cm, id);
+
+CREATE INDEX idx_client_profiles_broker_created ON client_profiles (broker_id, created_date, id);
+CREATE INDEX idx_client_profiles_broker_dob ON client_profiles (broker_id, date_of_birth, id);
+CREATE INDEX idx_client_profiles_broker_height ON client_profiles (broker_id, height_cm, id);
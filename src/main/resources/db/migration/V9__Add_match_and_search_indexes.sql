@@ -0,0 +1,16 @@
+-- Version 9: Composite indexes aligned with the ProfileSpecifications predicate order used by match and search queries:
+-- equality columns first (is_active, gender, marital_status, then religion/caste), the date_of_birth range next,
+-- and height_cm last so the height range is checked inside the index. InnoDB secondary indexes carry the primary key,
+-- so queries selecting only IDs are answered from the index alone.
+
+-- Partner preferences with a religion (and usually a caste)
+CREATE INDEX idx_client_profiles_match ON client_profiles
+    (is_active, gender, marital_status, religion_id, caste_id, date_of_birth, height_cm);
+
+-- Partner preferences without a religion: age range directly after the equality columns
+CREATE INDEX idx_client_profiles_match_age ON client_profiles
+    (is_active, gender, marital_status, date_of_birth, height_cm);
+
+-- Search narrowed to a city
+CREATE INDEX idx_client_profiles_search_city ON client_profiles
+    (is_active, city_id, gender, date_of_birth);
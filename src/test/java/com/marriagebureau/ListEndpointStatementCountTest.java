@@ -0,0 +1,186 @@
+package com.marriagebureau;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.interest.dto.InterestRequestDTO;
+import com.marriagebureau.usermanagement.dto.RegisterRequest;
+import com.marriagebureau.usermanagement.service.AuthService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the list endpoints against lazy-loading N+1 selects: each request is counted twice, with a few
+ * rows and with several more, and must issue the same number of SQL statements both times.
+ * Not transactional, so every request runs with its own persistence context, as in production.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.marriagebureau.ListEndpointStatementCountTest$StatementCounter",
+        // Serve matches from the in-memory selection every time, not from a cached or precomputed page.
+        "app.matching.cache-enabled=false",
+        "app.matching.materialized-enabled=false"})
+@AutoConfigureMockMvc
+class ListEndpointStatementCountTest {
+
+    private static final AtomicInteger brokers = new AtomicInteger();
+
+    /** Counts the statements Hibernate prepares on the thread that started counting. */
+    public static class StatementCounter implements StatementInspector {
+        static final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> recorded = statements.get();
+            if (recorded != null) {
+                recorded.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void perform() throws Exception;
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void clientListStatementCountDoesNotGrowWithClients() throws Exception {
+        String broker = registerBroker();
+        addClients(broker, Gender.FEMALE, 2);
+        Request listClients = () -> mockMvc.perform(get("/api/clients").header("Authorization", "Bearer " + broker))
+                .andExpect(status().isOk());
+
+        int few = countStatements(listClients);
+        addClients(broker, Gender.FEMALE, 5);
+        assertEquals(few, countStatements(listClients), "GET /api/clients issues a statement per client");
+    }
+
+    @Test
+    void interestListsStatementCountDoesNotGrowWithInterests() throws Exception {
+        String sendingBroker = registerBroker();
+        String receivingBroker = registerBroker();
+        Long sender = addClients(sendingBroker, Gender.MALE, 1).get(0);
+        Long receiver = addClients(receivingBroker, Gender.FEMALE, 1).get(0);
+        sendInterests(sendingBroker, List.of(sender), addClients(receivingBroker, Gender.FEMALE, 2));
+        sendInterests(sendingBroker, addClients(sendingBroker, Gender.MALE, 2), List.of(receiver));
+        Request listSent = () -> mockMvc.perform(get("/api/interests/sent/" + sender)
+                .header("Authorization", "Bearer " + sendingBroker)).andExpect(status().isOk());
+        Request listReceived = () -> mockMvc.perform(get("/api/interests/received/" + receiver)
+                .header("Authorization", "Bearer " + receivingBroker)).andExpect(status().isOk());
+
+        int fewSent = countStatements(listSent);
+        int fewReceived = countStatements(listReceived);
+        sendInterests(sendingBroker, List.of(sender), addClients(receivingBroker, Gender.FEMALE, 5));
+        sendInterests(sendingBroker, addClients(sendingBroker, Gender.MALE, 5), List.of(receiver));
+        assertEquals(fewSent, countStatements(listSent), "GET /api/interests/sent issues a statement per interest");
+        assertEquals(fewReceived, countStatements(listReceived), "GET /api/interests/received issues a statement per interest");
+    }
+
+    @Test
+    void matchListStatementCountDoesNotGrowWithMatches() throws Exception {
+        String broker = registerBroker();
+        Long requester = addClients(broker, Gender.MALE, 1).get(0);
+        addClients(registerBroker(), Gender.FEMALE, 2);
+        Request listMatches = () -> mockMvc.perform(get("/api/matches/" + requester).param("size", "20")
+                .header("Authorization", "Bearer " + broker)).andExpect(status().isOk());
+
+        int few = countStatements(listMatches);
+        addClients(registerBroker(), Gender.FEMALE, 3);
+        addClients(registerBroker(), Gender.FEMALE, 3);
+        mockMvc.perform(get("/api/matches/" + requester).param("size", "20").header("Authorization", "Bearer " + broker))
+                .andExpect(jsonPath("$.matches.length()").value(greaterThanOrEqualTo(8)));
+        assertEquals(few, countStatements(listMatches), "GET /api/matches issues a statement per match");
+    }
+
+    private int countStatements(Request request) throws Exception {
+        List<String> recorded = new ArrayList<>();
+        StatementCounter.statements.set(recorded);
+        try {
+            request.perform();
+        } finally {
+            StatementCounter.statements.remove();
+        }
+        return recorded.size();
+    }
+
+    private String registerBroker() {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("statement.count." + brokers.incrementAndGet() + "@example.com");
+        request.setPassword("password123");
+        request.setContactNumber("9988776655");
+        return authService.register(request).getAccessToken();
+    }
+
+    private List<Long> addClients(String broker, Gender gender, int count) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CreateProfileRequest request = new CreateProfileRequest();
+            request.setFullName("Client " + i);
+            request.setDateOfBirth(LocalDate.of(1995, 5, 20));
+            request.setGender(gender);
+            request.setMaritalStatus(MaritalStatus.NEVER_MARRIED);
+            request.setHeightCm(170);
+            request.setReligion("Hindu");
+            request.setCaste("Brahmin");
+            request.setMotherTongue(MotherTongue.HINDI);
+            request.setCountry("India");
+            request.setState("Maharashtra");
+            request.setCity("Pune");
+            request.setEducation("M.Tech");
+            request.setOccupation("Software Engineer");
+            request.setAnnualIncome(2500000.0);
+            String body = mockMvc.perform(post("/api/clients")
+                            .header("Authorization", "Bearer " + broker)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(objectMapper.readTree(body).get("id").asLong());
+        }
+        return ids;
+    }
+
+    private void sendInterests(String broker, List<Long> senders, List<Long> receivers) throws Exception {
+        for (Long sender : senders) {
+            for (Long receiver : receivers) {
+                InterestRequestDTO request = new InterestRequestDTO();
+                request.setSenderProfileId(sender);
+                request.setReceiverProfileId(receiver);
+                mockMvc.perform(post("/api/interests/send")
+                                .header("Authorization", "Bearer " + broker)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().is2xxSuccessful());
+            }
+        }
+    }
+}
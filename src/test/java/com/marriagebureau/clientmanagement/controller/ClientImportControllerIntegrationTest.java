@@ -0,0 +1,148 @@
+package com.marriagebureau.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.usermanagement.dto.RegisterRequest;
+import com.marriagebureau.usermanagement.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Imports run on their own threads and commit as they go, so these tests are not transactional;
+ * each registers its own broker instead.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientImportControllerIntegrationTest {
+
+    private static final String HEADER = "Full Name,Date of Birth,Gender,Marital Status,Height (cm),Religion,Caste,"
+            + "Mother Tongue,Country,State,City,Education,Occupation,Annual Income\r\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void importsValidRowsAndReportsTheRest() throws Exception {
+        String brokerToken = register("import.test.broker@example.com");
+        String csv = HEADER
+                + "Asha Rao,1995-10-28,Female,Never Married,165,Hindu,Brahmin,Hindi,India,Maharashtra,Pune,MBA,Analyst,1200000\r\n"
+                + "\"Iyer, Ravi\",35000,male,never-married,178.0,Hindu,Iyer,Hindi,India,Tamil Nadu,Chennai,B.E.,Engineer,1500000\r\n"
+                + "Meera Das,1996-01-15,Unknown,Never Married,160,Hindu,Kayastha,Hindi,India,Delhi,Delhi,MA,Teacher,800000\r\n"
+                + "Kiran Shah,1994-03-02,Male,Never Married,172,Jain,Shah,Hindi,India,Gujarat,,B.Com,Trader,900000\r\n";
+
+        JsonNode job = awaitFinished(brokerToken, startImport(brokerToken, "clients.csv", csv));
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(4, job.get("rowsRead").asLong());
+        assertEquals(2, job.get("rowsSaved").asLong());
+        assertEquals(2, job.get("rowsFailed").asLong());
+
+        String report = mockMvc.perform(get("/api/clients/imports/" + job.get("id").asText() + "/errors")
+                        .header("Authorization", "Bearer " + brokerToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<String> lines = report.lines().toList();
+        assertEquals("row,errors", lines.get(0));
+        assertEquals(3, lines.size(), report);
+        assertTrue(lines.contains("4,\"gender: 'Unknown' is not a valid value.\""), report);
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("5,\"city: ")), report);
+
+        mockMvc.perform(get("/api/clients").header("Authorization", "Bearer " + brokerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.fullName == 'Iyer, Ravi')].age") // Born on Excel day 35000, 1995-10-28
+                        .value(Period.between(LocalDate.of(1995, 10, 28), LocalDate.now()).getYears()));
+    }
+
+    @Test
+    void aMalformedFileFailsAfterSavingTheRowsBeforeIt() throws Exception {
+        String brokerToken = register("import.failure.broker@example.com");
+        String csv = HEADER
+                + "Asha Rao,1995-10-28,Female,Never Married,165,Hindu,Brahmin,Hindi,India,Maharashtra,Pune,MBA,Analyst,1200000\r\n"
+                + "\"Ravi Iyer,1994-03-02,Male\r\n";
+
+        JsonNode job = awaitFinished(brokerToken, startImport(brokerToken, "clients.csv", csv));
+
+        assertEquals("FAILED", job.get("status").asText());
+        assertEquals("Line 3 has a quoted field that is never closed.", job.get("failureMessage").asText());
+        assertEquals(1, job.get("rowsSaved").asLong());
+    }
+
+    @Test
+    void jobsAreVisibleOnlyToTheirBroker() throws Exception {
+        String brokerToken = register("import.owner.broker@example.com");
+        String otherToken = register("import.other.broker@example.com");
+        String jobId = startImport(brokerToken, "clients.csv", HEADER);
+
+        mockMvc.perform(get("/api/clients/imports/" + jobId).header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/clients/imports/" + jobId + "/errors").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsUnsupportedFiles() throws Exception {
+        String brokerToken = register("import.format.broker@example.com");
+
+        mockMvc.perform(multipart("/api/clients/imports")
+                        .file(new MockMultipartFile("file", "clients.txt", "text/plain", HEADER.getBytes(StandardCharsets.UTF_8)))
+                        .header("Authorization", "Bearer " + brokerToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String startImport(String brokerToken, String fileName, String content) throws Exception {
+        String body = mockMvc.perform(multipart("/api/clients/imports")
+                        .file(new MockMultipartFile("file", fileName, "text/csv", content.getBytes(StandardCharsets.UTF_8)))
+                        .header("Authorization", "Bearer " + brokerToken))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+
+    private JsonNode awaitFinished(String brokerToken, String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get("/api/clients/imports/" + jobId)
+                            .header("Authorization", "Bearer " + brokerToken))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (job.get("finishedDate") != null && !job.get("finishedDate").isNull()) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Import " + jobId + " did not finish within 10 seconds.");
+    }
+
+    private String register(String email) {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail(email);
+        registerRequest.setPassword("password123");
+        registerRequest.setContactNumber("9988776655");
+        return authService.register(registerRequest).getAccessToken();
+    }
+}
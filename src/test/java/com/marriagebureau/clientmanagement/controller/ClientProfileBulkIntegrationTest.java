@@ -0,0 +1,173 @@
+package com.marriagebureau.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.usermanagement.dto.RegisterRequest;
+import com.marriagebureau.usermanagement.service.AppUserService;
+import com.marriagebureau.usermanagement.service.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk writes commit chunk by chunk in their own transactions, so these tests are not transactional. A check
+ * constraint makes the database reject rows that pass validation, which sends a chunk down the row-by-row retry.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientProfileBulkIntegrationTest {
+
+    private static final String BROKER_EMAIL = "bulk.test.broker@example.com";
+    private static final String REJECTED_OCCUPATION = "Rejected by the database";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String brokerToken;
+
+    @BeforeEach
+    void setup() {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail(BROKER_EMAIL);
+        registerRequest.setPassword("password123");
+        registerRequest.setContactNumber("9988776655");
+        brokerToken = authService.register(registerRequest).getAccessToken();
+        jdbcTemplate.execute("ALTER TABLE client_profiles ADD CONSTRAINT ck_test_rejected_occupation "
+                + "CHECK (occupation <> '" + REJECTED_OCCUPATION + "')");
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.execute("ALTER TABLE client_profiles DROP CONSTRAINT ck_test_rejected_occupation");
+        appUserService.findByEmail(BROKER_EMAIL).ifPresent(broker -> appUserService.deleteUser(broker.getId()));
+    }
+
+    @Test
+    void createRetriesARejectedChunkRowByRowAndReportsInvalidRows() throws Exception {
+        CreateProfileRequest invalid = profile("Meera Das", "Teacher");
+        invalid.setFullName(null);
+        List<CreateProfileRequest> rows = List.of(
+                profile("Asha Rao", "Analyst"), profile("Ravi Iyer", REJECTED_OCCUPATION), invalid,
+                profile("Kiran Shah", "Trader"));
+
+        JsonNode response = send(post("/api/clients/bulk"), rows);
+
+        assertEquals(2, response.get("saved").asInt());
+        assertEquals(2, response.get("failed").asInt());
+        JsonNode results = response.get("rows");
+        assertTrue(results.get(0).get("saved").asBoolean());
+        assertFalse(results.get(1).get("saved").asBoolean());
+        assertTrue(results.get(1).get("errors").get(0).asText().startsWith("The database rejected this row"));
+        assertTrue(results.get(1).get("id").isNull());
+        assertEquals("fullName: Full name is mandatory", results.get(2).get("errors").get(0).asText());
+        assertTrue(results.get(3).get("saved").asBoolean());
+
+        // The saved rows were re-persisted as new after the chunk rolled back: each exists once, under its reported ID.
+        mockMvc.perform(get("/api/clients").header("Authorization", "Bearer " + brokerToken))
+                .andExpect(jsonPath("$.length()").value(2));
+        for (int index : new int[]{0, 3}) {
+            mockMvc.perform(get("/api/clients/" + results.get(index).get("id").asLong())
+                            .header("Authorization", "Bearer " + brokerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.fullName").value(rows.get(index).getFullName()));
+        }
+    }
+
+    @Test
+    void updateRetriesARejectedChunkRowByRowAndLeavesFailedRowsUnchanged() throws Exception {
+        JsonNode created = send(post("/api/clients/bulk"), List.of(
+                profile("Asha Rao", "Analyst"), profile("Ravi Iyer", "Engineer"),
+                profile("Meera Das", "Teacher"), profile("Kiran Shah", "Trader")));
+        List<Long> ids = new ArrayList<>();
+        created.get("rows").forEach(row -> ids.add(row.get("id").asLong()));
+
+        JsonNode response = send(put("/api/clients/bulk"), List.of(
+                Map.of("id", ids.get(0), "changes", Map.of("occupation", "Architect")),
+                Map.of("id", ids.get(1), "changes", Map.of("occupation", REJECTED_OCCUPATION)),
+                Map.of("id", ids.get(2), "changes", Map.of("fullName", "x".repeat(101))),
+                // Fails after the occupation is applied, so the profile must be kept out of the flush.
+                Map.of("id", ids.get(3), "changes", Map.of("occupation", "Partly updated",
+                        "preferredPartnerLocation", "WITHIN_DISTANCE"))));
+
+        assertEquals(1, response.get("saved").asInt());
+        assertEquals(3, response.get("failed").asInt());
+        JsonNode results = response.get("rows");
+        assertTrue(results.get(0).get("saved").asBoolean());
+        assertTrue(results.get(1).get("errors").get(0).asText().startsWith("The database rejected this row"));
+        assertTrue(results.get(2).get("errors").get(0).asText().startsWith("changes.fullName: "));
+        assertTrue(results.get(3).get("errors").get(0).asText().startsWith("preferredPartnerMaxDistanceKm is required"));
+
+        List<String> occupations = List.of("Architect", "Engineer", "Teacher", "Trader");
+        for (int i = 0; i < ids.size(); i++) {
+            mockMvc.perform(get("/api/clients/" + ids.get(i)).header("Authorization", "Bearer " + brokerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.occupation").value(occupations.get(i)));
+        }
+    }
+
+    private JsonNode send(MockHttpServletRequestBuilder request, List<?> rows) throws Exception {
+        String body = mockMvc.perform(request
+                        .header("Authorization", "Bearer " + brokerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rows)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static CreateProfileRequest profile(String fullName, String occupation) {
+        CreateProfileRequest request = new CreateProfileRequest();
+        request.setFullName(fullName);
+        request.setDateOfBirth(LocalDate.of(1995, 5, 20));
+        request.setGender(Gender.FEMALE);
+        request.setMaritalStatus(MaritalStatus.NEVER_MARRIED);
+        request.setHeightCm(165);
+        request.setReligion("Hindu");
+        request.setCaste("Brahmin");
+        request.setMotherTongue(MotherTongue.HINDI);
+        request.setCountry("India");
+        request.setState("Maharashtra");
+        request.setCity("Pune");
+        request.setEducation("MBA");
+        request.setOccupation(occupation);
+        request.setAnnualIncome(1200000.0);
+        return request;
+    }
+}
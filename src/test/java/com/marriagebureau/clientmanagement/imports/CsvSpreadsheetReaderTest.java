@@ -0,0 +1,86 @@
+package com.marriagebureau.clientmanagement.imports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvSpreadsheetReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsQuotedFieldsWithCommasAndDoubledQuotes() throws IOException {
+        List<SpreadsheetReader.Row> rows = read("plain,\"a, b\",\"say \"\"hi\"\"\",\"\"\n");
+
+        assertEquals(List.of(new SpreadsheetReader.Row(1, List.of("plain", "a, b", "say \"hi\"", ""))), rows);
+    }
+
+    @Test
+    void quotedFieldsMaySpanLinesAndRowNumbersCountThem() throws IOException {
+        List<SpreadsheetReader.Row> rows = read("name,notes\r\nAsha,\"first line\r\nsecond line\"\r\nRavi,x");
+
+        assertEquals(List.of(
+                new SpreadsheetReader.Row(1, List.of("name", "notes")),
+                new SpreadsheetReader.Row(2, List.of("Asha", "first line\r\nsecond line")),
+                new SpreadsheetReader.Row(4, List.of("Ravi", "x"))), rows);
+    }
+
+    @Test
+    void skipsTheByteOrderMarkAndBlankLines() throws IOException {
+        List<SpreadsheetReader.Row> rows = read("\uFEFFname\n\n , \nAsha\n");
+
+        assertEquals(List.of(
+                new SpreadsheetReader.Row(1, List.of("name")),
+                new SpreadsheetReader.Row(4, List.of("Asha"))), rows);
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertEquals(List.of(new SpreadsheetReader.Row(1, List.of("a", "", "c", ""))), read("a,,c,\n"));
+    }
+
+    @Test
+    void anUnterminatedQuoteFails() {
+        IOException e = assertThrows(IOException.class, () -> read("name\n\"Asha,1\nRavi,2\n"));
+
+        assertEquals("Line 2 has a quoted field that is never closed.", e.getMessage());
+    }
+
+    @Test
+    void fieldsAreCappedInLength() throws IOException {
+        assertEquals(10_000, read("x".repeat(10_000)).get(0).cells().get(0).length());
+
+        IOException e = assertThrows(IOException.class, () -> read("x".repeat(10_001)));
+        assertTrue(e.getMessage().contains("longer than 10000 characters"), e.getMessage());
+    }
+
+    @Test
+    void rowsAreCappedInFieldCount() throws IOException {
+        assertEquals(1_000, read(",".repeat(999) + "x").get(0).cells().size());
+
+        IOException e = assertThrows(IOException.class, () -> read(",".repeat(1_000) + "x"));
+        assertTrue(e.getMessage().contains("more than 1000 fields"), e.getMessage());
+    }
+
+    private List<SpreadsheetReader.Row> read(String content) throws IOException {
+        Path file = Files.writeString(dir.resolve("clients.csv"), content, StandardCharsets.UTF_8);
+        List<SpreadsheetReader.Row> rows = new ArrayList<>();
+        try (SpreadsheetReader reader = new CsvSpreadsheetReader(file)) {
+            for (SpreadsheetReader.Row row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,85 @@
+package com.marriagebureau.clientmanagement.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfileImportColumnsTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    void matchesHeadersIgnoringCaseSpacesAndPunctuation() throws IOException {
+        ProfileImportColumns columns = ProfileImportColumns.of(
+                List.of("Full Name", "DATE_OF_BIRTH", "Notes", "marital-status", " Height (cm) "), objectMapper);
+
+        assertEquals(Map.of("fullName", "Asha Rao", "dateOfBirth", "1995-10-28", "maritalStatus", "Never Married"),
+                columns.valuesOf(List.of("Asha Rao", "1995-10-28", "ignored", "Never Married", "")));
+    }
+
+    @Test
+    void valuesAreTrimmedAndShortRowsAreAllowed() throws IOException {
+        ProfileImportColumns columns = ProfileImportColumns.of(List.of("fullName", "city", "caste"), objectMapper);
+
+        assertEquals(Map.of("fullName", "Asha Rao"), columns.valuesOf(List.of("  Asha Rao ", "   ")));
+    }
+
+    @Test
+    void rejectsHeadersWithoutProfileFieldsOrWithDuplicates() {
+        IOException none = assertThrows(IOException.class,
+                () -> ProfileImportColumns.of(List.of("Name", "Birthday"), objectMapper));
+        assertTrue(none.getMessage().startsWith("The header row names no profile field"), none.getMessage());
+
+        IOException duplicate = assertThrows(IOException.class,
+                () -> ProfileImportColumns.of(List.of("city", "fullName", "Full Name"), objectMapper));
+        assertEquals("Columns 2 and 3 are both fullName.", duplicate.getMessage());
+    }
+
+    @Test
+    void convertsDisplayedChoicesWholeNumbersAndDates() throws IOException {
+        ProfileImportColumns columns = ProfileImportColumns.of(
+                List.of("gender", "maritalStatus", "heightCm", "annualIncome", "dateOfBirth"), objectMapper);
+
+        CreateProfileRequest request = columns.toRequest(
+                columns.valuesOf(List.of("female", "never-married", "165.0", "1250000.50", "1995-10-28")));
+
+        assertEquals(Gender.FEMALE, request.getGender());
+        assertEquals(MaritalStatus.NEVER_MARRIED, request.getMaritalStatus());
+        assertEquals(165, request.getHeightCm());
+        assertEquals(1_250_000.5, request.getAnnualIncome());
+        assertEquals(LocalDate.of(1995, 10, 28), request.getDateOfBirth());
+    }
+
+    @Test
+    void readsExcelDateSerials() throws IOException {
+        ProfileImportColumns columns = ProfileImportColumns.of(List.of("dateOfBirth"), objectMapper);
+
+        assertEquals(LocalDate.of(1995, 10, 28), columns.toRequest(Map.of("dateOfBirth", "35000")).getDateOfBirth());
+        assertEquals(LocalDate.of(1995, 10, 28), columns.toRequest(Map.of("dateOfBirth", "35000.0")).getDateOfBirth());
+        assertEquals(LocalDate.of(1900, 1, 1), columns.toRequest(Map.of("dateOfBirth", "2")).getDateOfBirth());
+    }
+
+    @Test
+    void invalidValuesNameTheirProperty() throws IOException {
+        ProfileImportColumns columns = ProfileImportColumns.of(List.of("gender", "heightCm", "dateOfBirth"), objectMapper);
+
+        for (Map.Entry<String, String> value : Map.of("gender", "Unknown", "heightCm", "tall",
+                "dateOfBirth", "28/10/1995").entrySet()) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> columns.toRequest(Map.of(value.getKey(), value.getValue())));
+            assertEquals(value.getKey() + ": '" + value.getValue() + "' is not a valid value.", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.marriagebureau.clientmanagement.imports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XlsxSpreadsheetReaderTest {
+
+    private static final String SHARED_STRINGS = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <sst xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+              <si><t>fullName</t></si>
+              <si><r><t>Asha </t></r><r><t>Rao</t></r></si>
+              <si><t>東京</t><rPh sb="0" eb="2"><t>トウキョウ</t></rPh></si>
+            </sst>""";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsSharedInlineNumericAndBooleanCells() throws IOException {
+        List<SpreadsheetReader.Row> rows = read(Map.of(
+                "xl/sharedStrings.xml", SHARED_STRINGS,
+                "xl/worksheets/sheet1.xml", sheet("""
+                        <row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="s"><v>1</v></c><c r="C1" t="s"><v>2</v></c></row>
+                        <row r="2"><c r="A2" t="inlineStr"><is><r><t>Ravi </t></r><r><t>Iyer</t></r></is></c>\
+                        <c r="B2"><v>35000</v></c><c r="C2" t="b"><v>1</v></c><c r="D2" t="b"><v>0</v></c></row>""")));
+
+        assertEquals(List.of(
+                new SpreadsheetReader.Row(1, List.of("fullName", "Asha Rao", "東京")),
+                new SpreadsheetReader.Row(2, List.of("Ravi Iyer", "35000", "true", "false"))), rows);
+    }
+
+    @Test
+    void fillsGapsBetweenCellReferences() throws IOException {
+        List<SpreadsheetReader.Row> rows = read(Map.of("xl/worksheets/sheet1.xml", sheet("""
+                <row r="1"><c r="B1" t="inlineStr"><is><t>b</t></is></c><c r="D1"><v>4</v></c></row>
+                <row r="2"><c t="inlineStr"><is><t>a</t></is></c><c><v>2</v></c></row>""")));
+
+        assertEquals(List.of(
+                new SpreadsheetReader.Row(1, List.of("", "b", "", "4")),
+                new SpreadsheetReader.Row(2, List.of("a", "2"))), rows);
+    }
+
+    @Test
+    void keepsRowNumbersAcrossSkippedAndBlankRows() throws IOException {
+        List<SpreadsheetReader.Row> rows = read(Map.of("xl/worksheets/sheet1.xml", sheet("""
+                <row r="1"><c r="A1"><v>1</v></c></row>
+                <row r="3"><c r="A3" t="inlineStr"><is><t> </t></is></c></row>
+                <row r="5"><c r="A5"><v>5</v></c></row>
+                <row><c><v>6</v></c></row>""")));
+
+        assertEquals(List.of(
+                new SpreadsheetReader.Row(1, List.of("1")),
+                new SpreadsheetReader.Row(5, List.of("5")),
+                new SpreadsheetReader.Row(6, List.of("6"))), rows);
+    }
+
+    @Test
+    void readsTheLowestNumberedWorksheet() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("xl/worksheets/sheet10.xml", sheet("<row r=\"1\"><c r=\"A1\"><v>10</v></c></row>"));
+        entries.put("xl/worksheets/sheet2.xml", sheet("<row r=\"1\"><c r=\"A1\"><v>2</v></c></row>"));
+
+        assertEquals(List.of(new SpreadsheetReader.Row(1, List.of("2"))), read(entries));
+    }
+
+    @Test
+    void columnIndexesFollowSpreadsheetLetters() {
+        assertEquals(0, XlsxSpreadsheetReader.columnIndex("A1"));
+        assertEquals(25, XlsxSpreadsheetReader.columnIndex("z9"));
+        assertEquals(26, XlsxSpreadsheetReader.columnIndex("AA1"));
+        assertEquals(27, XlsxSpreadsheetReader.columnIndex("AB12"));
+        assertEquals(999, XlsxSpreadsheetReader.columnIndex("ALL1"));
+        assertEquals(-1, XlsxSpreadsheetReader.columnIndex("12"));
+    }
+
+    @Test
+    void rejectsCellsPastTheColumnLimit() {
+        IOException e = assertThrows(IOException.class, () -> read(Map.of("xl/worksheets/sheet1.xml",
+                sheet("<row r=\"7\"><c r=\"ALM7\"><v>1</v></c></row>"))));
+
+        assertEquals("Row 7 has a cell outside the first 1000 columns.", e.getMessage());
+    }
+
+    @Test
+    void rejectsMissingSharedStrings() {
+        IOException e = assertThrows(IOException.class, () -> read(Map.of("xl/worksheets/sheet1.xml",
+                sheet("<row r=\"1\"><c r=\"A1\" t=\"s\"><v>3</v></c></row>"))));
+
+        assertTrue(e.getMessage().contains("shared string '3'"), e.getMessage());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotWorkbooks() throws IOException {
+        Path text = Files.writeString(dir.resolve("clients.xlsx"), "fullName\nAsha\n");
+        assertEquals("The file is not a readable XLSX workbook.",
+                assertThrows(IOException.class, () -> new XlsxSpreadsheetReader(text)).getMessage());
+
+        assertEquals("The workbook has no worksheet.",
+                assertThrows(IOException.class, () -> read(Map.of("xl/workbook.xml", "<workbook/>"))).getMessage());
+    }
+
+    private static String sheet(String rows) {
+        return "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+                + rows + "</sheetData></worksheet>";
+    }
+
+    private List<SpreadsheetReader.Row> read(Map<String, String> entries) throws IOException {
+        Path file = dir.resolve("clients.xlsx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        List<SpreadsheetReader.Row> rows = new ArrayList<>();
+        try (SpreadsheetReader reader = new XlsxSpreadsheetReader(file)) {
+            for (SpreadsheetReader.Row row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
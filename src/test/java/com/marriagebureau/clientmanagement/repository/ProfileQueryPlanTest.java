@@ -0,0 +1,119 @@
+package com.marriagebureau.clientmanagement.repository;
+
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.service.ProfileSpecifications;
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the V9 match indexes: runs the match-shaped ProfileSpecifications query, captures the SQL Hibernate
+ * generates for it, and checks the EXPLAIN plan in H2 and in H2's MySQL compatibility mode.
+ * Fails if the query stops using the expected index, e.g. after a predicate or column change.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.marriagebureau.clientmanagement.repository.ProfileQueryPlanTest$SqlRecorder")
+class ProfileQueryPlanTest {
+
+    private static final String MYSQL_MODE_URL =
+            "jdbc:h2:mem:query-plan-mysql;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    /** Records every SQL statement Hibernate prepares. */
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    private static JdbcTemplate mySqlMode;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateMySqlModeDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(MYSQL_MODE_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        mySqlMode = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void matchQueryWithReligionUsesMatchIndex() {
+        LocalDate today = LocalDate.now();
+        Date minBirth = Date.valueOf(today.minusYears(31).plusDays(1));
+        Date maxBirth = Date.valueOf(today.minusYears(24));
+        Specification<Profile> spec = Specification.where(ProfileSpecifications.isActive())
+                .and(ProfileSpecifications.isNotProfile(1L))
+                .and(ProfileSpecifications.hasGender(Gender.FEMALE))
+                .and(ProfileSpecifications.isWithinAgeRange(24, 30))
+                .and(ProfileSpecifications.isWithinHeightRange(150, 170))
+                .and(ProfileSpecifications.hasReligionId(1L))
+                .and(ProfileSpecifications.hasCasteId(9L))
+                .and(ProfileSpecifications.hasMaritalStatus(MaritalStatus.NEVER_MARRIED));
+        // Bind values in the order the predicates appear in the generated SQL.
+        Object[] parameters = {1L, "FEMALE", maxBirth, minBirth, 150, 170, 1L, 9L, "NEVER_MARRIED"};
+
+        String sql = generatedSql(spec);
+        assertUsesIndex(explain(jdbcTemplate, sql, parameters), "idx_client_profiles_match:");
+        assertUsesIndex(explain(mySqlMode, sql, parameters), "idx_client_profiles_match:");
+    }
+
+    @Test
+    void matchQueryWithoutReligionUsesAgeIndex() {
+        LocalDate today = LocalDate.now();
+        Specification<Profile> spec = Specification.where(ProfileSpecifications.isActive())
+                .and(ProfileSpecifications.isNotProfile(1L))
+                .and(ProfileSpecifications.hasGender(Gender.MALE))
+                .and(ProfileSpecifications.isWithinAgeRange(26, 34))
+                .and(ProfileSpecifications.hasMaritalStatus(MaritalStatus.NEVER_MARRIED));
+        Object[] parameters = {1L, "MALE", Date.valueOf(today.minusYears(26)), Date.valueOf(today.minusYears(35).plusDays(1)),
+                "NEVER_MARRIED"};
+
+        String sql = generatedSql(spec);
+        assertUsesIndex(explain(jdbcTemplate, sql, parameters), "idx_client_profiles_match_age:");
+        assertUsesIndex(explain(mySqlMode, sql, parameters), "idx_client_profiles_match_age:");
+    }
+
+    private String generatedSql(Specification<Profile> spec) {
+        SqlRecorder.statements.clear();
+        profileRepository.findAll(spec);
+        return SqlRecorder.statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains("from client_profiles"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No client_profiles query was captured"));
+    }
+
+    private static String explain(JdbcTemplate jdbc, String sql, Object[] parameters) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+
+    private static void assertUsesIndex(String plan, String expectedIndex) {
+        String normalized = plan.toLowerCase(Locale.ROOT);
+        assertFalse(normalized.contains("tablescan"), () -> "Match query falls back to a table scan:\n" + plan);
+        assertTrue(normalized.contains(expectedIndex), () -> "Match query does not use " + expectedIndex + "\n" + plan);
+    }
+}
@@ -0,0 +1,40 @@
+package com.marriagebureau.clientmanagement.repository.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ProfileVersionRowTest {
+
+    private static final LocalDate DATE_OF_BIRTH = LocalDate.of(1995, 5, 20);
+    private static final LocalDateTime PROFILE_UPDATED = LocalDateTime.of(2026, 3, 1, 10, 0);
+    private static final LocalDateTime BROKER_UPDATED = LocalDateTime.of(2026, 4, 1, 10, 0);
+
+    @Test
+    void aBrokerUpdateChangesTheTag() {
+        ProfileVersionRow before = new ProfileVersionRow(7L, 1L, 3L, DATE_OF_BIRTH, PROFILE_UPDATED, PROFILE_UPDATED);
+        ProfileVersionRow after = new ProfileVersionRow(7L, 1L, 3L, DATE_OF_BIRTH, PROFILE_UPDATED, BROKER_UPDATED);
+
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void lastModifiedIsTheLaterOfTheProfileAndBrokerUpdates() {
+        assertEquals(epochMilli(BROKER_UPDATED),
+                new ProfileVersionRow(7L, 1L, 3L, DATE_OF_BIRTH, PROFILE_UPDATED, BROKER_UPDATED).lastModified());
+        assertEquals(epochMilli(BROKER_UPDATED),
+                new ProfileVersionRow(7L, 1L, 3L, DATE_OF_BIRTH, BROKER_UPDATED, PROFILE_UPDATED).lastModified());
+        assertEquals(epochMilli(PROFILE_UPDATED),
+                new ProfileVersionRow(7L, 1L, 3L, DATE_OF_BIRTH, PROFILE_UPDATED, null).lastModified());
+        assertEquals(-1, new ProfileVersionRow(7L, 1L, 3L, DATE_OF_BIRTH, null, null).lastModified());
+    }
+
+    private static long epochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
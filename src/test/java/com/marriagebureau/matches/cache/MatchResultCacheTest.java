@@ -0,0 +1,205 @@
+package com.marriagebureau.matches.cache;
+
+import com.marriagebureau.clientmanagement.dto.ProfileResponse;
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.matches.dto.MatchMode;
+import com.marriagebureau.matches.dto.MatchPageDto;
+import com.marriagebureau.matches.dto.MatchResultDto;
+import com.marriagebureau.matches.index.ProfileMatchIndex;
+import com.marriagebureau.matches.service.MatchCandidateSelector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MatchResultCacheTest {
+
+    private static final long REQUESTER = 1;
+    private static final long OTHER_REQUESTER = 2;
+    private static final long ACCEPTING_REQUESTER = 3;
+
+    private final ProfileMatchIndex profileMatchIndex = mock(ProfileMatchIndex.class);
+    private final MatchCacheProperties properties = new MatchCacheProperties();
+    private MatchResultCache cache;
+
+    @BeforeEach
+    void setup() {
+        when(profileMatchIndex.findProfilesAccepting(anyLong(), any())).thenReturn(new long[0]);
+        cache = new MatchResultCache(profileMatchIndex, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void servesACachedPageForTheSameKey() {
+        MatchPageDto page = page(10, 11);
+        cache.put(key(REQUESTER, 0), page, cache.generation());
+
+        assertEquals(page, cache.get(key(REQUESTER, 0)));
+        assertEquals(0L, cache.versionOf(REQUESTER));
+        assertNull(cache.get(key(REQUESTER, 1)), "another page");
+        assertNull(cache.get(new MatchResultCache.Key(REQUESTER, 1, MatchMode.ONE_WAY, 0, 20, null, false)), "another version");
+    }
+
+    @Test
+    void changingTheRequesterDropsAllItsPages() {
+        cache.put(key(REQUESTER, 0), page(10), cache.generation());
+        cache.put(key(REQUESTER, 1), page(11), cache.generation());
+        cache.put(key(OTHER_REQUESTER, 0), page(12), cache.generation());
+
+        cache.onProfileChanged(ProfileChangedEvent.saved(profile(REQUESTER), false, false));
+
+        assertNull(cache.get(key(REQUESTER, 0)));
+        assertNull(cache.get(key(REQUESTER, 1)));
+        assertNull(cache.versionOf(REQUESTER));
+        assertNotNull(cache.get(key(OTHER_REQUESTER, 0)));
+    }
+
+    @Test
+    void changingACandidateDropsEveryPageOfTheRequestersShowingIt() {
+        cache.put(key(REQUESTER, 0), page(10, 11), cache.generation());
+        cache.put(key(REQUESTER, 1), page(14, 15), cache.generation());
+        cache.put(key(OTHER_REQUESTER, 0), page(12, 13), cache.generation());
+
+        cache.onProfileChanged(ProfileChangedEvent.saved(profile(11), false, false));
+
+        assertNull(cache.get(key(REQUESTER, 0)));
+        assertNull(cache.get(key(REQUESTER, 1)), "its rank may have moved, shifting later pages");
+        assertNotNull(cache.get(key(OTHER_REQUESTER, 0)));
+    }
+
+    @Test
+    void aCandidateLeavingPageZeroAlsoDropsTheNextPage() {
+        cache.put(key(REQUESTER, 0), page(10, 11), cache.generation());
+        cache.put(key(REQUESTER, 1), page(12, 13), cache.generation());
+
+        cache.onProfileChanged(ProfileChangedEvent.deleted(10L));
+
+        // Page 1 must be recomputed: without candidate 10, candidate 12 now belongs on page 0.
+        assertNull(cache.get(key(REQUESTER, 1)));
+        assertNull(cache.tagOf(key(REQUESTER, 1)));
+        assertNull(cache.versionOf(REQUESTER));
+    }
+
+    @Test
+    void aMatchAttributeChangeDropsThePagesOfProfilesTheChangedProfileNowMatches() {
+        when(profileMatchIndex.findProfilesAccepting(20L, MatchCandidateSelector.CANDIDATE_MARITAL_STATUS))
+                .thenReturn(new long[]{ACCEPTING_REQUESTER});
+        cache.put(key(ACCEPTING_REQUESTER, 0), page(30), cache.generation());
+        cache.put(key(OTHER_REQUESTER, 0), page(31), cache.generation());
+
+        cache.onProfileChanged(ProfileChangedEvent.saved(profile(20), true, true));
+
+        assertNull(cache.get(key(ACCEPTING_REQUESTER, 0)));
+        assertNotNull(cache.get(key(OTHER_REQUESTER, 0)));
+    }
+
+    @Test
+    void otherEditsDoNotLookUpOrDropAcceptingProfiles() {
+        cache.put(key(ACCEPTING_REQUESTER, 0), page(30), cache.generation());
+
+        cache.onProfileChanged(ProfileChangedEvent.saved(profile(20), false, true));
+
+        verify(profileMatchIndex, never()).findProfilesAccepting(anyLong(), any());
+        assertNotNull(cache.get(key(ACCEPTING_REQUESTER, 0)));
+    }
+
+    @Test
+    void deletingAProfileDropsItsOwnPagesAndThePagesContainingIt() {
+        cache.put(key(REQUESTER, 0), page(10), cache.generation());
+        cache.put(key(OTHER_REQUESTER, 0), page(REQUESTER), cache.generation());
+        cache.put(key(ACCEPTING_REQUESTER, 0), page(12), cache.generation());
+
+        cache.onProfileChanged(ProfileChangedEvent.deleted(REQUESTER));
+
+        verify(profileMatchIndex, never()).findProfilesAccepting(anyLong(), any());
+        assertNull(cache.get(key(REQUESTER, 0)));
+        assertNull(cache.get(key(OTHER_REQUESTER, 0)));
+        assertNotNull(cache.get(key(ACCEPTING_REQUESTER, 0)));
+    }
+
+    @Test
+    void aPageComputedAcrossAnInvalidationIsNotCached() {
+        long generationAtStart = cache.generation();
+        cache.onProfileChanged(ProfileChangedEvent.saved(profile(99), false, false));
+
+        cache.put(key(REQUESTER, 0), page(10), generationAtStart);
+
+        assertNull(cache.get(key(REQUESTER, 0)));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedPagesBeyondTheMatchBound() {
+        properties.setCacheMaxMatches(6); // Each page weighs its matches plus one.
+        cache.put(key(REQUESTER, 0), page(10, 11), cache.generation());
+        cache.put(key(REQUESTER, 1), page(12, 13), cache.generation());
+        cache.get(key(REQUESTER, 0));
+
+        cache.put(key(REQUESTER, 2), page(14, 15), cache.generation());
+
+        assertNotNull(cache.get(key(REQUESTER, 0)));
+        assertNull(cache.get(key(REQUESTER, 1)));
+        assertNotNull(cache.get(key(REQUESTER, 2)));
+    }
+
+    @Test
+    void expiredPagesAreNotServed() {
+        properties.setCacheTtl(Duration.ZERO);
+        cache.put(key(REQUESTER, 0), page(10), cache.generation());
+
+        assertNull(cache.tagOf(key(REQUESTER, 0)));
+        assertNull(cache.get(key(REQUESTER, 0)));
+    }
+
+    @Test
+    void nothingIsCachedWhenDisabled() {
+        properties.setCacheEnabled(false);
+        cache.put(key(REQUESTER, 0), page(10), cache.generation());
+
+        assertNull(cache.get(key(REQUESTER, 0)));
+    }
+
+    @Test
+    void aRecomputedPageGetsANewTag() {
+        cache.put(key(REQUESTER, 0), page(10), cache.generation());
+        String tag = cache.tagOf(key(REQUESTER, 0));
+
+        cache.onProfileChanged(ProfileChangedEvent.saved(profile(10), false, false));
+        assertNull(cache.tagOf(key(REQUESTER, 0)));
+        cache.put(key(REQUESTER, 0), page(10), cache.generation());
+
+        assertNotNull(tag);
+        assertNotEquals(tag, cache.tagOf(key(REQUESTER, 0)));
+    }
+
+    private static MatchResultCache.Key key(long requesterId, int page) {
+        return new MatchResultCache.Key(requesterId, 0, MatchMode.ONE_WAY, page, 20, null, false);
+    }
+
+    private static MatchPageDto page(long... candidateIds) {
+        List<MatchResultDto> matches = Arrays.stream(candidateIds)
+                .mapToObj(id -> MatchResultDto.builder()
+                        .matchedProfile(ProfileResponse.builder().id(id).build())
+                        .compatibilityScore(50.0)
+                        .build())
+                .toList();
+        return MatchPageDto.builder().matches(matches).size(20).totalMatches(matches.size()).build();
+    }
+
+    private static Profile profile(long id) {
+        return Profile.builder().id(id).build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.marriagebureau.matches.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.usermanagement.dto.RegisterRequest;
+import com.marriagebureau.usermanagement.service.AppUserService;
+import com.marriagebureau.usermanagement.service.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: matching reads the in-memory match index, which every test of the context shares and
+ * which only follows committed changes. The data is committed and removed through the services instead.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MatchControllerIntegrationTest {
+
+    private static final String BROKER_EMAIL = "match.cursor.broker@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AppUserService appUserService;
+
+    private String brokerToken;
+    private Long profileId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail(BROKER_EMAIL);
+        registerRequest.setPassword("password123");
+        registerRequest.setContactNumber("9988776655");
+        brokerToken = authService.register(registerRequest).getAccessToken();
+
+        CreateProfileRequest createRequest = new CreateProfileRequest();
+        createRequest.setFullName("Arjun Sharma");
+        createRequest.setDateOfBirth(LocalDate.of(1995, 5, 20));
+        createRequest.setGender(Gender.MALE);
+        createRequest.setMaritalStatus(MaritalStatus.NEVER_MARRIED);
+        createRequest.setHeightCm(180);
+        createRequest.setReligion("Hindu");
+        createRequest.setCaste("Brahmin");
+        createRequest.setMotherTongue(MotherTongue.HINDI);
+        createRequest.setCountry("India");
+        createRequest.setState("Maharashtra");
+        createRequest.setCity("Pune");
+        createRequest.setEducation("M.Tech");
+        createRequest.setOccupation("Software Engineer");
+        createRequest.setAnnualIncome(2500000.0);
+        String body = mockMvc.perform(post("/api/clients")
+                        .header("Authorization", "Bearer " + brokerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        profileId = objectMapper.readTree(body).get("id").asLong();
+    }
+
+    @AfterEach
+    void cleanup() {
+        // Also deletes the broker's profiles, and removes them from the match index once committed.
+        appUserService.findByEmail(BROKER_EMAIL).ifPresent(broker -> appUserService.deleteUser(broker.getId()));
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/matches/" + profileId).param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + brokerToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void wellFormedCursorIsAccepted() throws Exception {
+        mockMvc.perform(get("/api/matches/" + profileId).param("cursor", "ODcuNTo0Mg") // "87.5:42"
+                        .header("Authorization", "Bearer " + brokerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").isArray());
+    }
+}
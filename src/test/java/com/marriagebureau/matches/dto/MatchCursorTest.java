@@ -0,0 +1,43 @@
+package com.marriagebureau.matches.dto;
+
+import com.marriagebureau.matches.index.ScoredCandidate;
+import com.marriagebureau.usermanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        for (ScoredCandidate candidate : new ScoredCandidate[]{
+                new ScoredCandidate(42, 87.5), new ScoredCandidate(1, 0.0),
+                new ScoredCandidate(Long.MAX_VALUE, 100.0), new ScoredCandidate(7, 33.3)}) {
+            assertEquals(candidate, MatchCursor.decode(MatchCursor.encode(candidate)));
+        }
+    }
+
+    @Test
+    void encodedCursorsAreSafeInAQueryString() {
+        String cursor = MatchCursor.encode(new ScoredCandidate(123456789, 99.9));
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    void malformedCursorsAreBadRequests() {
+        for (String cursor : new String[]{"not a cursor!", "%%%", base64("87.5"), base64("87.5:"), base64(":42"),
+                base64("high:42"), base64("87.5:forty-two"), base64("NaN:42")}) {
+            assertThrows(BadRequestException.class, () -> MatchCursor.decode(cursor), cursor);
+        }
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package com.marriagebureau.matches.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.usermanagement.dto.RegisterRequest;
+import com.marriagebureau.usermanagement.service.AppUserService;
+import com.marriagebureau.usermanagement.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The match index is shared by every test of the Spring context, so these tests commit their data
+ * and remove it through the services, as the application would.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProfileMatchIndexIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @Autowired
+    private ProfileMatchIndex profileMatchIndex;
+
+    @Test
+    void readingAttributesOfAnUnindexedProfileDoesNotIndexIt() {
+        Profile unsaved = Profile.builder()
+                .id(Long.MAX_VALUE)
+                .gender(Gender.FEMALE)
+                .dateOfBirth(LocalDate.of(1996, 1, 15))
+                .heightCm(160)
+                .state("Karnataka")
+                .build();
+
+        MatchAttributes attributes = profileMatchIndex.attributesOf(unsaved);
+
+        assertEquals(160, attributes.heightCm());
+        assertNull(profileMatchIndex.attributesOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void deletingABrokerRemovesTheirProfilesFromTheIndex() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail("index.delete.broker@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setContactNumber("9988776655");
+        String brokerToken = authService.register(registerRequest).getAccessToken();
+        Long profileId = createProfile(brokerToken);
+        assertNotNull(profileMatchIndex.attributesOf(profileId));
+
+        appUserService.deleteUser(appUserService.findByEmail("index.delete.broker@example.com").orElseThrow().getId());
+
+        assertNull(profileMatchIndex.attributesOf(profileId));
+    }
+
+    private Long createProfile(String brokerToken) throws Exception {
+        CreateProfileRequest createRequest = new CreateProfileRequest();
+        createRequest.setFullName("Arjun Sharma");
+        createRequest.setDateOfBirth(LocalDate.of(1995, 5, 20));
+        createRequest.setGender(Gender.MALE);
+        createRequest.setMaritalStatus(MaritalStatus.NEVER_MARRIED);
+        createRequest.setHeightCm(180);
+        createRequest.setReligion("Hindu");
+        createRequest.setCaste("Brahmin");
+        createRequest.setMotherTongue(MotherTongue.HINDI);
+        createRequest.setCountry("India");
+        createRequest.setState("Maharashtra");
+        createRequest.setCity("Pune");
+        createRequest.setEducation("M.Tech");
+        createRequest.setOccupation("Software Engineer");
+        createRequest.setAnnualIncome(2500000.0);
+        String body = mockMvc.perform(post("/api/clients")
+                        .header("Authorization", "Bearer " + brokerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
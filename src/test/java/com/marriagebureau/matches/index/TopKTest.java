@@ -0,0 +1,91 @@
+package com.marriagebureau.matches.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKTest {
+
+    @Test
+    void keepsTheBestCandidatesBestFirst() {
+        TopK top = new TopK(3);
+        top.offer(1, 40.0);
+        top.offer(2, 90.0);
+        top.offer(3, 10.0);
+        top.offer(4, 70.0);
+        top.offer(5, 80.0);
+
+        CandidateSelection selection = top.toSelection();
+
+        assertEquals(List.of(candidate(2, 90.0), candidate(5, 80.0), candidate(4, 70.0)), selection.candidates());
+        assertEquals(5, selection.totalMatches());
+    }
+
+    @Test
+    void equalScoresAreBrokenByTheLowerProfileId() {
+        TopK top = new TopK(2);
+        top.offer(30, 50.0);
+        top.offer(10, 50.0);
+        top.offer(20, 50.0);
+        top.offer(5, 50.0);
+
+        assertEquals(List.of(candidate(5, 50.0), candidate(10, 50.0)), top.toSelection().candidates());
+    }
+
+    @Test
+    void returnsEveryCandidateWhenKExceedsTheirNumber() {
+        TopK top = new TopK(100);
+        top.offer(7, 20.0);
+        top.offer(3, 60.0);
+        top.offer(9, 60.0);
+
+        CandidateSelection selection = top.toSelection();
+
+        assertEquals(List.of(candidate(3, 60.0), candidate(9, 60.0), candidate(7, 20.0)), selection.candidates());
+        assertEquals(3, selection.totalMatches());
+    }
+
+    @Test
+    void noCandidatesGivesAnEmptySelection() {
+        CandidateSelection selection = new TopK(10).toSelection();
+
+        assertTrue(selection.candidates().isEmpty());
+        assertEquals(0, selection.totalMatches());
+    }
+
+    @Test
+    void skippedCandidatesCountTowardsTheTotalOnly() {
+        TopK top = new TopK(5);
+        top.skip();
+        top.skip();
+        top.offer(1, 10.0);
+
+        CandidateSelection selection = top.toSelection();
+
+        assertEquals(List.of(candidate(1, 10.0)), selection.candidates());
+        assertEquals(3, selection.totalMatches());
+    }
+
+    @Test
+    void mergingKeepsTheOverallBestAndAddsTheTotals() {
+        TopK first = new TopK(2);
+        first.offer(1, 90.0);
+        first.offer(2, 30.0);
+        first.skip();
+        TopK second = new TopK(2);
+        second.offer(3, 60.0);
+        second.offer(4, 90.0);
+
+        CandidateSelection selection = first.merge(second).toSelection();
+
+        assertEquals(List.of(candidate(1, 90.0), candidate(4, 90.0)), selection.candidates());
+        assertEquals(5, selection.totalMatches());
+    }
+
+    private static ScoredCandidate candidate(long profileId, double score) {
+        return new ScoredCandidate(profileId, score);
+    }
+}
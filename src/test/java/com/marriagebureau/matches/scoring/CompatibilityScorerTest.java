@@ -0,0 +1,107 @@
+package com.marriagebureau.matches.scoring;
+
+import com.marriagebureau.clientmanagement.model.enums.Diet;
+import com.marriagebureau.matches.index.MatchAttributes;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompatibilityScorerTest {
+
+    private static final MatchAttributes ANYONE = attributes(MatchAttributes.UNKNOWN, null, MatchAttributes.UNKNOWN);
+
+    /** A criterion with a fixed score, to check the weighting on its own. */
+    private record Fixed(String name, double value) implements ScoringCriterion {
+        @Override
+        public double score(MatchAttributes requester, MatchAttributes candidate) {
+            return value;
+        }
+    }
+
+    @Test
+    void scoreIsTheWeightedAverageOfTheCriteria() {
+        CompatibilityScorer scorer = scorer(Map.of("good", 3.0, "bad", 1.0), new Fixed("good", 1.0), new Fixed("bad", 0.0));
+
+        assertEquals(75.0, scorer.score(ANYONE, ANYONE));
+    }
+
+    @Test
+    void weightsAreRelative() {
+        CompatibilityScorer small = scorer(Map.of("good", 0.3, "bad", 0.1), new Fixed("good", 1.0), new Fixed("bad", 0.0));
+        CompatibilityScorer large = scorer(Map.of("good", 30.0, "bad", 10.0), new Fixed("good", 1.0), new Fixed("bad", 0.0));
+
+        assertEquals(small.score(ANYONE, ANYONE), large.score(ANYONE, ANYONE));
+    }
+
+    @Test
+    void criteriaWithoutAWeightCountOnceAndZeroWeightDisablesThem() {
+        assertEquals(50.0, scorer(Map.of(), new Fixed("good", 1.0), new Fixed("bad", 0.0)).score(ANYONE, ANYONE));
+        assertEquals(100.0, scorer(Map.of("bad", 0.0), new Fixed("good", 1.0), new Fixed("bad", 0.0)).score(ANYONE, ANYONE));
+    }
+
+    @Test
+    void scoreIsRoundedToOneDecimal() {
+        CompatibilityScorer scorer = scorer(Map.of(), new Fixed("a", 1.0), new Fixed("b", 0.0), new Fixed("c", 0.0));
+
+        assertEquals(33.3, scorer.score(ANYONE, ANYONE));
+    }
+
+    @Test
+    void criteriaThatCannotBeEvaluatedAreLeftOutOfTheAverage() {
+        CompatibilityScorer scorer = scorer(Map.of("unknown", 5.0), new Fixed("good", 1.0), new Fixed("unknown", Double.NaN));
+
+        assertEquals(100.0, scorer.score(ANYONE, ANYONE));
+    }
+
+    @Test
+    void profilesWithNothingToCompareAreFullyCompatible() {
+        CompatibilityScorer scorer = scorer(Map.of(), new AgeGapCriterion(), new DietCriterion(), new EducationCriterion(),
+                new HeightCriterion(), new LocationCriterion(), new IncomeBandCriterion(), new MotherTongueCriterion(),
+                new SmokingHabitCriterion(), new DrinkingHabitCriterion());
+
+        assertEquals(100.0, scorer.score(ANYONE, ANYONE));
+    }
+
+    @Test
+    void missingAttributesMakeACriterionNotApplicable() {
+        MatchAttributes complete = attributes(epochDay(1995), Diet.VEGETARIAN, 170);
+
+        assertTrue(Double.isNaN(new AgeGapCriterion().score(complete, ANYONE)));
+        assertTrue(Double.isNaN(new DietCriterion().score(ANYONE, complete)));
+        assertTrue(Double.isNaN(new HeightCriterion().score(complete, ANYONE)));
+        assertTrue(Double.isNaN(new LocationCriterion().score(complete, ANYONE)));
+        assertTrue(Double.isNaN(new EducationCriterion().score(complete, ANYONE)));
+        assertTrue(Double.isNaN(new IncomeBandCriterion().score(complete, ANYONE)));
+    }
+
+    @Test
+    void aMissingAttributeOnlyDropsItsOwnCriterion() {
+        CompatibilityScorer scorer = scorer(Map.of(), new AgeGapCriterion(), new DietCriterion());
+        MatchAttributes requester = attributes(epochDay(1995), Diet.VEGETARIAN, MatchAttributes.UNKNOWN);
+        MatchAttributes sameAgeNoDiet = attributes(epochDay(1995), null, MatchAttributes.UNKNOWN);
+        MatchAttributes tenYearsOlderSameDiet = attributes(epochDay(1985), Diet.VEGETARIAN, MatchAttributes.UNKNOWN);
+
+        assertEquals(100.0, scorer.score(requester, sameAgeNoDiet));
+        assertEquals(50.0, scorer.score(requester, tenYearsOlderSameDiet));
+    }
+
+    private static CompatibilityScorer scorer(Map<String, Double> weights, ScoringCriterion... criteria) {
+        MatchScoringProperties properties = new MatchScoringProperties();
+        properties.setWeights(weights);
+        return new CompatibilityScorer(List.of(criteria), properties);
+    }
+
+    private static int epochDay(int birthYear) {
+        return (int) LocalDate.of(birthYear, 1, 1).toEpochDay();
+    }
+
+    private static MatchAttributes attributes(int birthEpochDay, Diet diet, int heightCm) {
+        return new MatchAttributes(1L, null, birthEpochDay, heightCm, null, diet, null, null, null, null,
+                MatchAttributes.UNKNOWN, MatchAttributes.UNKNOWN);
+    }
+}
@@ -0,0 +1,50 @@
+package com.marriagebureau.matches.service;
+
+import com.marriagebureau.clientmanagement.event.ProfileChangedEvent;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.repository.ProfileRepository;
+import com.marriagebureau.matches.repository.ProfileMatchStatusRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MatchRecomputeWorkerTest {
+
+    private final MaterializedMatchService materializedMatchService = mock(MaterializedMatchService.class);
+    private final MatchRecomputeWorker worker = new MatchRecomputeWorker(materializedMatchService,
+            mock(ProfileRepository.class), mock(ProfileMatchStatusRepository.class), new MaterializedMatchProperties());
+
+    @Test
+    void aConstraintViolationDropsTheListInsteadOfRetrying() {
+        doThrow(new DataIntegrityViolationException("candidate_id")).when(materializedMatchService).recomputeMatchList(4L);
+
+        worker.onProfileChanged(ProfileChangedEvent.saved(Profile.builder().id(4L).build()));
+        worker.drain();
+        worker.drain();
+
+        assertFalse(worker.isPending(4L));
+        verify(materializedMatchService, times(1)).recomputeMatchList(4L);
+        verify(materializedMatchService).discardMatchList(4L);
+    }
+
+    @Test
+    void otherFailuresStayPendingForARetry() {
+        doThrow(new QueryTimeoutException("timeout")).when(materializedMatchService).recomputeMatchList(6L);
+
+        worker.onProfileChanged(ProfileChangedEvent.saved(Profile.builder().id(6L).build()));
+        worker.drain();
+        worker.drain(); // Within the backoff delay, so not retried yet.
+
+        assertTrue(worker.isPending(6L));
+        verify(materializedMatchService, times(1)).recomputeMatchList(6L);
+        verify(materializedMatchService, never()).discardMatchList(6L);
+    }
+}
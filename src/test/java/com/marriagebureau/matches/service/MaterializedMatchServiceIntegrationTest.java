@@ -0,0 +1,120 @@
+package com.marriagebureau.matches.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marriagebureau.clientmanagement.dto.CreateProfileRequest;
+import com.marriagebureau.clientmanagement.model.Profile;
+import com.marriagebureau.clientmanagement.model.enums.Gender;
+import com.marriagebureau.clientmanagement.model.enums.MaritalStatus;
+import com.marriagebureau.clientmanagement.model.enums.MotherTongue;
+import com.marriagebureau.matches.index.ProfileMatchIndex;
+import com.marriagebureau.matches.model.ProfileMatch;
+import com.marriagebureau.matches.repository.ProfileMatchRepository;
+import com.marriagebureau.matches.repository.ProfileMatchStatusRepository;
+import com.marriagebureau.usermanagement.dto.RegisterRequest;
+import com.marriagebureau.usermanagement.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Commits its data and deletes it through the API: the match index is shared by every test of the context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MaterializedMatchServiceIntegrationTest {
+
+    private static final long DELETED_PROFILE_ID = Long.MAX_VALUE - 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private MaterializedMatchService materializedMatchService;
+
+    @Autowired
+    private ProfileMatchIndex profileMatchIndex;
+
+    @Autowired
+    private ProfileMatchRepository profileMatchRepository;
+
+    @Autowired
+    private ProfileMatchStatusRepository profileMatchStatusRepository;
+
+    @Test
+    void recomputeSkipsCandidatesWhoseProfilesNoLongerExist() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail("materialized.phantom.broker@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setContactNumber("9988776655");
+        String brokerToken = authService.register(registerRequest).getAccessToken();
+        Long requesterId = createProfile(brokerToken, "Arjun Sharma", Gender.MALE);
+        Long candidateId = createProfile(brokerToken, "Priya Iyer", Gender.FEMALE);
+        // A profile deleted without its deletion event reaching the index.
+        profileMatchIndex.upsert(Profile.builder()
+                .id(DELETED_PROFILE_ID)
+                .gender(Gender.FEMALE)
+                .maritalStatus(MaritalStatus.NEVER_MARRIED)
+                .dateOfBirth(LocalDate.of(1996, 1, 15))
+                .build());
+        try {
+            materializedMatchService.recomputeMatchList(requesterId);
+
+            var listed = profileMatchRepository.findRanked(requesterId, PageRequest.of(0, 1_000)).stream()
+                    .map(ProfileMatch::getCandidateId).toList();
+            assertTrue(listed.contains(candidateId), listed.toString());
+            assertFalse(listed.contains(DELETED_PROFILE_ID), listed.toString());
+            assertTrue(profileMatchStatusRepository.existsById(requesterId));
+            assertNull(profileMatchIndex.attributesOf(DELETED_PROFILE_ID));
+        } finally {
+            profileMatchIndex.remove(DELETED_PROFILE_ID);
+            for (Long id : new Long[]{requesterId, candidateId}) {
+                mockMvc.perform(delete("/api/clients/" + id).header("Authorization", "Bearer " + brokerToken))
+                        .andExpect(status().is2xxSuccessful());
+            }
+        }
+    }
+
+    private Long createProfile(String brokerToken, String fullName, Gender gender) throws Exception {
+        CreateProfileRequest createRequest = new CreateProfileRequest();
+        createRequest.setFullName(fullName);
+        createRequest.setDateOfBirth(LocalDate.of(1995, 5, 20));
+        createRequest.setGender(gender);
+        createRequest.setMaritalStatus(MaritalStatus.NEVER_MARRIED);
+        createRequest.setHeightCm(170);
+        createRequest.setReligion("Hindu");
+        createRequest.setCaste("Brahmin");
+        createRequest.setMotherTongue(MotherTongue.HINDI);
+        createRequest.setCountry("India");
+        createRequest.setState("Maharashtra");
+        createRequest.setCity("Pune");
+        createRequest.setEducation("M.Tech");
+        createRequest.setOccupation("Software Engineer");
+        createRequest.setAnnualIncome(2500000.0);
+        String body = mockMvc.perform(post("/api/clients")
+                        .header("Authorization", "Bearer " + brokerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}